@@ -0,0 +1,51 @@
+-- Converte tool_usage_logs em tabela particionada por mês (Postgres 11+).
+-- Execução única, com o backend parado. Depois disso o UsageRollupService cria as
+-- partições dos próximos meses e a retenção descarta partições vencidas com DROP TABLE.
+BEGIN;
+
+ALTER TABLE tool_usage_logs RENAME TO tool_usage_logs_old;
+ALTER TABLE tool_usage_logs_old RENAME CONSTRAINT tool_usage_logs_pkey TO tool_usage_logs_old_pkey;
+ALTER INDEX IF EXISTS idx_tool_usage_logs_user_timestamp RENAME TO idx_tool_usage_logs_old_user_timestamp;
+ALTER INDEX IF EXISTS idx_tool_usage_logs_timestamp RENAME TO idx_tool_usage_logs_old_timestamp;
+ALTER SEQUENCE IF EXISTS tool_usage_logs_id_seq RENAME TO tool_usage_logs_old_id_seq;
+
+-- A chave de partição precisa fazer parte da chave primária
+CREATE TABLE tool_usage_logs (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id         UUID NOT NULL,
+    tool_name       VARCHAR(255),
+    ip_address      VARCHAR(255),
+    usage_timestamp TIMESTAMP(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, usage_timestamp)
+) PARTITION BY RANGE (usage_timestamp);
+
+-- Uma partição por mês, do log mais antigo até dois meses à frente
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(usage_timestamp) FROM tool_usage_logs_old), now()))::date;
+    last_month  DATE := (date_trunc('month', now()) + INTERVAL '2 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF tool_usage_logs FOR VALUES FROM (%L) TO (%L)',
+                       'tool_usage_logs_p' || to_char(month_start, 'YYYYMM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Recebe o que cair fora das partições mensais (ex.: logs antigos sem data)
+CREATE TABLE tool_usage_logs_default PARTITION OF tool_usage_logs DEFAULT;
+
+INSERT INTO tool_usage_logs (id, user_id, tool_name, ip_address, usage_timestamp)
+SELECT id, user_id, tool_name, ip_address, COALESCE(usage_timestamp, TIMESTAMP '1970-01-01')
+FROM tool_usage_logs_old;
+
+SELECT setval(pg_get_serial_sequence('tool_usage_logs', 'id'),
+              COALESCE((SELECT MAX(id) FROM tool_usage_logs), 0) + 1, false);
+
+CREATE INDEX idx_tool_usage_logs_user_timestamp ON tool_usage_logs (user_id, usage_timestamp);
+CREATE INDEX idx_tool_usage_logs_timestamp ON tool_usage_logs (usage_timestamp);
+
+DROP TABLE tool_usage_logs_old;
+
+COMMIT;
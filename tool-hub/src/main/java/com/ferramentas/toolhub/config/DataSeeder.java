@@ -4,6 +4,8 @@ import com.ferramentas.toolhub.model.Tool;
 import com.ferramentas.toolhub.model.User;
 import com.ferramentas.toolhub.repository.ToolRepository;
 import com.ferramentas.toolhub.repository.UserRepository;
+import com.ferramentas.toolhub.service.ToolCatalogCache;
+import com.ferramentas.toolhub.service.ToolSearchIndex;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,14 +13,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.UUID;
 
 @Configuration
 public class DataSeeder {
 
     @Bean
     CommandLineRunner initDatabase(ToolRepository toolRepository, UserRepository userRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder, ToolCatalogCache toolCatalogCache,
+            ToolSearchIndex toolSearchIndex) {
         return args -> {
             // Seed Tools
             if (toolRepository.count() == 0) {
@@ -32,7 +34,7 @@ public class DataSeeder {
                         createTool("hash-generator", "Gerador de Hash", "Crie hashes MD5, SHA-1, SHA-256 e outros.",
                                 "Hash", "/dashboard/tools/hash-generator"),
                         createTool("uuid-generator", "Gerador de UUID",
-                                "Gere identificadores únicos universais (UUIDs) versão 4.", "FileJson",
+                                "Gere identificadores únicos universais (UUIDs) versões 4 e 7.", "FileJson",
                                 "/dashboard/tools/uuid-generator"),
                         createTool("lorem-ipsum", "Lorem Ipsum", "Gere textos de preenchimento Lorem Ipsum.",
                                 "FileText", "/dashboard/tools/lorem-ipsum"),
@@ -48,13 +50,14 @@ public class DataSeeder {
                                 "QrCode", "/dashboard/tools/qrcode-generator"),
                         createTool("dns-lookup", "DNS Lookup", "Verifique registros DNS de um domínio.", "Globe",
                                 "/dashboard/tools/dns-lookup")));
+                toolCatalogCache.invalidate();
+                toolSearchIndex.rebuild();
                 System.out.println("Tools seeded successfully!");
             }
 
             // Seed Admin User
             if (userRepository.findByUsername("admin").isEmpty()) {
                 User admin = new User();
-                admin.setId(UUID.randomUUID());
                 admin.setUsername("admin");
                 admin.setEmail("admin@toolhub.com");
                 admin.setPasswordHash(passwordEncoder.encode("password")); // Hash the password properly
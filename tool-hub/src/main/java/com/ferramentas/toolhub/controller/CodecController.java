@@ -0,0 +1,79 @@
+package com.ferramentas.toolhub.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ferramentas.toolhub.service.CodecService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Codec binário em streaming. O corpo é lido cru (application/octet-stream) e a
+ * resposta é escrita à medida que a entrada chega. {@code encoding} aceita
+ * base64 (padrão), base64url, mime, hex e base32; {@code padding=false} omite o
+ * '=' final nas variantes que o usam.
+ */
+@RestController
+@RequestMapping("/api/v1/tools/codec")
+public class CodecController {
+
+    private static final MediaType TEXT_ASCII = new MediaType("text", "plain", StandardCharsets.US_ASCII);
+
+    private final CodecService codecService;
+    private final ObjectMapper objectMapper;
+
+    public CodecController(CodecService codecService, ObjectMapper objectMapper) {
+        this.codecService = codecService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping("/encode")
+    public ResponseEntity<StreamingResponseBody> encode(
+            InputStream body,
+            @RequestParam(required = false) String encoding,
+            @RequestParam(required = false) Boolean padding) {
+        CodecService.CodecOptions options;
+        try {
+            options = codecService.prepare(encoding, padding);
+        } catch (IllegalArgumentException e) {
+            return error(e);
+        }
+
+        return ResponseEntity.ok()
+            .contentType(TEXT_ASCII)
+            .body(out -> codecService.encode(body, out, options));
+    }
+
+    /**
+     * Entradas inválidas detectadas no meio do stream interrompem a conexão, pois o
+     * status 200 já foi enviado.
+     */
+    @PostMapping("/decode")
+    public ResponseEntity<StreamingResponseBody> decode(
+            InputStream body,
+            @RequestParam(required = false) String encoding) {
+        CodecService.CodecOptions options;
+        try {
+            options = codecService.prepare(encoding, null);
+        } catch (IllegalArgumentException e) {
+            return error(e);
+        }
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .body(out -> codecService.decode(body, out, options));
+    }
+
+    private ResponseEntity<StreamingResponseBody> error(IllegalArgumentException e) {
+        return ResponseEntity.badRequest()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> objectMapper.writeValue(out, Map.of("error", e.getMessage())));
+    }
+}
@@ -1,8 +1,12 @@
 package com.ferramentas.toolhub.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ferramentas.toolhub.dto.DnsBulkLookupRequest;
 import com.ferramentas.toolhub.service.DnsLookupService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 
@@ -10,14 +14,37 @@ import java.util.Map;
 @RequestMapping("/api/v1/tools/dns")
 public class DnsLookupController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final DnsLookupService dnsLookupService;
+    private final ObjectMapper objectMapper;
 
-    public DnsLookupController(DnsLookupService dnsLookupService) {
+    public DnsLookupController(DnsLookupService dnsLookupService, ObjectMapper objectMapper) {
         this.dnsLookupService = dnsLookupService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/lookup")
     public ResponseEntity<Map<String, Object>> lookup(@RequestParam String domain) {
         return ResponseEntity.ok(dnsLookupService.lookup(domain));
     }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<StreamingResponseBody> bulkLookup(@RequestBody DnsBulkLookupRequest request) {
+        DnsLookupService.BulkLookup bulk;
+        try {
+            bulk = dnsLookupService.prepareBulkLookup(
+                    request.getDomains(),
+                    request.getTypes(),
+                    request.getConcurrency());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, Map.of("error", e.getMessage())));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(out -> dnsLookupService.streamBulkLookup(bulk, out));
+    }
 }
@@ -1,11 +1,17 @@
 package com.ferramentas.toolhub.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ferramentas.toolhub.dto.FakerRequest;
+import com.ferramentas.toolhub.service.FakerRecordWriter;
 import com.ferramentas.toolhub.service.FakerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 @RestController
@@ -13,10 +19,12 @@ import java.util.Map;
 public class FakerController {
 
     private final FakerService fakerService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public FakerController(FakerService fakerService) {
+    public FakerController(FakerService fakerService, ObjectMapper objectMapper) {
         this.fakerService = fakerService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/generate")
@@ -24,8 +32,10 @@ public class FakerController {
         try {
             Map<String, Object> result = fakerService.generateFakeData(
                 request.getType(),
+                request.getSchema(),
                 request.getCount(),
-                request.getLocale()
+                request.getLocale(),
+                request.getSeed()
             );
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -33,6 +43,41 @@ public class FakerController {
         }
     }
 
+    @PostMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamFakeData(@RequestBody FakerRequest request) {
+        FakerService.GenerationJob job;
+        try {
+            job = fakerService.prepareStream(
+                request.getType(),
+                request.getSchema(),
+                request.getCount(),
+                request.getLocale(),
+                request.getSeed(),
+                request.getFormat(),
+                request.getTableName(),
+                request.getBatchSize()
+            );
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, Map.of("error", e.getMessage())));
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        String format = job.output().format();
+        String fileName = "faker-" + (request.getSchema() != null ? "schema" : request.getType());
+        if (FakerRecordWriter.CSV.equals(format)) {
+            response.contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + ".csv\"");
+        } else if (FakerRecordWriter.SQL.equals(format) || FakerRecordWriter.COPY.equals(format)) {
+            response.contentType(new MediaType("application", "sql", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + ".sql\"");
+        } else {
+            response.contentType(MediaType.parseMediaType("application/x-ndjson"));
+        }
+        return response.body(out -> fakerService.streamFakeData(job, out));
+    }
+
     @GetMapping("/types")
     public ResponseEntity<Map<String, Object>> getAvailableTypes() {
         return ResponseEntity.ok(fakerService.getAvailableTypes());
@@ -0,0 +1,65 @@
+package com.ferramentas.toolhub.controller;
+
+import com.ferramentas.toolhub.dto.HashBatchRequest;
+import com.ferramentas.toolhub.service.HashService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/tools/hash")
+public class HashController {
+
+    private final HashService hashService;
+
+    public HashController(HashService hashService) {
+        this.hashService = hashService;
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> hashBatch(@RequestBody HashBatchRequest request) {
+        try {
+            return ResponseEntity.ok(hashService.hashBatch(request.getInputs(), request.getAlgorithm()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Upload multipart no campo {@code file}. {@code algorithms} é uma lista separada
+     * por vírgulas (padrão: MD5, SHA-1, SHA-256 e SHA-512); além dos digests do JCA
+     * aceita CRC32C, CRC32, ADLER32, XXHASH64 e MURMUR3_128.
+     */
+    @PostMapping("/file")
+    public ResponseEntity<Map<String, Object>> hashFile(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(required = false) String algorithms) {
+        try {
+            return ResponseEntity.ok(hashService.hashFile(file, algorithms));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Recebe o conteúdo cru no corpo (application/octet-stream), sem limite de tamanho do multipart.
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<Map<String, Object>> hashStream(
+            InputStream body,
+            @RequestParam(required = false) String algorithms) {
+        try {
+            return ResponseEntity.ok(hashService.hashStream(body, algorithms));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
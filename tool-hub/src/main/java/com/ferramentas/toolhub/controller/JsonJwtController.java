@@ -1,14 +1,26 @@
 package com.ferramentas.toolhub.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ferramentas.toolhub.dto.JsonDiffRequest;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.ferramentas.toolhub.dto.JsonJwtParseRequest;
+import com.ferramentas.toolhub.dto.JwtBatchRequest;
+import com.ferramentas.toolhub.dto.JwtVerifyRequest;
+import com.ferramentas.toolhub.service.JsonDiffService;
 import com.ferramentas.toolhub.service.JsonJwtService;
+import com.ferramentas.toolhub.service.JwtBatchService;
+import com.ferramentas.toolhub.service.JwtVerificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.Map;
 
 @RestController
@@ -16,10 +28,20 @@ import java.util.Map;
 public class JsonJwtController {
 
     private final JsonJwtService jsonJwtService;
+    private final JsonDiffService jsonDiffService;
+    private final JwtVerificationService jwtVerificationService;
+    private final JwtBatchService jwtBatchService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public JsonJwtController(JsonJwtService jsonJwtService) {
+    public JsonJwtController(JsonJwtService jsonJwtService, JsonDiffService jsonDiffService,
+                             JwtVerificationService jwtVerificationService, JwtBatchService jwtBatchService,
+                             ObjectMapper objectMapper) {
         this.jsonJwtService = jsonJwtService;
+        this.jsonDiffService = jsonDiffService;
+        this.jwtVerificationService = jwtVerificationService;
+        this.jwtBatchService = jwtBatchService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/parse-jwt")
@@ -32,6 +54,53 @@ public class JsonJwtController {
         }
     }
 
+    @PostMapping("/parse-jwt/batch")
+    public ResponseEntity<Map<String, Object>> parseJwtBatch(@RequestBody JwtBatchRequest request) {
+        try {
+            Map<String, Object> result = jwtBatchService.parseBatch(
+                request.getTokens(),
+                request.getText(),
+                request.getVerify(),
+                request.getSecret(),
+                request.getPublicKey(),
+                request.getJwks() != null ? request.getJwks().toString() : null,
+                request.getJwksId(),
+                request.getAlgorithm(),
+                request.getClockSkewSeconds()
+            );
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/verify-jwt")
+    public ResponseEntity<Map<String, Object>> verifyJwt(@RequestBody JwtVerifyRequest request) {
+        try {
+            Map<String, Object> result = jwtVerificationService.verify(
+                request.getToken(),
+                request.getSecret(),
+                request.getPublicKey(),
+                request.getJwks() != null ? request.getJwks().toString() : null,
+                request.getJwksId(),
+                request.getAlgorithm(),
+                request.getClockSkewSeconds()
+            );
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/jwks")
+    public ResponseEntity<Map<String, Object>> registerJwks(@RequestBody JsonNode jwks) {
+        try {
+            return ResponseEntity.ok(jwtVerificationService.registerJwks(jwks.toString()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping("/parse-json")
     public ResponseEntity<Object> parseJson(@RequestBody JsonJwtParseRequest request) {
         try {
@@ -47,11 +116,49 @@ public class JsonJwtController {
         try {
             String json = (String) request.get("data");
             Boolean prettify = (Boolean) request.getOrDefault("prettify", true);
-            Map<String, Object> result = jsonJwtService.formatJson(json, prettify);
+            Boolean includeParsed = (Boolean) request.getOrDefault("includeParsed", true);
+            Map<String, Object> result = jsonJwtService.formatJson(json, prettify, includeParsed);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
-}
 
+    /**
+     * Recebe o JSON cru no corpo (não embrulhado em {@code data}) e devolve o
+     * documento formatado à medida que é lido.
+     */
+    @PostMapping("/format-json/stream")
+    public ResponseEntity<StreamingResponseBody> streamFormatJson(
+            InputStream body,
+            @RequestParam(required = false) Boolean prettify,
+            @RequestParam(required = false) Integer indent,
+            @RequestParam(required = false) Boolean useTabs) {
+        JsonJwtService.FormatOptions options;
+        try {
+            options = jsonJwtService.prepareStreamFormat(prettify, indent, useTabs);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, Map.of("error", e.getMessage())));
+        }
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> jsonJwtService.streamFormatJson(body, out, options));
+    }
+
+    @PostMapping("/diff-json")
+    public ResponseEntity<Map<String, Object>> diffJson(@RequestBody JsonDiffRequest request) {
+        try {
+            Map<String, Object> result = jsonDiffService.diff(
+                request.getSource(),
+                request.getTarget(),
+                request.getArrayKey()
+            );
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
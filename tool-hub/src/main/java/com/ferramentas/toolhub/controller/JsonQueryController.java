@@ -0,0 +1,52 @@
+package com.ferramentas.toolhub.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ferramentas.toolhub.service.JsonQueryService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/tools/json-query")
+public class JsonQueryController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final JsonQueryService jsonQueryService;
+    private final ObjectMapper objectMapper;
+
+    public JsonQueryController(JsonQueryService jsonQueryService, ObjectMapper objectMapper) {
+        this.jsonQueryService = jsonQueryService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Recebe o documento JSON cru no corpo e devolve em NDJSON os valores que casam
+     * com {@code path}, à medida que são encontrados.
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamQuery(
+            InputStream body,
+            @RequestParam String path,
+            @RequestParam(required = false) Integer limit) {
+        JsonQueryService.Query query;
+        try {
+            query = jsonQueryService.prepareQuery(path, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, Map.of("error", e.getMessage())));
+        }
+
+        return ResponseEntity.ok()
+            .contentType(APPLICATION_NDJSON)
+            .body(out -> jsonQueryService.streamQuery(query, body, out));
+    }
+}
@@ -0,0 +1,97 @@
+package com.ferramentas.toolhub.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ferramentas.toolhub.dto.JsonSchemaValidateRequest;
+import com.ferramentas.toolhub.service.JsonSchemaInferenceService;
+import com.ferramentas.toolhub.service.JsonSchemaValidationService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/tools/json-schema")
+public class JsonSchemaController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final JsonSchemaInferenceService inferenceService;
+    private final JsonSchemaValidationService validationService;
+    private final ObjectMapper objectMapper;
+
+    public JsonSchemaController(JsonSchemaInferenceService inferenceService,
+                                JsonSchemaValidationService validationService, ObjectMapper objectMapper) {
+        this.inferenceService = inferenceService;
+        this.validationService = validationService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Recebe no corpo um documento JSON ou um NDJSON de amostras e devolve o esquema inferido.
+     */
+    @PostMapping("/infer")
+    public ResponseEntity<Map<String, Object>> inferSchema(
+            InputStream body,
+            @RequestParam(required = false) String version,
+            @RequestParam(required = false) Integer enumThreshold,
+            @RequestParam(required = false) Double requiredThreshold) {
+        try {
+            Map<String, Object> result = inferenceService.inferSchema(body, version, enumThreshold, requiredThreshold);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/register")
+    public ResponseEntity<Map<String, Object>> registerSchema(@RequestBody JsonNode schema) {
+        try {
+            return ResponseEntity.ok(validationService.registerSchema(schema));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/validate")
+    public ResponseEntity<Map<String, Object>> validate(@RequestBody JsonSchemaValidateRequest request) {
+        try {
+            Map<String, Object> result = validationService.validate(
+                request.getSchema(),
+                request.getSchemaId(),
+                request.getInstance(),
+                request.getInstances()
+            );
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Valida um NDJSON de instâncias contra um esquema já registrado, respondendo
+     * uma linha por instância à medida que são lidas.
+     */
+    @PostMapping("/validate/stream")
+    public ResponseEntity<StreamingResponseBody> streamValidate(InputStream body, @RequestParam String schemaId) {
+        JsonSchemaValidationService.CachedSchema schema;
+        try {
+            schema = validationService.prepareStream(schemaId);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, Map.of("error", e.getMessage())));
+        }
+
+        return ResponseEntity.ok()
+            .contentType(APPLICATION_NDJSON)
+            .body(out -> validationService.streamValidate(schema, body, out));
+    }
+}
@@ -0,0 +1,54 @@
+package com.ferramentas.toolhub.controller;
+
+import com.ferramentas.toolhub.dto.PasswordRequest;
+import com.ferramentas.toolhub.dto.PasswordStrengthRequest;
+import com.ferramentas.toolhub.service.PasswordService;
+import com.ferramentas.toolhub.service.PasswordStrengthService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/tools/password")
+public class PasswordController {
+
+    private final PasswordService passwordService;
+    private final PasswordStrengthService passwordStrengthService;
+
+    public PasswordController(PasswordService passwordService, PasswordStrengthService passwordStrengthService) {
+        this.passwordService = passwordService;
+        this.passwordStrengthService = passwordStrengthService;
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> generateBulk(@RequestBody PasswordRequest request) {
+        try {
+            Map<String, Object> result = passwordService.generateBulk(
+                request.getLength(),
+                request.getCount(),
+                request.getUppercase(),
+                request.getLowercase(),
+                request.getDigits(),
+                request.getSymbols(),
+                request.getExcludeAmbiguous(),
+                request.getRequireEachClass()
+            );
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/strength")
+    public ResponseEntity<Map<String, Object>> analyzeStrength(@RequestBody PasswordStrengthRequest request) {
+        try {
+            return ResponseEntity.ok(passwordStrengthService.analyze(request.getPassword()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
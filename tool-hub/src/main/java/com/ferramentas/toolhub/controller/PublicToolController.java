@@ -1,13 +1,17 @@
 package com.ferramentas.toolhub.controller;
 
-import com.ferramentas.toolhub.model.Tool;
+import com.ferramentas.toolhub.service.ToolCatalogCache;
 import com.ferramentas.toolhub.service.ToolService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/public/tools")
@@ -16,8 +20,34 @@ public class PublicToolController {
     @Autowired
     private ToolService toolService;
 
+    /**
+     * Devolve o catálogo já serializado. Clientes que reenviam o ETag em
+     * {@code If-None-Match} recebem 304 sem corpo enquanto o catálogo não mudar (o
+     * Spring compara o ETag da resposta com o cabeçalho da requisição);
+     * {@code no-cache} obriga a revalidação, então a mudança aparece na próxima carga.
+     */
     @GetMapping("/active")
-    public List<Tool> getActiveTools() {
-        return toolService.getActiveTools();
+    public ResponseEntity<byte[]> getActiveTools() {
+        ToolCatalogCache.Snapshot catalog = toolService.getActiveCatalog();
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(catalog.etag())
+            .cacheControl(CacheControl.noCache())
+            .body(catalog.json());
+    }
+
+    /**
+     * Busca no índice em memória: cada termo de {@code q} casa como prefixo, sem
+     * diferenciar acentos nem maiúsculas. Sem {@code q} lista as mais usadas.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchTools(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(toolService.searchTools(q, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 }
@@ -1,9 +1,13 @@
 package com.ferramentas.toolhub.controller;
 
+import com.ferramentas.toolhub.dto.JwtValidateRequest;
 import com.ferramentas.toolhub.service.ToolService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/tools")
 public class ToolController {
@@ -18,15 +22,29 @@ public class ToolController {
     public ResponseEntity<String> generatePassword(
             @RequestParam(defaultValue = "16") int length,
             @RequestParam(defaultValue = "true") boolean includeSymbols) {
-        String password = toolService.generateStrongPassword(length, includeSymbols);
-        return ResponseEntity.ok(password);
+        try {
+            String password = toolService.generateStrongPassword(length, includeSymbols);
+            return ResponseEntity.ok(password);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/jwt/validate")
     public ResponseEntity<String> validateJwt(
             @RequestParam String token,
-            @RequestParam(defaultValue = "HS256") String algorithm) {
-        boolean isValid = toolService.validateJwt(token, algorithm);
+            @RequestParam(required = false) String algorithm) {
+        return jwtValidationResponse(toolService.validateJwt(token, algorithm, null));
+    }
+
+    // A chave só é aceita no corpo: na query string ela acabaria nos logs de acesso
+    @PostMapping("/jwt/validate")
+    public ResponseEntity<String> validateJwt(@RequestBody JwtValidateRequest request) {
+        return jwtValidationResponse(
+            toolService.validateJwt(request.getToken(), request.getAlgorithm(), request.getKey()));
+    }
+
+    private static ResponseEntity<String> jwtValidationResponse(boolean isValid) {
         if (isValid) {
             return ResponseEntity.ok("Token é válido!");
         } else {
@@ -35,9 +53,25 @@ public class ToolController {
     }
 
     @GetMapping("/uuid")
-    public ResponseEntity<String> generateUUID() {
-        String uuid = toolService.generateUUID();
-        return ResponseEntity.ok(uuid);
+    public ResponseEntity<String> generateUUID(@RequestParam(defaultValue = "4") int version) {
+        try {
+            String uuid = toolService.generateUUID(version);
+            return ResponseEntity.ok(uuid);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/uuid/bulk")
+    public ResponseEntity<Map<String, Object>> generateUUIDs(
+            @RequestParam(defaultValue = "10") int count,
+            @RequestParam(defaultValue = "7") int version) {
+        try {
+            List<String> uuids = toolService.generateUUIDs(count, version);
+            return ResponseEntity.ok(Map.of("version", version, "count", uuids.size(), "uuids", uuids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @PostMapping("/base64/encode")
@@ -1,14 +1,20 @@
 package com.ferramentas.toolhub.controller;
 
 import com.ferramentas.toolhub.service.ToolUsageLogService;
+import com.ferramentas.toolhub.service.UsageRollupService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -16,10 +22,12 @@ import java.util.UUID;
 public class ToolUsageLogController {
 
     private final ToolUsageLogService toolUsageLogService;
+    private final UsageRollupService usageRollupService;
 
     @Autowired
-    public ToolUsageLogController(ToolUsageLogService toolUsageLogService) {
+    public ToolUsageLogController(ToolUsageLogService toolUsageLogService, UsageRollupService usageRollupService) {
         this.toolUsageLogService = toolUsageLogService;
+        this.usageRollupService = usageRollupService;
     }
 
     @PostMapping
@@ -31,4 +39,39 @@ public class ToolUsageLogController {
         toolUsageLogService.saveLog(userId, toolName, ipAddress);
         return new ResponseEntity<>(HttpStatus.CREATED);
     }
+
+    /**
+     * Estado da fila de gravação em lote: tamanho, descartes, lotes e falhas.
+     */
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> writerMetrics() {
+        return ResponseEntity.ok(toolUsageLogService.writerMetrics());
+    }
+
+    /**
+     * Totais por dia e ferramenta entre {@code from} e {@code to} (inclusive), lidos
+     * do rollup diário em vez dos logs brutos.
+     */
+    @GetMapping("/rollups/daily")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> dailyRollup(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String toolName) {
+        try {
+            return ResponseEntity.ok(usageRollupService.dailyTotals(from, to, toolName));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Watermark, particionamento e resultado das últimas execuções de rollup e retenção.
+     */
+    @GetMapping("/rollups/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rollupStatus() {
+        return ResponseEntity.ok(usageRollupService.status());
+    }
 }
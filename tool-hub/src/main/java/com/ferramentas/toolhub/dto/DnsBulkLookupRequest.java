@@ -0,0 +1,12 @@
+package com.ferramentas.toolhub.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DnsBulkLookupRequest {
+    private List<String> domains;
+    private List<String> types; // ex: "A", "MX", "TXT" (padrão: A, MX, TXT, NS, CNAME)
+    private Integer concurrency; // consultas simultâneas, limitado pela configuração do servidor
+}
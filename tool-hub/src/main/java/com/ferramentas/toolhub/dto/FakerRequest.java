@@ -2,10 +2,17 @@ package com.ferramentas.toolhub.dto;
 
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class FakerRequest {
     private String type; // "name", "email", "address", "phone", "date"
     private Integer count; // número de itens a gerar
     private String locale; // ex: "pt-BR", "en-US"
+    private String format; // streaming: "ndjson" (padrão), "csv", "sql" (INSERT) ou "copy" (PostgreSQL COPY)
+    private String tableName; // tabela de destino dos formatos "sql" e "copy"
+    private Integer batchSize; // linhas por INSERT no formato "sql"
+    private Long seed; // semente para geração reproduzível
+    private List<FakerSchemaField> schema; // registro personalizado; substitui "type"
 }
 
@@ -0,0 +1,11 @@
+package com.ferramentas.toolhub.dto;
+
+import lombok.Data;
+
+@Data
+public class FakerSchemaField {
+    private String name; // nome da coluna no registro gerado
+    private String generator; // ex: "name.fullName", "internet.ipV4Address", "number.between(1,100)"
+    private Double nullRatio; // fração de valores nulos, entre 0 e 1
+    private Boolean unique; // não repete valores dentro do mesmo conjunto gerado
+}
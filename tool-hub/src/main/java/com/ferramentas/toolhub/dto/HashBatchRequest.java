@@ -0,0 +1,11 @@
+package com.ferramentas.toolhub.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class HashBatchRequest {
+    private List<String> inputs;
+    private String algorithm; // padrão SHA-256
+}
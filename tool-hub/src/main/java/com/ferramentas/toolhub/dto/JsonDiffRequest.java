@@ -0,0 +1,11 @@
+package com.ferramentas.toolhub.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+@Data
+public class JsonDiffRequest {
+    private JsonNode source; // documento original
+    private JsonNode target; // documento modificado
+    private String arrayKey; // opcional: campo que identifica objetos em arrays (ex: "id")
+}
@@ -0,0 +1,14 @@
+package com.ferramentas.toolhub.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class JsonSchemaValidateRequest {
+    private JsonNode schema; // esquema completo; ou então schemaId de um esquema já registrado
+    private String schemaId;
+    private JsonNode instance; // uma instância
+    private List<JsonNode> instances; // ou várias instâncias
+}
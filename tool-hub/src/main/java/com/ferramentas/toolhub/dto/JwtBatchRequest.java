@@ -0,0 +1,19 @@
+package com.ferramentas.toolhub.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class JwtBatchRequest {
+    private List<String> tokens;
+    private String text; // alternativa a tokens: um token por linha, como colado de logs
+    private Boolean verify; // padrão false: apenas decodifica
+    private String secret;
+    private String publicKey;
+    private JsonNode jwks;
+    private String jwksId;
+    private String algorithm;
+    private Long clockSkewSeconds;
+}
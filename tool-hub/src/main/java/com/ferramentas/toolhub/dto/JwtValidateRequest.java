@@ -0,0 +1,10 @@
+package com.ferramentas.toolhub.dto;
+
+import lombok.Data;
+
+@Data
+public class JwtValidateRequest {
+    private String token;
+    private String algorithm; // opcional; com chave e sem algoritmo, HS256
+    private String key; // segredo HMAC ou chave pública (PEM ou JWK); só no corpo, nunca na URL
+}
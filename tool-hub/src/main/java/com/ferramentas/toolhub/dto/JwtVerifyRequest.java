@@ -0,0 +1,15 @@
+package com.ferramentas.toolhub.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+@Data
+public class JwtVerifyRequest {
+    private String token;
+    private String secret; // segredo HMAC (HS256, HS384, HS512)
+    private String publicKey; // PEM (PUBLIC KEY ou CERTIFICATE) ou JWK
+    private JsonNode jwks; // documento JWKS enviado na requisição
+    private String jwksId; // id de um JWKS já enviado; sem chave alguma, usa o JWKS local
+    private String algorithm; // opcional: rejeita tokens assinados com outro algoritmo
+    private Long clockSkewSeconds;
+}
@@ -0,0 +1,15 @@
+package com.ferramentas.toolhub.dto;
+
+import lombok.Data;
+
+@Data
+public class PasswordRequest {
+    private Integer length; // padrão 16
+    private Integer count; // número de senhas; padrão 1
+    private Boolean uppercase; // A-Z, padrão true
+    private Boolean lowercase; // a-z, padrão true
+    private Boolean digits; // 0-9, padrão true
+    private Boolean symbols; // padrão true
+    private Boolean excludeAmbiguous; // remove 0, O, o, 1, l, I e |; padrão false
+    private Boolean requireEachClass; // ao menos um caractere de cada classe ativa; padrão true
+}
@@ -0,0 +1,8 @@
+package com.ferramentas.toolhub.dto;
+
+import lombok.Data;
+
+@Data
+public class PasswordStrengthRequest {
+    private String password;
+}
@@ -12,7 +12,12 @@ import java.util.UUID;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "tool_usage_logs")
+@Table(name = "tool_usage_logs", indexes = {
+        // Contagem diária de um usuário (countByUserIdAndUsageTimestampBetween)
+        @Index(name = "idx_tool_usage_logs_user_timestamp", columnList = "user_id, usage_timestamp"),
+        // Contagem do dia de todos os usuários (seed e reconciliação dos contadores) e retenção
+        @Index(name = "idx_tool_usage_logs_timestamp", columnList = "usage_timestamp")
+})
 public class ToolUsageLog {
 
     @Id
@@ -0,0 +1,52 @@
+package com.ferramentas.toolhub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Usos agregados por dia, ferramenta e usuário. Preenchida pelo
+ * {@code UsageRollupService} a partir de {@code tool_usage_logs}.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "usage_rollup_daily")
+@IdClass(UsageRollupDaily.Key.class)
+public class UsageRollupDaily {
+
+    @Id
+    @Column(name = "usage_day", nullable = false)
+    private LocalDate usageDay;
+
+    // Logs sem nome de ferramenta entram como ''
+    @Id
+    @Column(name = "tool_name", nullable = false)
+    private String toolName;
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "usage_count", nullable = false)
+    private long usageCount;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private LocalDate usageDay;
+        private String toolName;
+        private UUID userId;
+    }
+}
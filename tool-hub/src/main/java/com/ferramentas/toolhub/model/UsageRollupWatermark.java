@@ -0,0 +1,30 @@
+package com.ferramentas.toolhub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Maior id de {@code tool_usage_logs} já incluído nos rollups. Só linhas com id
+ * até esse valor podem ser removidas pela retenção.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "usage_rollup_watermarks")
+public class UsageRollupWatermark {
+
+    @Id
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -16,6 +16,7 @@ import java.util.UUID;
 @NoArgsConstructor
 public class User {
     @Id
+    @UuidV7Id
     @Column(name = "id")
     private UUID id;
 
@@ -36,9 +37,6 @@ public class User {
 
     @PrePersist
     protected void onCreate() {
-        if (this.id == null) {
-            this.id = UUID.randomUUID();
-        }
         if (this.createdAt == null) {
             this.createdAt = LocalDateTime.now();
         }
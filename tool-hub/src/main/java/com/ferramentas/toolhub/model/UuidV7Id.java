@@ -0,0 +1,19 @@
+package com.ferramentas.toolhub.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um {@code @Id} do tipo {@link java.util.UUID} para ser gerado como UUID v7
+ * no momento do insert. Ids ordenados pelo tempo mantêm a localidade do índice da
+ * chave primária em tabelas grandes.
+ */
+@IdGeneratorType(UuidV7IdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface UuidV7Id {
+}
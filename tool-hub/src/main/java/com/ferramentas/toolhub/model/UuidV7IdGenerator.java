@@ -0,0 +1,30 @@
+package com.ferramentas.toolhub.model;
+
+import com.ferramentas.toolhub.util.UuidV7;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.io.Serial;
+import java.util.EnumSet;
+
+/**
+ * Gerador usado por {@link UuidV7Id}.
+ */
+public class UuidV7IdGenerator implements BeforeExecutionGenerator {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return UuidV7.generate();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
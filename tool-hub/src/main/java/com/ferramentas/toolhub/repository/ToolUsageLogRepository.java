@@ -2,11 +2,19 @@ package com.ferramentas.toolhub.repository;
 
 import com.ferramentas.toolhub.model.ToolUsageLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ToolUsageLogRepository extends JpaRepository<ToolUsageLog, UUID> {
-    long countByUserIdAndUsageTimestampBetween(UUID userId, java.time.LocalDateTime start, java.time.LocalDateTime end);
+    long countByUserIdAndUsageTimestampBetween(UUID userId, LocalDateTime start, LocalDateTime end);
+
+    // Cada linha é [userId, quantidade de usos] no intervalo [start, end)
+    @Query("SELECT l.userId, COUNT(l) FROM ToolUsageLog l WHERE l.usageTimestamp >= :start AND l.usageTimestamp < :end GROUP BY l.userId")
+    List<Object[]> countUsagesByUserBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
@@ -0,0 +1,254 @@
+package com.ferramentas.toolhub.service;
+
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Codificação e decodificação binária em streaming (Base64 e variantes, hex e
+ * Base32). Os dados passam do corpo da requisição para a resposta em blocos, sem
+ * nunca virar {@code String}, então arquivos de vários MB usam memória constante e
+ * bytes arbitrários não são corrompidos por conversão de charset.
+ */
+@Service
+public class CodecService {
+
+    public static final String BASE64 = "base64";
+    public static final String BASE64URL = "base64url";
+    public static final String MIME = "mime";
+    public static final String HEX = "hex";
+    public static final String BASE32 = "base32";
+    public static final List<String> ENCODINGS = List.of(BASE64, BASE64URL, MIME, HEX, BASE32);
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] BASE32_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+
+    /**
+     * Valida os parâmetros antes de a resposta começar, para que um erro ainda
+     * possa ser respondido com 400.
+     */
+    public CodecOptions prepare(String encoding, Boolean padding) {
+        String name = encoding == null || encoding.isBlank() ? BASE64 : encoding.trim().toLowerCase(Locale.ROOT);
+        if (!ENCODINGS.contains(name)) {
+            throw new IllegalArgumentException("Codificação não suportada: " + encoding + ". Use " + ENCODINGS);
+        }
+        return new CodecOptions(name, padding == null || padding);
+    }
+
+    public void encode(InputStream in, OutputStream out, CodecOptions options) throws IOException {
+        switch (options.encoding()) {
+            case HEX -> encodeHex(in, out);
+            case BASE32 -> encodeBase32(in, out, options.padding());
+            default -> {
+                // O wrap só grava o último bloco (e o padding) ao ser fechado
+                try (OutputStream encoder = base64Encoder(options).wrap(nonClosing(out))) {
+                    in.transferTo(encoder);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Espaços e quebras de linha na entrada são ignorados, já que texto colado ou
+     * enviado por {@code curl} costuma terminar em quebra de linha. Se a entrada for
+     * inválida no meio do stream a resposta já foi iniciada, então o erro
+     * interrompe a conexão em vez de devolver 400.
+     */
+    public void decode(InputStream in, OutputStream out, CodecOptions options) throws IOException {
+        InputStream source = new WhitespaceSkippingInputStream(in);
+        switch (options.encoding()) {
+            case HEX -> decodeHex(source, out);
+            case BASE32 -> decodeBase32(source, out);
+            case BASE64URL -> Base64.getUrlDecoder().wrap(source).transferTo(out);
+            case MIME -> Base64.getMimeDecoder().wrap(in).transferTo(out);
+            default -> Base64.getDecoder().wrap(source).transferTo(out);
+        }
+        out.flush();
+    }
+
+    private static Base64.Encoder base64Encoder(CodecOptions options) {
+        Base64.Encoder encoder = switch (options.encoding()) {
+            case BASE64URL -> Base64.getUrlEncoder();
+            case MIME -> Base64.getMimeEncoder();
+            default -> Base64.getEncoder();
+        };
+        return options.padding() ? encoder : encoder.withoutPadding();
+    }
+
+    private static void encodeHex(InputStream in, OutputStream out) throws IOException {
+        HexFormat hex = HexFormat.of();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(hex.formatHex(buffer, 0, read).getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private static void decodeHex(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] decoded = new byte[BUFFER_SIZE / 2];
+        int pending = -1;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            int length = 0;
+            for (int k = 0; k < read; k++) {
+                int digit = Character.digit(buffer[k], 16);
+                if (digit < 0) {
+                    throw new IOException("Caractere hexadecimal inválido: '" + (char) buffer[k] + "'");
+                }
+                if (pending < 0) {
+                    pending = digit;
+                } else {
+                    decoded[length++] = (byte) (pending << 4 | digit);
+                    pending = -1;
+                }
+            }
+            out.write(decoded, 0, length);
+        }
+        if (pending >= 0) {
+            throw new IOException("Entrada hexadecimal com número ímpar de dígitos");
+        }
+    }
+
+    /**
+     * Base32 da RFC 4648: cada grupo de 5 bytes vira 8 caracteres. O buffer de
+     * leitura é múltiplo de 5 para que só o último grupo precise de padding.
+     */
+    private static void encodeBase32(InputStream in, OutputStream out, boolean padding) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE / 5 * 5];
+        byte[] encoded = new byte[buffer.length / 5 * 8];
+        int filled;
+        while ((filled = in.readNBytes(buffer, 0, buffer.length)) > 0) {
+            int length = 0;
+            for (int offset = 0; offset < filled; offset += 5) {
+                int groupSize = Math.min(5, filled - offset);
+                long bits = 0;
+                for (int k = 0; k < 5; k++) {
+                    bits = (bits << 8) | (k < groupSize ? buffer[offset + k] & 0xFF : 0);
+                }
+                // Caracteres com dados: 2, 4, 5, 7 ou 8 para grupos de 1 a 5 bytes
+                int chars = (groupSize * 8 + 4) / 5;
+                for (int k = 0; k < 8; k++) {
+                    if (k < chars) {
+                        encoded[length++] = (byte) BASE32_ALPHABET[(int) (bits >>> (35 - 5 * k)) & 0x1F];
+                    } else if (padding) {
+                        encoded[length++] = '=';
+                    }
+                }
+            }
+            out.write(encoded, 0, length);
+            if (filled < buffer.length) {
+                break;
+            }
+        }
+    }
+
+    private static void decodeBase32(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] decoded = new byte[BUFFER_SIZE];
+        long bits = 0;
+        int bitCount = 0;
+        boolean paddingStarted = false;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            int length = 0;
+            for (int k = 0; k < read; k++) {
+                int c = buffer[k];
+                if (c == '=') {
+                    paddingStarted = true;
+                    continue;
+                }
+                int value = base32Value(c);
+                if (value < 0 || paddingStarted) {
+                    throw new IOException("Caractere Base32 inválido: '" + (char) c + "'");
+                }
+                bits = (bits << 5) | value;
+                bitCount += 5;
+                if (bitCount >= 8) {
+                    bitCount -= 8;
+                    decoded[length++] = (byte) (bits >>> bitCount);
+                }
+            }
+            out.write(decoded, 0, length);
+        }
+    }
+
+    private static int base32Value(int c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= '2' && c <= '7') {
+            return c - '2' + 26;
+        }
+        return -1;
+    }
+
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    public record CodecOptions(String encoding, boolean padding) {
+    }
+
+    /**
+     * Descarta espaços, tabs e quebras de linha da entrada codificada.
+     */
+    private static final class WhitespaceSkippingInputStream extends FilterInputStream {
+
+        WhitespaceSkippingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c;
+            do {
+                c = in.read();
+            } while (c == ' ' || c == '\t' || c == '\r' || c == '\n');
+            return c;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            while (true) {
+                int read = in.read(b, off, len);
+                if (read <= 0) {
+                    return read;
+                }
+                int kept = 0;
+                for (int k = 0; k < read; k++) {
+                    byte c = b[off + k];
+                    if (c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+                        b[off + kept++] = c;
+                    }
+                }
+                if (kept > 0) {
+                    return kept;
+                }
+            }
+        }
+    }
+}
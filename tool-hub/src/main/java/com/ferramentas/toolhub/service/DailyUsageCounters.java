@@ -0,0 +1,164 @@
+package com.ferramentas.toolhub.service;
+
+import com.ferramentas.toolhub.repository.ToolUsageLogRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores em memória de usos por usuário no dia corrente, para que
+ * {@code /users/me/usage/today} não faça um COUNT por requisição. Cada usuário tem
+ * uma base lida do banco mais um {@link LongAdder} com os eventos registrados
+ * desde então; a virada do dia troca o mapa inteiro, então a quantidade de
+ * chaves fica limitada aos usuários ativos do dia.
+ *
+ * <p>Como os logs são gravados em lote pelo {@link ToolUsageLogWriter}, o banco fica
+ * um pouco atrás da memória. A reconciliação periódica só corrige para cima
+ * ({@code max(memória, banco)}), cobrindo eventos de outras instâncias e os que
+ * estavam na fila durante uma consulta de seed.
+ */
+@Component
+public class DailyUsageCounters {
+
+    private final ToolUsageLogRepository toolUsageLogRepository;
+
+    private volatile Day current = new Day(LocalDate.now(), false);
+
+    public DailyUsageCounters(ToolUsageLogRepository toolUsageLogRepository) {
+        this.toolUsageLogRepository = toolUsageLogRepository;
+    }
+
+    /**
+     * Registra um uso. Só soma em usuários já carregados: para os demais a
+     * próxima leitura busca a contagem no banco.
+     */
+    public void record(UUID userId, LocalDateTime timestamp) {
+        Day day = today();
+        if (timestamp != null && !timestamp.toLocalDate().equals(day.date)) {
+            return;
+        }
+        Counter counter = day.counters.get(userId);
+        if (counter == null && day.complete) {
+            counter = day.counters.computeIfAbsent(userId, id -> new Counter(0));
+        }
+        if (counter != null) {
+            counter.recorded.increment();
+        }
+    }
+
+    public long get(UUID userId) {
+        Day day = today();
+        Counter counter = day.counters.get(userId);
+        if (counter != null) {
+            return counter.value();
+        }
+        if (day.complete) {
+            // Todos os usuários com uso hoje já estão no mapa
+            return 0;
+        }
+        long stored = countInDatabase(userId, day.date);
+        return day.counters.computeIfAbsent(userId, id -> new Counter(stored)).value();
+    }
+
+    /**
+     * Carrega de uma vez as contagens do dia de todos os usuários. Depois disso um
+     * usuário ausente do mapa tem zero usos e não precisa de consulta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        LocalDate date = LocalDate.now();
+        Day day = new Day(date, true);
+        try {
+            countAllInDatabase(date).forEach((userId, count) -> day.counters.put(userId, new Counter(count)));
+        } catch (RuntimeException e) {
+            // Sem banco na subida as leituras caem no seed por usuário
+            System.err.println("Falha ao carregar contadores de uso do dia: " + e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            if (current.date.equals(date)) {
+                // Eventos registrados enquanto a consulta rodava entram pela reconciliação
+                current = day;
+            }
+        }
+    }
+
+    @Scheduled(
+        initialDelayString = "${USAGE_COUNTER_RECONCILE_MS:300000}",
+        fixedDelayString = "${USAGE_COUNTER_RECONCILE_MS:300000}")
+    public void reconcile() {
+        Day day = today();
+        countAllInDatabase(day.date).forEach((userId, stored) -> {
+            Counter counter = day.counters.computeIfAbsent(userId, id -> new Counter(stored));
+            long local = counter.value();
+            if (stored > local) {
+                counter.base.addAndGet(stored - local);
+            }
+        });
+    }
+
+    private Day today() {
+        Day day = current;
+        LocalDate date = LocalDate.now();
+        if (day.date.equals(date)) {
+            return day;
+        }
+        synchronized (this) {
+            if (!current.date.equals(date)) {
+                // Na virada todo mundo começa em zero; só na subida ainda é preciso consultar o banco
+                current = new Day(date, current.complete);
+            }
+            return current;
+        }
+    }
+
+    private long countInDatabase(UUID userId, LocalDate date) {
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = start.plusDays(1).minusNanos(1);
+        return toolUsageLogRepository.countByUserIdAndUsageTimestampBetween(userId, start, end);
+    }
+
+    private Map<UUID, Long> countAllInDatabase(LocalDate date) {
+        LocalDateTime start = date.atStartOfDay();
+        Map<UUID, Long> counts = new HashMap<>();
+        for (Object[] row : toolUsageLogRepository.countUsagesByUserBetween(start, start.plusDays(1))) {
+            counts.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private static final class Day {
+        final LocalDate date;
+        // true quando o mapa contém todos os usuários com uso no dia
+        final boolean complete;
+        final ConcurrentHashMap<UUID, Counter> counters = new ConcurrentHashMap<>();
+
+        Day(LocalDate date, boolean complete) {
+            this.date = date;
+            this.complete = complete;
+        }
+    }
+
+    private static final class Counter {
+        final AtomicLong base;
+        final LongAdder recorded = new LongAdder();
+
+        Counter(long base) {
+            this.base = new AtomicLong(base);
+        }
+
+        long value() {
+            return base.get() + recorded.sum();
+        }
+    }
+}
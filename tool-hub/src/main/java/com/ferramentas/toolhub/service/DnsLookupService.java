@@ -1,21 +1,102 @@
 package com.ferramentas.toolhub.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import javax.naming.directory.Attributes;
-import javax.naming.directory.InitialDirContext;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.naming.CommunicationException;
+import javax.naming.Context;
+import javax.naming.NameNotFoundException;
 import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
 import javax.naming.directory.Attribute;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
 
 @Service
 public class DnsLookupService {
 
+    private static final String[] DEFAULT_RECORD_TYPES = { "MX", "TXT", "NS", "CNAME" };
+    private static final List<String> DEFAULT_BULK_TYPES = List.of("A", "MX", "TXT", "NS", "CNAME");
+    private static final Set<String> SUPPORTED_TYPES = Set.of("A", "AAAA", "CNAME", "MX", "NS", "TXT", "SOA", "SRV",
+            "CAA");
+
+    private final ObjectMapper objectMapper;
+    // O writeValue do ObjectMapper dá flush a cada valor; aqui o flush é feito por linha
+    private final ObjectWriter lineWriter;
+    private final ExecutorService bulkExecutor;
+    private final ScheduledThreadPoolExecutor bulkTimeouts;
+    private final long bulkTimeoutMs;
+    private final Hashtable<String, String> jndiEnvironment = new Hashtable<>();
+
+    @Value("${DNS_BULK_MAX_DOMAINS:1000}")
+    private int bulkMaxDomains;
+
+    @Value("${DNS_BULK_CONCURRENCY:16}")
+    private int bulkConcurrency;
+
+    public DnsLookupService(ObjectMapper objectMapper,
+            @Value("${DNS_BULK_THREADS:32}") int bulkThreads,
+            @Value("${DNS_BULK_TIMEOUT_MS:5000}") long bulkTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.bulkTimeoutMs = bulkTimeoutMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.bulkExecutor = Executors.newFixedThreadPool(bulkThreads, runnable -> {
+            Thread thread = new Thread(runnable, "dns-bulk-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.bulkTimeouts = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "dns-bulk-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Timeouts cancelados saem da fila na hora, em vez de esperar o prazo
+        this.bulkTimeouts.setRemoveOnCancelPolicy(true);
+
+        // O provedor DNS do JNDI tenta de novo dobrando o timeout: initial + 2 * initial.
+        // A leitura do socket UDP não atende a interrupção, então é este limite que
+        // garante que uma consulta cancelada libera a thread do pool
+        jndiEnvironment.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.dns.DnsContextFactory");
+        jndiEnvironment.put(Context.PROVIDER_URL, "dns:");
+        jndiEnvironment.put("com.sun.jndi.dns.timeout.initial", String.valueOf(Math.max(250, bulkTimeoutMs / 4)));
+        jndiEnvironment.put("com.sun.jndi.dns.timeout.retries", "1");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkExecutor.shutdownNow();
+        bulkTimeouts.shutdownNow();
+    }
+
     public Map<String, Object> lookup(String domain) {
         Map<String, Object> results = new HashMap<>();
         results.put("domain", domain);
@@ -29,11 +110,16 @@ public class DnsLookupService {
             }
             results.put("A", aRecords);
 
-            // Other Records using JNDI
-            results.put("MX", getRecords(domain, "MX"));
-            results.put("TXT", getRecords(domain, "TXT"));
-            results.put("NS", getRecords(domain, "NS"));
-            results.put("CNAME", getRecords(domain, "CNAME"));
+            // Other Records using JNDI, um tipo por consulta para que a falha de um
+            // tipo não esvazie os demais
+            for (String type : DEFAULT_RECORD_TYPES) {
+                try {
+                    results.putAll(fetchRecords(domain, new String[] { type }));
+                } catch (Exception e) {
+                    // Log or ignore if no records found
+                    results.put(type, new ArrayList<>());
+                }
+            }
 
         } catch (UnknownHostException e) {
             results.put("error", "Domain not found: " + e.getMessage());
@@ -44,21 +130,193 @@ public class DnsLookupService {
         return results;
     }
 
-    private List<String> getRecords(String domain, String type) {
-        List<String> records = new ArrayList<>();
+    /**
+     * Valida e normaliza uma consulta em lote antes de iniciar o streaming, para que
+     * erros de entrada ainda possam ser respondidos com 400.
+     */
+    public BulkLookup prepareBulkLookup(List<String> domains, List<String> types, Integer concurrency) {
+        if (domains == null || domains.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um domínio");
+        }
+
+        Set<String> uniqueDomains = new LinkedHashSet<>();
+        for (String domain : domains) {
+            if (domain != null && !domain.isBlank()) {
+                uniqueDomains.add(domain.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        if (uniqueDomains.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um domínio");
+        }
+        if (uniqueDomains.size() > bulkMaxDomains) {
+            throw new IllegalArgumentException("Máximo de " + bulkMaxDomains + " domínios por consulta");
+        }
+
+        Set<String> recordTypes = new LinkedHashSet<>();
+        for (String type : types == null || types.isEmpty() ? DEFAULT_BULK_TYPES : types) {
+            String normalized = type.trim().toUpperCase(Locale.ROOT);
+            if (!SUPPORTED_TYPES.contains(normalized)) {
+                throw new IllegalArgumentException("Tipo de registro não suportado: " + type
+                        + ". Tipos suportados: " + String.join(", ", SUPPORTED_TYPES));
+            }
+            recordTypes.add(normalized);
+        }
+
+        int window = concurrency != null && concurrency > 0 ? Math.min(concurrency, bulkConcurrency) : bulkConcurrency;
+        return new BulkLookup(List.copyOf(uniqueDomains), recordTypes.toArray(new String[0]), window);
+    }
+
+    /**
+     * Resolve os domínios com no máximo {@code concurrency} consultas em andamento e
+     * escreve uma linha NDJSON por domínio assim que cada consulta termina, seguida de
+     * uma linha de resumo.
+     */
+    public void streamBulkLookup(BulkLookup bulk, OutputStream out) throws IOException {
+        long startTime = System.currentTimeMillis();
+        BlockingQueue<Map<String, Object>> completed = new LinkedBlockingQueue<>();
+        List<Future<?>> pending = new ArrayList<>();
+        Map<String, Integer> statusCounts = new LinkedHashMap<>();
+        statusCounts.put("ok", 0);
+        statusCounts.put("not_found", 0);
+        statusCounts.put("error", 0);
+        statusCounts.put("timeout", 0);
+
+        int total = bulk.domains().size();
+        int submitted = 0;
+        int written = 0;
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
         try {
-            InitialDirContext iDirC = new InitialDirContext();
-            Attributes attributes = iDirC.getAttributes("dns:/" + domain, new String[] { type });
-            Attribute attribute = attributes.get(type);
-            if (attribute != null) {
-                NamingEnumeration<?> attributeValues = attribute.getAll();
-                while (attributeValues.hasMore()) {
-                    records.add(attributeValues.next().toString());
+            while (written < total) {
+                while (submitted < total && submitted - written < bulk.concurrency()) {
+                    submitLookup(bulk.domains().get(submitted++), bulk.types(), completed, pending);
                 }
+
+                Map<String, Object> result = completed.take();
+                statusCounts.merge((String) result.get("status"), 1, Integer::sum);
+                written++;
+
+                lineWriter.writeValue(generator, result);
+                generator.writeRaw('\n');
+                generator.flush();
             }
-        } catch (Exception e) {
-            // Log or ignore if no records found
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("total", total);
+            summary.put("succeeded", statusCounts.get("ok"));
+            summary.put("notFound", statusCounts.get("not_found"));
+            summary.put("failed", statusCounts.get("error"));
+            summary.put("timedOut", statusCounts.get("timeout"));
+            summary.put("elapsedMs", System.currentTimeMillis() - startTime);
+
+            lineWriter.writeValue(generator, Map.of("summary", summary));
+            generator.writeRaw('\n');
+            generator.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Consulta em lote interrompida", e);
+        } finally {
+            // Cliente desconectou ou houve erro de escrita: não espera o restante
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Envia a consulta ao pool e agenda o seu timeout. Quem terminar primeiro publica
+     * o resultado; o timeout cancela a tarefa de verdade (interrompendo a thread), em
+     * vez de só completar um futuro dependente enquanto a consulta segue ocupando o pool.
+     */
+    private void submitLookup(String domain, String[] types, BlockingQueue<Map<String, Object>> completed,
+            List<Future<?>> pending) {
+        long startTime = System.currentTimeMillis();
+        AtomicBoolean reported = new AtomicBoolean();
+        Future<?> task = bulkExecutor.submit(() -> {
+            Map<String, Object> result;
+            try {
+                result = resolve(domain, types);
+            } catch (RuntimeException e) {
+                result = failure(domain, "error", String.valueOf(e.getMessage()), startTime);
+            }
+            if (reported.compareAndSet(false, true)) {
+                completed.add(result);
+            }
+        });
+        Future<?> timeout = bulkTimeouts.schedule(() -> {
+            if (reported.compareAndSet(false, true)) {
+                task.cancel(true);
+                completed.add(failure(domain, "timeout", "Tempo limite de " + bulkTimeoutMs + "ms excedido",
+                        startTime));
+            }
+        }, bulkTimeoutMs, TimeUnit.MILLISECONDS);
+        pending.add(task);
+        pending.add(timeout);
+    }
+
+    private static Map<String, Object> failure(String domain, String status, String error, long startTime) {
+        Map<String, Object> failure = new LinkedHashMap<>();
+        failure.put("domain", domain);
+        failure.put("status", status);
+        failure.put("error", error);
+        failure.put("elapsedMs", System.currentTimeMillis() - startTime);
+        return failure;
+    }
+
+    private Map<String, Object> resolve(String domain, String[] types) {
+        long startTime = System.currentTimeMillis();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("domain", domain);
+
+        try {
+            result.put("records", fetchRecords(domain, types));
+            result.put("status", "ok");
+        } catch (NameNotFoundException e) {
+            result.put("status", "not_found");
+            result.put("error", "Domain not found: " + domain);
+        } catch (CommunicationException e) {
+            result.put("status", "timeout");
+            result.put("error", "Servidor DNS não respondeu: " + e.getMessage());
+        } catch (NamingException e) {
+            result.put("status", "error");
+            result.put("error", "Lookup failed: " + e.getMessage());
+        }
+
+        result.put("elapsedMs", System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * Busca todos os tipos pedidos com um único contexto JNDI, em vez de criar um
+     * contexto por tipo de registro.
+     */
+    private Map<String, List<String>> fetchRecords(String domain, String[] types) throws NamingException {
+        Map<String, List<String>> records = emptyRecords(types);
+        DirContext context = new InitialDirContext(jndiEnvironment);
+        try {
+            Attributes attributes = context.getAttributes(domain, types);
+            for (String type : types) {
+                Attribute attribute = attributes.get(type);
+                if (attribute != null) {
+                    NamingEnumeration<?> attributeValues = attribute.getAll();
+                    while (attributeValues.hasMore()) {
+                        records.get(type).add(attributeValues.next().toString());
+                    }
+                }
+            }
+        } finally {
+            context.close();
         }
         return records;
     }
+
+    private Map<String, List<String>> emptyRecords(String[] types) {
+        Map<String, List<String>> records = new LinkedHashMap<>();
+        for (String type : types) {
+            records.put(type, new ArrayList<>());
+        }
+        return records;
+    }
+
+    public record BulkLookup(List<String> domains, String[] types, int concurrency) {
+    }
 }
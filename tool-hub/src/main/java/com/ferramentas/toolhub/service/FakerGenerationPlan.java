@@ -0,0 +1,391 @@
+package com.ferramentas.toolhub.service;
+
+import com.ferramentas.toolhub.dto.FakerSchemaField;
+import com.github.javafaker.Faker;
+import com.github.javafaker.service.RandomService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Esquema de registro compilado uma única vez em um array de geradores já
+ * resolvidos. Gerar uma linha é só percorrer o array: sem reflexão nem
+ * comparação de strings por item.
+ */
+public final class FakerGenerationPlan {
+
+    public static final int MAX_FIELDS = 100;
+
+    private static final int MAX_UNIQUE_ATTEMPTS = 100;
+
+    private static final Pattern EXPRESSION = Pattern.compile("^\\s*([a-zA-Z]+)\\.([a-zA-Z0-9]+)\\s*(?:\\((.*)\\))?\\s*$");
+
+    private static final Map<String, Function<List<String>, FieldGenerator>> GENERATORS = new HashMap<>();
+
+    private static final Set<String> GENERATOR_NAMES = new TreeSet<>();
+
+    // Os tipos pré-definidos são compilados uma vez, na carga da classe; o plano é imutável e compartilhado
+    private static final Map<String, FakerGenerationPlan> BUILTIN_TYPES = new LinkedHashMap<>();
+
+    static {
+        register("name.fullName", faker -> faker.name().fullName());
+        register("name.firstName", faker -> faker.name().firstName());
+        register("name.lastName", faker -> faker.name().lastName());
+        register("name.username", faker -> faker.name().username());
+        register("name.title", faker -> faker.name().title());
+
+        register("internet.emailAddress", faker -> faker.internet().emailAddress());
+        register("internet.safeEmailAddress", faker -> faker.internet().safeEmailAddress());
+        register("internet.domainName", faker -> faker.internet().domainName());
+        register("internet.url", faker -> faker.internet().url());
+        register("internet.ipV4Address", faker -> faker.internet().ipV4Address());
+        register("internet.ipV6Address", faker -> faker.internet().ipV6Address());
+        register("internet.macAddress", faker -> faker.internet().macAddress());
+        // faker.internet().uuid() usa UUID.randomUUID(), que ignora a semente
+        register("internet.uuid", faker -> randomUuid(faker.random()).toString());
+        register("internet.slug", faker -> faker.internet().slug());
+
+        register("address.fullAddress", faker -> faker.address().fullAddress());
+        register("address.streetAddress", faker -> faker.address().streetAddress());
+        register("address.city", faker -> faker.address().city());
+        register("address.state", faker -> faker.address().state());
+        register("address.zipCode", faker -> faker.address().zipCode());
+        register("address.country", faker -> faker.address().country());
+        register("address.countryCode", faker -> faker.address().countryCode());
+        register("address.latitude", faker -> faker.address().latitude());
+        register("address.longitude", faker -> faker.address().longitude());
+
+        register("phoneNumber.phoneNumber", faker -> faker.phoneNumber().phoneNumber());
+        register("phoneNumber.cellPhone", faker -> faker.phoneNumber().cellPhone());
+
+        register("company.name", faker -> faker.company().name());
+        register("company.industry", faker -> faker.company().industry());
+        register("company.catchPhrase", faker -> faker.company().catchPhrase());
+        register("company.url", faker -> faker.company().url());
+
+        register("job.title", faker -> faker.job().title());
+        register("job.field", faker -> faker.job().field());
+
+        register("commerce.productName", faker -> faker.commerce().productName());
+        register("commerce.department", faker -> faker.commerce().department());
+        register("commerce.price", faker -> faker.commerce().price());
+
+        register("lorem.word", faker -> faker.lorem().word());
+        register("lorem.sentence", faker -> faker.lorem().sentence());
+        register("lorem.paragraph", faker -> faker.lorem().paragraph());
+
+        register("bool.bool", faker -> faker.bool().bool());
+
+        define("number.between", args -> {
+            requireArgs("number.between", args, 2);
+            long min = parseLong("number.between", args.get(0));
+            long max = parseLong("number.between", args.get(1));
+            if (min >= max) {
+                throw new IllegalArgumentException("number.between: o mínimo deve ser menor que o máximo");
+            }
+            return faker -> faker.number().numberBetween(min, max);
+        });
+        define("number.digits", args -> {
+            requireArgs("number.digits", args, 1);
+            int digits = (int) parseLong("number.digits", args.get(0));
+            if (digits < 1 || digits > 64) {
+                throw new IllegalArgumentException("number.digits: entre 1 e 64 dígitos");
+            }
+            return faker -> faker.number().digits(digits);
+        });
+        define("number.randomDouble", args -> {
+            requireArgs("number.randomDouble", args, 3);
+            int decimals = (int) parseLong("number.randomDouble", args.get(0));
+            long min = parseLong("number.randomDouble", args.get(1));
+            long max = parseLong("number.randomDouble", args.get(2));
+            if (min >= max) {
+                throw new IllegalArgumentException("number.randomDouble: o mínimo deve ser menor que o máximo");
+            }
+            return faker -> faker.number().randomDouble(decimals, min, max);
+        });
+
+        define("date.past", args -> {
+            int days = args.isEmpty() ? 365 : (int) parseLong("date.past", args.get(0));
+            return faker -> toLocalDateTime(faker.date().past(days, TimeUnit.DAYS));
+        });
+        define("date.future", args -> {
+            int days = args.isEmpty() ? 365 : (int) parseLong("date.future", args.get(0));
+            return faker -> toLocalDateTime(faker.date().future(days, TimeUnit.DAYS));
+        });
+        register("date.birthday", faker -> toLocalDate(faker.date().birthday()));
+
+        builtin("name", "fullName", "name.fullName", "firstName", "name.firstName",
+            "lastName", "name.lastName", "username", "name.username");
+        builtin("email", "email", "internet.emailAddress", "safeEmail", "internet.safeEmailAddress",
+            "domain", "internet.domainName");
+        builtin("address", "fullAddress", "address.fullAddress", "streetAddress", "address.streetAddress",
+            "city", "address.city", "state", "address.state", "zipCode", "address.zipCode",
+            "country", "address.country");
+        builtin("phone", "phoneNumber", "phoneNumber.phoneNumber", "cellPhone", "phoneNumber.cellPhone");
+        builtin("date", "past", "date.past(365)", "future", "date.future(365)", "birthday", "date.birthday");
+        builtin("company", "name", "company.name", "industry", "company.industry",
+            "catchPhrase", "company.catchPhrase", "url", "company.url");
+        builtin("person", "name", "name.fullName", "email", "internet.emailAddress",
+            "phone", "phoneNumber.phoneNumber", "address", "address.fullAddress",
+            "company", "company.name", "jobTitle", "job.title");
+        builtin("internet", "email", "internet.emailAddress", "url", "internet.url",
+            "domain", "internet.domainName", "ipv4", "internet.ipV4Address",
+            "ipv6", "internet.ipV6Address", "macAddress", "internet.macAddress");
+    }
+
+    private final String[] fieldNames;
+    private final FieldGenerator[] generators;
+    private final double[] nullRatios;
+    private final boolean[] unique;
+    private final boolean hasUniqueFields;
+
+    private FakerGenerationPlan(String[] fieldNames, FieldGenerator[] generators, double[] nullRatios,
+                                boolean[] unique) {
+        this.fieldNames = fieldNames;
+        this.generators = generators;
+        this.nullRatios = nullRatios;
+        this.unique = unique;
+        boolean anyUnique = false;
+        for (boolean u : unique) {
+            anyUnique |= u;
+        }
+        this.hasUniqueFields = anyUnique;
+    }
+
+    /**
+     * Compila um dos tipos pré-definidos (name, email, person...).
+     */
+    public static FakerGenerationPlan forType(String type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Informe o tipo de dado ou um esquema");
+        }
+        FakerGenerationPlan plan = BUILTIN_TYPES.get(type.toLowerCase(Locale.ROOT));
+        if (plan == null) {
+            throw new IllegalArgumentException("Tipo inválido: " + type +
+                ". Tipos suportados: " + String.join(", ", BUILTIN_TYPES.keySet()));
+        }
+        return plan;
+    }
+
+    public static FakerGenerationPlan compile(List<FakerSchemaField> schema) {
+        if (schema == null || schema.isEmpty()) {
+            throw new IllegalArgumentException("O esquema deve ter ao menos um campo");
+        }
+        if (schema.size() > MAX_FIELDS) {
+            throw new IllegalArgumentException("Máximo de " + MAX_FIELDS + " campos por esquema");
+        }
+
+        int size = schema.size();
+        String[] fieldNames = new String[size];
+        FieldGenerator[] generators = new FieldGenerator[size];
+        double[] nullRatios = new double[size];
+        boolean[] unique = new boolean[size];
+        Set<String> seenNames = new HashSet<>();
+
+        for (int i = 0; i < size; i++) {
+            FakerSchemaField field = schema.get(i);
+            if (field.getName() == null || field.getName().isBlank()) {
+                throw new IllegalArgumentException("Campo " + (i + 1) + " do esquema sem nome");
+            }
+            if (!seenNames.add(field.getName())) {
+                throw new IllegalArgumentException("Campo duplicado no esquema: " + field.getName());
+            }
+            double nullRatio = field.getNullRatio() != null ? field.getNullRatio() : 0;
+            if (nullRatio < 0 || nullRatio > 1) {
+                throw new IllegalArgumentException("nullRatio do campo " + field.getName() + " deve estar entre 0 e 1");
+            }
+
+            fieldNames[i] = field.getName();
+            generators[i] = resolve(field.getGenerator());
+            nullRatios[i] = nullRatio;
+            unique[i] = Boolean.TRUE.equals(field.getUnique());
+        }
+
+        return new FakerGenerationPlan(fieldNames, generators, nullRatios, unique);
+    }
+
+    public static Set<String> builtinTypes() {
+        return Collections.unmodifiableSet(BUILTIN_TYPES.keySet());
+    }
+
+    public static Set<String> generatorNames() {
+        return Collections.unmodifiableSet(GENERATOR_NAMES);
+    }
+
+    public String[] fieldNames() {
+        return fieldNames;
+    }
+
+    public boolean hasUniqueFields() {
+        return hasUniqueFields;
+    }
+
+    /**
+     * Gera uma linha, na ordem de {@link #fieldNames()}. {@code uniqueValues} guarda
+     * os valores já usados pelos campos únicos e pode ser {@code null} se o plano
+     * não tiver nenhum.
+     */
+    public Object[] nextRow(Faker faker, UniqueValues uniqueValues) {
+        Object[] row = new Object[generators.length];
+        for (int i = 0; i < generators.length; i++) {
+            if (nullRatios[i] > 0 && faker.random().nextDouble() < nullRatios[i]) {
+                continue;
+            }
+            if (unique[i]) {
+                row[i] = nextUnique(faker, i, uniqueValues);
+            } else {
+                row[i] = generators[i].generate(faker);
+            }
+        }
+        return row;
+    }
+
+    public Map<String, Object> toRecord(Object[] row) {
+        Map<String, Object> record = new LinkedHashMap<>(fieldNames.length * 2);
+        for (int i = 0; i < fieldNames.length; i++) {
+            record.put(fieldNames[i], row[i]);
+        }
+        return record;
+    }
+
+    public UniqueValues newUniqueValues() {
+        return hasUniqueFields ? new UniqueValues(generators.length) : null;
+    }
+
+    private Object nextUnique(Faker faker, int field, UniqueValues uniqueValues) {
+        for (int attempt = 0; attempt < MAX_UNIQUE_ATTEMPTS; attempt++) {
+            Object value = generators[field].generate(faker);
+            if (uniqueValues.add(field, value)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Não foi possível gerar valores únicos suficientes para o campo "
+            + fieldNames[field] + ". Reduza a quantidade ou remova a restrição de unicidade");
+    }
+
+    private static FieldGenerator resolve(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("Informe o gerador de cada campo");
+        }
+        Matcher matcher = EXPRESSION.matcher(expression);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Gerador inválido: " + expression
+                + ". Use o formato provedor.metodo ou provedor.metodo(arg1,arg2)");
+        }
+        String name = matcher.group(1) + "." + matcher.group(2);
+        Function<List<String>, FieldGenerator> factory = GENERATORS.get(key(name));
+        if (factory == null) {
+            throw new IllegalArgumentException("Gerador desconhecido: " + name);
+        }
+
+        List<String> args = new ArrayList<>();
+        String rawArgs = matcher.group(3);
+        if (rawArgs != null && !rawArgs.isBlank()) {
+            for (String arg : rawArgs.split(",")) {
+                args.add(arg.trim());
+            }
+        }
+        return factory.apply(args);
+    }
+
+    private static void define(String name, Function<List<String>, FieldGenerator> factory) {
+        GENERATORS.put(key(name), factory);
+        GENERATOR_NAMES.add(name);
+    }
+
+    private static void register(String name, FieldGenerator generator) {
+        define(name, args -> {
+            if (!args.isEmpty()) {
+                throw new IllegalArgumentException(name + " não recebe argumentos");
+            }
+            return generator;
+        });
+    }
+
+    private static void builtin(String type, String... namesAndGenerators) {
+        List<FakerSchemaField> schema = new ArrayList<>();
+        for (int i = 0; i < namesAndGenerators.length; i += 2) {
+            FakerSchemaField field = new FakerSchemaField();
+            field.setName(namesAndGenerators[i]);
+            field.setGenerator(namesAndGenerators[i + 1]);
+            schema.add(field);
+        }
+        BUILTIN_TYPES.put(type, compile(schema));
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static void requireArgs(String name, List<String> args, int count) {
+        if (args.size() != count) {
+            throw new IllegalArgumentException(name + " espera " + count + " argumento(s)");
+        }
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + ": argumento numérico inválido '" + value + "'");
+        }
+    }
+
+    // UUID versão 4 com os bits aleatórios tirados do gerador do Faker
+    private static UUID randomUuid(RandomService random) {
+        long mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    @FunctionalInterface
+    public interface FieldGenerator {
+        Object generate(Faker faker);
+    }
+
+    /**
+     * Valores já emitidos pelos campos únicos de um conjunto gerado.
+     */
+    public static final class UniqueValues {
+
+        private final List<Set<Object>> seen;
+
+        private UniqueValues(int fields) {
+            this.seen = new ArrayList<>(Collections.nCopies(fields, null));
+        }
+
+        private boolean add(int field, Object value) {
+            Set<Object> values = seen.get(field);
+            if (values == null) {
+                values = new HashSet<>();
+                seen.set(field, values);
+            }
+            return values.add(value);
+        }
+    }
+}
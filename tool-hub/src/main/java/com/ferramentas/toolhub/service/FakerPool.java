@@ -0,0 +1,118 @@
+package com.ferramentas.toolhub.service;
+
+import com.github.javafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de instâncias {@link Faker} já inicializadas, separado por locale.
+ * <p>
+ * Criar um {@code Faker} carrega e interpreta os YAMLs do locale, então as
+ * instâncias são reaproveitadas entre requisições. Cada instância é emprestada
+ * para uma única thread por vez, já que o Faker não é thread-safe.
+ */
+@Component
+public class FakerPool {
+
+    private final Map<Locale, LocaleQueue> pools = new ConcurrentHashMap<>();
+
+    @Value("${FAKER_POOL_MAX_IDLE:8}")
+    private int maxIdlePerLocale;
+
+    public Lease borrow(Locale locale) {
+        LocaleQueue pool = pools.computeIfAbsent(locale, key -> new LocaleQueue());
+        Lease lease = pool.idle.poll();
+        if (lease != null) {
+            pool.size.decrementAndGet();
+            lease.released = false;
+            return lease;
+        }
+        return create(locale);
+    }
+
+    /**
+     * Cria instâncias para os locales informados, para que as primeiras
+     * requisições não paguem o custo de carregar os YAMLs.
+     */
+    public void warmUp(Collection<Locale> locales) {
+        for (Locale locale : locales) {
+            release(create(locale));
+        }
+    }
+
+    void release(Lease lease) {
+        LocaleQueue pool = pools.computeIfAbsent(lease.locale, key -> new LocaleQueue());
+        if (pool.size.incrementAndGet() <= maxIdlePerLocale) {
+            pool.idle.offer(lease);
+        } else {
+            pool.size.decrementAndGet();
+        }
+    }
+
+    private Lease create(Locale locale) {
+        Random random = new Random();
+        return new Lease(this, locale, new Faker(locale, random), random);
+    }
+
+    private static final class LocaleQueue {
+        private final Queue<Lease> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+    }
+
+    /**
+     * Empréstimo de uma instância do pool; devolva com {@link #close()}
+     * (try-with-resources).
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final FakerPool pool;
+        private final Locale locale;
+        private final Faker faker;
+        private final Random random;
+        private boolean released;
+        private boolean seeded;
+
+        private Lease(FakerPool pool, Locale locale, Faker faker, Random random) {
+            this.pool = pool;
+            this.locale = locale;
+            this.faker = faker;
+            this.random = random;
+        }
+
+        public Faker faker() {
+            return faker;
+        }
+
+        /**
+         * Reinicia a sequência aleatória da instância: a mesma semente produz os
+         * mesmos dados, independentemente de quem usou a instância antes.
+         */
+        public void reseed(long seed) {
+            random.setSeed(seed);
+            seeded = true;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                if (seeded) {
+                    // Não devolve ao pool uma sequência previsível
+                    random.setSeed(ThreadLocalRandom.current().nextLong());
+                    seeded = false;
+                }
+                pool.release(this);
+            }
+        }
+    }
+}
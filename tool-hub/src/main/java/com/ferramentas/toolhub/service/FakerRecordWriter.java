@@ -0,0 +1,378 @@
+package com.ferramentas.toolhub.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Escreve registros gerados diretamente na saída, um por vez, sem acumular o
+ * conjunto inteiro em memória.
+ */
+public abstract class FakerRecordWriter implements AutoCloseable {
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+    public static final String SQL = "sql";
+    public static final String COPY = "copy";
+
+    /**
+     * Formatos suportados pelo endpoint de streaming.
+     */
+    public static final List<String> FORMATS = List.of(NDJSON, CSV, SQL, COPY);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 10000;
+
+    private static final String DEFAULT_TABLE_NAME = "fake_data";
+
+    /**
+     * Valida e normaliza as opções de saída antes de a resposta começar.
+     */
+    public static Options options(String format, String tableName, Integer batchSize) {
+        String normalizedFormat = format == null || format.isBlank() ? NDJSON : format.trim().toLowerCase(Locale.ROOT);
+        if (!FORMATS.contains(normalizedFormat)) {
+            throw new IllegalArgumentException("Formato inválido: " + format
+                + ". Formatos suportados: " + String.join(", ", FORMATS));
+        }
+
+        int batch = batchSize != null ? batchSize : DEFAULT_BATCH_SIZE;
+        if (batch < 1 || batch > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batchSize deve estar entre 1 e " + MAX_BATCH_SIZE);
+        }
+
+        String table = tableName == null || tableName.isBlank() ? DEFAULT_TABLE_NAME : tableName.trim();
+        return new Options(normalizedFormat, quoteQualifiedName(table), batch);
+    }
+
+    public static FakerRecordWriter create(Options options, OutputStream out, ObjectMapper objectMapper,
+                                           String[] columns) throws IOException {
+        switch (options.format()) {
+            case NDJSON:
+                return new NdjsonWriter(out, objectMapper, columns);
+            case CSV:
+                return new CsvWriter(out, columns);
+            case SQL:
+                return new SqlInsertWriter(out, options, columns);
+            case COPY:
+                return new PostgresCopyWriter(out, options, columns);
+            default:
+                throw new IllegalArgumentException("Formato inválido: " + options.format());
+        }
+    }
+
+    /**
+     * Nome de tabela, opcionalmente qualificado pelo schema, com cada parte entre
+     * aspas duplas (as aspas internas são duplicadas).
+     */
+    private static String quoteQualifiedName(String name) {
+        if (name.length() > 128) {
+            throw new IllegalArgumentException("Nome de tabela muito longo");
+        }
+        StringBuilder quoted = new StringBuilder();
+        for (String part : name.split("\\.", -1)) {
+            if (part.isBlank()) {
+                throw new IllegalArgumentException("Nome de tabela inválido: " + name);
+            }
+            if (quoted.length() > 0) {
+                quoted.append('.');
+            }
+            quoted.append(quoteIdentifier(part));
+        }
+        return quoted.toString();
+    }
+
+    private static String quoteIdentifier(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    private static String columnList(String[] columns) {
+        StringBuilder list = new StringBuilder("(");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                list.append(", ");
+            }
+            list.append(quoteIdentifier(columns[i]));
+        }
+        return list.append(')').toString();
+    }
+
+    /**
+     * Escreve uma linha com os valores na mesma ordem das colunas informadas em
+     * {@link #create}.
+     */
+    public abstract void write(Object[] row) throws IOException;
+
+    /**
+     * Envia ao cliente o que está em buffer. Como a escrita no socket é bloqueante,
+     * um cliente lento segura a geração aqui em vez de acumular dados no servidor.
+     */
+    public abstract void flush() throws IOException;
+
+    /**
+     * Marca a saída como completa (o {@code COMMIT} do SQL, o fim de dados do
+     * COPY). Só é chamado depois do último registro: um {@link #close()} sem ele
+     * significa que a geração falhou no meio.
+     */
+    public void finish() throws IOException {
+    }
+
+    @Override
+    public abstract void close() throws IOException;
+
+    public record Options(String format, String tableName, int batchSize) {
+    }
+
+    private static final class NdjsonWriter extends FakerRecordWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter valueWriter;
+        private final SerializedString[] columns;
+
+        private NdjsonWriter(OutputStream out, ObjectMapper objectMapper, String[] columns) throws IOException {
+            // O gerador criado pela factory do ObjectMapper já usa os serializers do Spring (datas, etc.)
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setRootValueSeparator(null);
+            // generator.writeObject passa pelo ObjectMapper, que dá flush a cada valor escrito
+            this.valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.columns = Arrays.stream(columns).map(SerializedString::new).toArray(SerializedString[]::new);
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                valueWriter.writeValue(generator, row[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvWriter extends FakerRecordWriter {
+
+        private final Writer writer;
+
+        private CsvWriter(OutputStream out, String[] columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            write(columns);
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(row[i] == null ? "" : row[i].toString());
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180: campos com separador, aspas ou quebra de linha vão entre aspas
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Comandos {@code INSERT} com várias linhas cada, {@code batchSize} linhas por comando,
+     * dentro de uma transação. Se a geração falhar, o comando em andamento fica sem
+     * terminar e a saída acaba em {@code ROLLBACK}, então um dump truncado não é
+     * carregado pela metade.
+     */
+    private static final class SqlInsertWriter extends FakerRecordWriter {
+
+        private final Writer writer;
+        private final String insertPrefix;
+        private final int batchSize;
+        private int rowsInBatch;
+        private boolean finished;
+
+        private SqlInsertWriter(OutputStream out, Options options, String[] columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            this.insertPrefix = "INSERT INTO " + options.tableName() + " " + columnList(columns) + " VALUES\n";
+            this.batchSize = options.batchSize();
+            writer.write("BEGIN;\n");
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            writer.write(rowsInBatch == 0 ? insertPrefix : ",\n");
+            writer.write('(');
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(", ");
+                }
+                writeLiteral(row[i]);
+            }
+            writer.write(')');
+            if (++rowsInBatch == batchSize) {
+                endStatement();
+                writer.flush();
+            }
+        }
+
+        private void writeLiteral(Object value) throws IOException {
+            if (value == null) {
+                writer.write("NULL");
+            } else if (value instanceof Number) {
+                writer.write(value.toString());
+            } else if (value instanceof Boolean bool) {
+                writer.write(bool ? "TRUE" : "FALSE");
+            } else {
+                // Com standard_conforming_strings (padrão do Postgres) só a aspa simples precisa de escape
+                writer.write('\'');
+                writer.write(value.toString().replace("'", "''"));
+                writer.write('\'');
+            }
+        }
+
+        private void endStatement() throws IOException {
+            if (rowsInBatch > 0) {
+                writer.write(";\n");
+                rowsInBatch = 0;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            endStatement();
+            writer.write("COMMIT;\n");
+            finished = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                // Colado num INSERT aberto, o ROLLBACK vira erro de sintaxe, que também aborta a transação
+                writer.write("\n-- geração interrompida\nROLLBACK;\n");
+            }
+            writer.close();
+        }
+    }
+
+    /**
+     * {@code COPY ... FROM STDIN} no formato texto do PostgreSQL, para ser enviado
+     * direto ao {@code psql}. Se a geração falhar, a última linha de dados tem uma
+     * coluna a mais: o COPY inteiro é rejeitado em vez de carregar só o começo.
+     */
+    private static final class PostgresCopyWriter extends FakerRecordWriter {
+
+        private final Writer writer;
+        private final int columnCount;
+        private boolean finished;
+
+        private PostgresCopyWriter(OutputStream out, Options options, String[] columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            this.columnCount = columns.length;
+            writer.write("COPY " + options.tableName() + " " + columnList(columns) + " FROM STDIN;\n");
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write('\t');
+                }
+                writeValue(row[i]);
+            }
+            writer.write('\n');
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                writer.write("\\N");
+                return;
+            }
+            if (value instanceof Boolean bool) {
+                writer.write(bool ? 't' : 'f');
+                return;
+            }
+            if (value instanceof Number || value instanceof TemporalAccessor) {
+                writer.write(value.toString());
+                return;
+            }
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> writer.write("\\\\");
+                    case '\t' -> writer.write("\\t");
+                    case '\n' -> writer.write("\\n");
+                    case '\r' -> writer.write("\\r");
+                    default -> writer.write(c);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.write("\\.\n");
+            finished = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                // Uma coluna a mais que a tabela: "extra data after last expected column"
+                writer.write("geração interrompida\t".repeat(columnCount) + "geração interrompida\n\\.\n");
+            }
+            writer.close();
+        }
+    }
+}
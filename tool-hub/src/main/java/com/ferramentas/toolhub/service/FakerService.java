@@ -1,114 +1,119 @@
 package com.ferramentas.toolhub.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ferramentas.toolhub.dto.FakerSchemaField;
 import com.github.javafaker.Faker;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import java.time.ZoneId;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 @Service
 public class FakerService {
 
+    private static final List<String> SUPPORTED_LOCALES = List.of(
+        "pt-BR", "en-US", "es-ES", "fr-FR", "de-DE", "it-IT"
+    );
+
+    private static final List<Locale> SUPPORTED_LOCALE_OBJECTS =
+        SUPPORTED_LOCALES.stream().map(Locale::forLanguageTag).toList();
+
+    private static final Locale DEFAULT_LOCALE = SUPPORTED_LOCALE_OBJECTS.get(0);
+
+    private static final int FLUSH_EVERY = 500;
+
+    // Tamanho fixo do shard: a divisão do trabalho não depende do número de threads
+    private static final int SHARD_SIZE = 1000;
+
+    private final FakerPool fakerPool;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool generationPool;
+
+    @Value("${FAKER_WARMUP:true}")
+    private boolean warmUp;
+
+    @Value("${FAKER_MAX_COUNT:10000}")
+    private int maxCount;
+
+    @Value("${FAKER_STREAM_MAX_COUNT:10000000}")
+    private int streamMaxCount;
+
+    // Campos únicos guardam todos os valores já emitidos, então o volume tem limite próprio
+    @Value("${FAKER_STREAM_MAX_UNIQUE_COUNT:100000}")
+    private int streamMaxUniqueCount;
+
+    public FakerService(FakerPool fakerPool, ObjectMapper objectMapper,
+                        @Value("${FAKER_PARALLELISM:0}") int parallelism) {
+        this.fakerPool = fakerPool;
+        this.objectMapper = objectMapper;
+        this.generationPool = new ForkJoinPool(
+            parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        generationPool.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpLocales() {
+        if (warmUp) {
+            fakerPool.warmUp(SUPPORTED_LOCALE_OBJECTS);
+        }
+    }
+
     public Map<String, Object> generateFakeData(String type, Integer count, String locale) {
-        Map<String, Object> result = new HashMap<>();
-        List<Object> data = new ArrayList<>();
+        return generateFakeData(type, null, count, locale, null);
+    }
 
-        // Define o locale, padrão pt-BR
-        Locale localeObj = locale != null ? Locale.forLanguageTag(locale) : new Locale("pt", "BR");
-        Faker faker = new Faker(localeObj);
+    /**
+     * Gera um tipo pré-definido ou, se {@code schema} for informado, registros no
+     * formato do esquema. Com {@code seed}, a geração é dividida em shards paralelos
+     * e reproduzível: a mesma semente sempre produz os mesmos dados.
+     */
+    public Map<String, Object> generateFakeData(String type, List<FakerSchemaField> schema, Integer count,
+                                                String locale, Long seed) {
+        Map<String, Object> result = new HashMap<>();
 
         int itemCount = count != null && count > 0 ? count : 1;
+        if (itemCount > maxCount) {
+            throw new IllegalArgumentException("Máximo de " + maxCount
+                + " itens por requisição. Use /api/v1/tools/faker/stream para volumes maiores");
+        }
 
         try {
-            for (int i = 0; i < itemCount; i++) {
-                switch (type.toLowerCase()) {
-                    case "name":
-                        data.add(Map.of(
-                            "fullName", faker.name().fullName(),
-                            "firstName", faker.name().firstName(),
-                            "lastName", faker.name().lastName(),
-                            "username", faker.name().username()
-                        ));
-                        break;
-
-                    case "email":
-                        data.add(Map.of(
-                            "email", faker.internet().emailAddress(),
-                            "safeEmail", faker.internet().safeEmailAddress(),
-                            "domain", faker.internet().domainName()
-                        ));
-                        break;
-
-                    case "address":
-                        data.add(Map.of(
-                            "fullAddress", faker.address().fullAddress(),
-                            "streetAddress", faker.address().streetAddress(),
-                            "city", faker.address().city(),
-                            "state", faker.address().state(),
-                            "zipCode", faker.address().zipCode(),
-                            "country", faker.address().country()
-                        ));
-                        break;
-
-                    case "phone":
-                        data.add(Map.of(
-                            "phoneNumber", faker.phoneNumber().phoneNumber(),
-                            "cellPhone", faker.phoneNumber().cellPhone()
-                        ));
-                        break;
-
-                    case "date":
-                        Date pastDate = faker.date().past(365, TimeUnit.DAYS);
-                        Date futureDate = faker.date().future(365, TimeUnit.DAYS);
-                        data.add(Map.of(
-                            "past", pastDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime(),
-                            "future", futureDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime(),
-                            "birthday", faker.date().birthday().toInstant().atZone(ZoneId.systemDefault()).toLocalDate()
-                        ));
-                        break;
-
-                    case "company":
-                        data.add(Map.of(
-                            "name", faker.company().name(),
-                            "industry", faker.company().industry(),
-                            "catchPhrase", faker.company().catchPhrase(),
-                            "url", faker.company().url()
-                        ));
-                        break;
-
-                    case "person":
-                        data.add(Map.of(
-                            "name", faker.name().fullName(),
-                            "email", faker.internet().emailAddress(),
-                            "phone", faker.phoneNumber().phoneNumber(),
-                            "address", faker.address().fullAddress(),
-                            "company", faker.company().name(),
-                            "jobTitle", faker.job().title()
-                        ));
-                        break;
-
-                    case "internet":
-                        data.add(Map.of(
-                            "email", faker.internet().emailAddress(),
-                            "url", faker.internet().url(),
-                            "domain", faker.internet().domainName(),
-                            "ipv4", faker.internet().ipV4Address(),
-                            "ipv6", faker.internet().ipV6Address(),
-                            "macAddress", faker.internet().macAddress()
-                        ));
-                        break;
-
-                    default:
-                        throw new IllegalArgumentException("Tipo inválido: " + type +
-                            ". Tipos suportados: name, email, address, phone, date, company, person, internet");
+            GenerationJob job = newJob(type, schema, itemCount, locale, null, seed);
+            FakerGenerationPlan plan = job.plan();
+            List<Object> data = new ArrayList<>(itemCount);
+            if (seed != null) {
+                for (List<Object[]> shard : generateShards(job, 0, shardCount(itemCount))) {
+                    for (Object[] row : shard) {
+                        data.add(plan.toRecord(row));
+                    }
+                }
+            } else {
+                try (FakerPool.Lease lease = fakerPool.borrow(job.locale())) {
+                    Faker faker = lease.faker();
+                    for (int i = 0; i < itemCount; i++) {
+                        data.add(plan.toRecord(plan.nextRow(faker, job.uniqueValues())));
+                    }
                 }
             }
 
             result.put("success", true);
-            result.put("type", type);
+            result.put("type", schema != null && !schema.isEmpty() ? "schema" : type);
             result.put("count", itemCount);
-            result.put("locale", locale != null ? locale : "pt-BR");
+            result.put("locale", job.locale().toLanguageTag());
+            if (seed != null) {
+                result.put("seed", seed);
+            }
             result.put("data", data);
 
         } catch (Exception e) {
@@ -119,15 +124,150 @@ public class FakerService {
         return result;
     }
 
+    /**
+     * Valida uma geração em streaming antes de a resposta começar a ser escrita.
+     */
+    public GenerationJob prepareStream(String type, List<FakerSchemaField> schema, Integer count, String locale,
+                                       Long seed, String format, String tableName, Integer batchSize) {
+        int itemCount = count != null && count > 0 ? count : 1;
+        if (itemCount > streamMaxCount) {
+            throw new IllegalArgumentException("Máximo de " + streamMaxCount + " itens por requisição");
+        }
+
+        FakerRecordWriter.Options output = FakerRecordWriter.options(format, tableName, batchSize);
+        GenerationJob job = newJob(type, schema, itemCount, locale, output, seed);
+        if (job.plan().hasUniqueFields() && itemCount > streamMaxUniqueCount) {
+            throw new IllegalArgumentException("Máximo de " + streamMaxUniqueCount
+                + " itens por requisição quando o esquema tem campos únicos");
+        }
+        return job;
+    }
+
+    /**
+     * Gera e escreve os registros um a um. O uso de memória não depende de
+     * {@code count}: só o registro atual e o buffer de saída ficam em memória
+     * (mais os valores já usados, se o esquema tiver campos únicos).
+     * Com semente, os shards são gerados em paralelo em janelas de tamanho fixo e
+     * escritos na ordem, então a memória continua limitada à janela.
+     */
+    public void streamFakeData(GenerationJob job, OutputStream out) throws IOException {
+        FakerGenerationPlan plan = job.plan();
+        try (FakerRecordWriter writer = FakerRecordWriter.create(job.output(), out, objectMapper, plan.fieldNames())) {
+            if (job.seed() != null) {
+                int shards = shardCount(job.count());
+                int window = generationPool.getParallelism() * 2;
+                for (int from = 0; from < shards; from += window) {
+                    for (List<Object[]> shard : generateShards(job, from, Math.min(from + window, shards))) {
+                        for (Object[] row : shard) {
+                            writer.write(row);
+                        }
+                    }
+                    writer.flush();
+                }
+            } else {
+                try (FakerPool.Lease lease = fakerPool.borrow(job.locale())) {
+                    Faker faker = lease.faker();
+                    for (int i = 1; i <= job.count(); i++) {
+                        writer.write(plan.nextRow(faker, job.uniqueValues()));
+                        if (i % FLUSH_EVERY == 0) {
+                            writer.flush();
+                        }
+                    }
+                }
+            }
+            writer.finish();
+            writer.flush();
+        }
+    }
+
+    private GenerationJob newJob(String type, List<FakerSchemaField> schema, int count, String locale,
+                                 FakerRecordWriter.Options output, Long seed) {
+        FakerGenerationPlan plan = schema != null && !schema.isEmpty()
+            ? FakerGenerationPlan.compile(schema)
+            : FakerGenerationPlan.forType(type);
+        return new GenerationJob(plan, count, resolveLocale(locale), output, seed, plan.newUniqueValues());
+    }
+
+    private int shardCount(int count) {
+        return (count + SHARD_SIZE - 1) / SHARD_SIZE;
+    }
+
+    /**
+     * Gera os shards [fromShard, toShard) em paralelo, preservando a ordem. Com
+     * campos únicos os shards rodam em sequência: o conjunto de valores já usados
+     * é compartilhado e a ordem de preenchimento precisa ser a mesma a cada execução.
+     */
+    private List<List<Object[]>> generateShards(GenerationJob job, int fromShard, int toShard) {
+        if (job.plan().hasUniqueFields()) {
+            List<List<Object[]>> shards = new ArrayList<>(toShard - fromShard);
+            for (int shard = fromShard; shard < toShard; shard++) {
+                shards.add(generateShard(job, shard));
+            }
+            return shards;
+        }
+        return generationPool.submit(() -> IntStream.range(fromShard, toShard)
+            .parallel()
+            .mapToObj(shard -> generateShard(job, shard))
+            .toList()).join();
+    }
+
+    private List<Object[]> generateShard(GenerationJob job, int shard) {
+        int start = shard * SHARD_SIZE;
+        int end = Math.min(start + SHARD_SIZE, job.count());
+        List<Object[]> rows = new ArrayList<>(end - start);
+        try (FakerPool.Lease lease = fakerPool.borrow(job.locale())) {
+            lease.reseed(shardSeed(job.seed(), shard));
+            Faker faker = lease.faker();
+            for (int i = start; i < end; i++) {
+                rows.add(job.plan().nextRow(faker, job.uniqueValues()));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Deriva a semente do shard a partir da semente mestre (mistura do SplitMix64),
+     * para que shards vizinhos não gerem sequências correlacionadas.
+     */
+    static long shardSeed(long masterSeed, int shard) {
+        long z = masterSeed + (shard + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
     public Map<String, Object> getAvailableTypes() {
         Map<String, Object> result = new HashMap<>();
-        result.put("types", Arrays.asList(
-            "name", "email", "address", "phone", "date", "company", "person", "internet"
-        ));
-        result.put("locales", Arrays.asList(
-            "pt-BR", "en-US", "es-ES", "fr-FR", "de-DE", "it-IT"
-        ));
+        result.put("types", FakerGenerationPlan.builtinTypes());
+        result.put("generators", FakerGenerationPlan.generatorNames());
+        result.put("locales", SUPPORTED_LOCALES);
+        result.put("formats", FakerRecordWriter.FORMATS);
         return result;
     }
-}
 
+    /**
+     * Só devolve locales de {@link #SUPPORTED_LOCALES}, que também são as chaves do
+     * {@link FakerPool}: um locale desconhecido cai para outro do mesmo idioma ou,
+     * se não houver, para o padrão pt-BR.
+     */
+    private Locale resolveLocale(String locale) {
+        if (locale == null || locale.isBlank()) {
+            return DEFAULT_LOCALE;
+        }
+        Locale requested = Locale.forLanguageTag(locale.trim().replace('_', '-'));
+        Locale sameLanguage = null;
+        for (Locale supported : SUPPORTED_LOCALE_OBJECTS) {
+            if (supported.equals(requested)) {
+                return supported;
+            }
+            if (sameLanguage == null && supported.getLanguage().equals(requested.getLanguage())) {
+                sameLanguage = supported;
+            }
+        }
+        return sameLanguage != null ? sameLanguage : DEFAULT_LOCALE;
+    }
+
+    public record GenerationJob(FakerGenerationPlan plan, int count, Locale locale, FakerRecordWriter.Options output,
+                                Long seed, FakerGenerationPlan.UniqueValues uniqueValues) {
+    }
+}
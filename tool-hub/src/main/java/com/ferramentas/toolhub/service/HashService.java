@@ -0,0 +1,352 @@
+package com.ferramentas.toolhub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+
+/**
+ * Calcula vários digests de um arquivo em uma única passada. A leitura usa
+ * ByteBuffers diretos de um pool pequeno e limitado (com as ~200 threads do
+ * Tomcat, um buffer por thread prenderia centenas de MB fora do heap), e uploads
+ * gravados em disco são lidos por mapeamento de memória, então o consumo de
+ * memória é constante independentemente do tamanho do arquivo.
+ *
+ * <p>As instâncias de {@link MessageDigest} também ficam por thread e por algoritmo:
+ * {@code getInstance} percorre os providers a cada chamada, e o hash de texto é a
+ * ferramenta mais chamada da aplicação.
+ *
+ * <p>Além dos digests do JCA há checksums não criptográficos (CRC32C, CRC32,
+ * Adler32, xxHash64 e Murmur3 128), bem mais rápidos para chaves de deduplicação.
+ */
+@Service
+public class HashService {
+
+    private static final List<String> DEFAULT_ALGORITHMS = List.of("MD5", "SHA-1", "SHA-256", "SHA-512");
+    private static final int MAX_ALGORITHMS = 8;
+
+    // Janela de mapeamento: arquivos maiores são mapeados em fatias sucessivas
+    private static final long MAPPED_CHUNK_SIZE = 64L * 1024 * 1024;
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final double BYTES_PER_MB = 1024.0 * 1024;
+
+    // Nomes canônicos dos hashes fora do JCA; as chaves são o nome só com letras e dígitos
+    private static final Map<String, String> NON_CRYPTO_ALIASES = Map.of(
+        "CRC32C", "CRC32C",
+        "CRC32", "CRC32",
+        "ADLER32", "ADLER32",
+        "XXHASH64", "XXHASH64",
+        "XXH64", "XXHASH64",
+        "MURMUR3", "MURMUR3_128",
+        "MURMUR3128", "MURMUR3_128"
+    );
+
+    private static final Map<String, Supplier<StreamingHash>> NON_CRYPTO_HASHES = Map.of(
+        "CRC32C", () -> StreamingHash.of("CRC32C", new CRC32C()),
+        "CRC32", () -> StreamingHash.of("CRC32", new CRC32()),
+        "ADLER32", () -> StreamingHash.of("ADLER32", new Adler32()),
+        "XXHASH64", XxHash64::new,
+        "MURMUR3_128", Murmur3Hash128::new
+    );
+
+    private final BlockingQueue<ByteBuffer> bufferPool;
+    private final AtomicInteger allocatedBuffers = new AtomicInteger();
+    private final int bufferSize;
+    private final int bufferPoolSize;
+    private final ThreadLocal<Map<String, StreamingHash>> hashes = ThreadLocal.withInitial(HashMap::new);
+
+    @Value("${HASH_MMAP_THRESHOLD:1048576}")
+    private long mmapThreshold;
+
+    @Value("${HASH_BATCH_MAX_INPUTS:10000}")
+    private int maxBatchInputs;
+
+    public HashService(@Value("${HASH_BUFFER_SIZE:262144}") int bufferSize,
+                       @Value("${HASH_BUFFER_POOL_SIZE:8}") int bufferPoolSize) {
+        this.bufferSize = bufferSize;
+        this.bufferPoolSize = bufferPoolSize;
+        this.bufferPool = new ArrayBlockingQueue<>(bufferPoolSize);
+    }
+
+    /**
+     * Hash de um texto (UTF-8) em hexadecimal, reaproveitando o digest da thread.
+     */
+    public String hashText(String input, String algorithm) {
+        StreamingHash hash = hash(algorithm);
+        return hashBytes(hash, input.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Calcula o hash de cada entrada com o mesmo digest, preservando a ordem.
+     */
+    public Map<String, Object> hashBatch(List<String> inputs, String algorithm) {
+        if (inputs == null || inputs.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma entrada em inputs");
+        }
+        if (inputs.size() > maxBatchInputs) {
+            throw new IllegalArgumentException("Máximo de " + maxBatchInputs + " entradas por requisição");
+        }
+
+        long startTime = System.nanoTime();
+        StreamingHash hash = hash(algorithm == null || algorithm.isBlank() ? "SHA-256" : algorithm);
+        List<String> results = new ArrayList<>(inputs.size());
+        long bytes = 0;
+        for (String input : inputs) {
+            if (input == null) {
+                results.add(null);
+                continue;
+            }
+            byte[] content = input.getBytes(StandardCharsets.UTF_8);
+            bytes += content.length;
+            results.add(hashBytes(hash, content));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("algorithm", hash.name());
+        result.put("total", results.size());
+        result.put("hashes", results);
+        putTiming(result, bytes, startTime);
+        return result;
+    }
+
+    /**
+     * Uploads pequenos são lidos pelo canal do próprio stream; os maiores são
+     * transferidos para um arquivo temporário e lidos por mmap. A transferência usa
+     * {@code transferTo(File)}, que no Tomcat vira um rename quando o container já
+     * gravou o upload em disco; {@code transferTo(Path)} sempre copiaria os bytes.
+     */
+    public Map<String, Object> hashFile(MultipartFile file, String algorithms) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Envie um arquivo não vazio no campo 'file'");
+        }
+        List<StreamingHash> digests = createHashes(algorithms);
+
+        long startTime = System.nanoTime();
+        long bytes;
+        String mode;
+        if (file.getSize() >= mmapThreshold) {
+            Path spooled = Files.createTempFile("toolhub-hash-", ".upload");
+            try {
+                file.transferTo(spooled.toFile());
+                bytes = updateMapped(spooled, digests);
+            } finally {
+                Files.deleteIfExists(spooled);
+            }
+            mode = "mmap";
+        } else {
+            try (InputStream in = file.getInputStream()) {
+                bytes = updateChannel(Channels.newChannel(in), digests);
+            }
+            mode = "channel";
+        }
+
+        Map<String, Object> result = result(digests, bytes, mode, startTime);
+        result.put("fileName", file.getOriginalFilename());
+        return result;
+    }
+
+    /**
+     * Calcula os digests do corpo cru da requisição, sem passar por multipart.
+     */
+    public Map<String, Object> hashStream(InputStream in, String algorithms) throws IOException {
+        List<StreamingHash> digests = createHashes(algorithms);
+        long startTime = System.nanoTime();
+        long bytes = updateChannel(Channels.newChannel(in), digests);
+        return result(digests, bytes, "channel", startTime);
+    }
+
+    private long updateChannel(ReadableByteChannel channel, List<StreamingHash> digests) throws IOException {
+        ByteBuffer buffer = borrowBuffer();
+        try {
+            long total = 0;
+            buffer.clear();
+            while (channel.read(buffer) != -1) {
+                if (buffer.position() < buffer.capacity()) {
+                    // Espera encher o buffer para alimentar os digests em blocos grandes
+                    continue;
+                }
+                total += update(buffer, digests);
+            }
+            return total + update(buffer, digests);
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    /**
+     * Buffer direto do pool, criado sob demanda até o limite do pool. Com o pool
+     * esgotado a requisição usa um buffer no heap, que o GC recolhe, em vez de esperar.
+     */
+    private ByteBuffer borrowBuffer() {
+        ByteBuffer buffer = bufferPool.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+        if (allocatedBuffers.getAndIncrement() < bufferPoolSize) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        allocatedBuffers.decrementAndGet();
+        return ByteBuffer.allocate(bufferSize);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        if (buffer.isDirect()) {
+            bufferPool.offer(buffer);
+        }
+    }
+
+    private long updateMapped(Path path, List<StreamingHash> digests) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAPPED_CHUNK_SIZE) {
+                long length = Math.min(MAPPED_CHUNK_SIZE, size - position);
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                for (StreamingHash digest : digests) {
+                    chunk.rewind();
+                    digest.update(chunk);
+                }
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Passa o conteúdo lido a cada digest e deixa o buffer pronto para a próxima leitura.
+     */
+    private static int update(ByteBuffer buffer, List<StreamingHash> digests) {
+        buffer.flip();
+        int length = buffer.remaining();
+        for (StreamingHash digest : digests) {
+            buffer.rewind();
+            digest.update(buffer);
+        }
+        buffer.clear();
+        return length;
+    }
+
+    private List<StreamingHash> createHashes(String algorithms) {
+        // Sem repetições: o mesmo digest da thread não pode receber os dados duas vezes
+        Set<String> names = new LinkedHashSet<>();
+        if (algorithms == null || algorithms.isBlank()) {
+            names.addAll(DEFAULT_ALGORITHMS);
+        } else {
+            for (String name : algorithms.split(",")) {
+                names.add(normalizeAlgorithm(name));
+            }
+        }
+        if (names.size() > MAX_ALGORITHMS) {
+            throw new IllegalArgumentException("Máximo de " + MAX_ALGORITHMS + " algoritmos por requisição");
+        }
+
+        List<StreamingHash> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            result.add(hash(name));
+        }
+        return result;
+    }
+
+    /**
+     * Hash da thread atual para o algoritmo, já zerado. Uma instância nunca é
+     * usada por duas threads, então não há sincronização.
+     */
+    private StreamingHash hash(String algorithm) {
+        if (algorithm == null || algorithm.isBlank()) {
+            throw new IllegalArgumentException("Informe o algoritmo");
+        }
+        String name = normalizeAlgorithm(algorithm);
+        Map<String, StreamingHash> threadHashes = hashes.get();
+        StreamingHash hash = threadHashes.get(name);
+        if (hash == null) {
+            hash = create(name, algorithm.trim());
+            threadHashes.put(name, hash);
+        } else {
+            hash.reset();
+        }
+        return hash;
+    }
+
+    private static StreamingHash create(String name, String requested) {
+        Supplier<StreamingHash> nonCrypto = NON_CRYPTO_HASHES.get(name);
+        if (nonCrypto != null) {
+            return nonCrypto.get();
+        }
+        try {
+            return StreamingHash.of(MessageDigest.getInstance(name));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Algoritmo não suportado: " + requested);
+        }
+    }
+
+    private static String hashBytes(StreamingHash hash, byte[] content) {
+        hash.update(ByteBuffer.wrap(content));
+        return HEX.formatHex(hash.finish());
+    }
+
+    /**
+     * Converte grafias comuns para o nome padrão: "sha256" vira "SHA-256" e
+     * "xxh64" vira "XXHASH64", assim o cache por thread não guarda duas instâncias
+     * do mesmo algoritmo.
+     */
+    static String normalizeAlgorithm(String algorithm) {
+        String name = algorithm.trim().toUpperCase(Locale.ROOT);
+        String nonCrypto = NON_CRYPTO_ALIASES.get(name.replaceAll("[^A-Z0-9]", ""));
+        if (nonCrypto != null) {
+            return nonCrypto;
+        }
+        if (name.length() > 3 && name.startsWith("SHA") && Character.isDigit(name.charAt(3)) && !name.startsWith("SHA3")) {
+            return "SHA-" + name.substring(3);
+        }
+        return name;
+    }
+
+    private static Map<String, Object> result(List<StreamingHash> digests, long bytes, String mode, long startTime) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (StreamingHash digest : digests) {
+            values.put(digest.name(), HEX.formatHex(digest.finish()));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hashes", values);
+        result.put("size", bytes);
+        result.put("mode", mode);
+        putTiming(result, bytes, startTime);
+        return result;
+    }
+
+    private static void putTiming(Map<String, Object> result, long bytes, long startNanos) {
+        long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+        double throughput = bytes / BYTES_PER_MB / (elapsedNanos / 1e9);
+        result.put("elapsedMs", elapsedNanos / 1_000_000);
+        result.put("throughputMBps", Math.round(throughput * 10) / 10.0);
+    }
+}
@@ -0,0 +1,389 @@
+package com.ferramentas.toolhub.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diff estrutural entre dois documentos JSON, com saída em JSON Patch (RFC 6902).
+ * Cada subárvore recebe um hash de 64 bits calculado uma única vez (objetos sem
+ * depender da ordem das chaves), então ramos idênticos são descartados em O(1)
+ * e o custo fica proporcional ao tamanho das partes que realmente mudaram.
+ */
+@Service
+public class JsonDiffService {
+
+    private static final long OBJECT_TAG = 0x4F424A454354L;
+    private static final long ARRAY_TAG = 0x4152524159L;
+    private static final long STRING_TAG = 0x535452494E47L;
+    private static final long NUMBER_TAG = 0x4E554D424552L;
+    private static final long KEY_TAG = 0x4B4559L;
+    private static final long TRUE_HASH = mix(0x54525545L);
+    private static final long FALSE_HASH = mix(0x46414C5345L);
+    private static final long NULL_HASH = mix(0x4E554C4CL);
+
+    private static final int EQUAL = 0;
+    private static final int DELETE = 1;
+    private static final int INSERT = 2;
+
+    // Acima disso o alinhamento de um array cai para comparação posição a posição
+    @Value("${JSON_DIFF_MAX_EDIT_DISTANCE:2000}")
+    private int maxEditDistance;
+
+    public Map<String, Object> diff(JsonNode source, JsonNode target, String arrayKey) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Informe os documentos source e target");
+        }
+
+        long startTime = System.currentTimeMillis();
+        Diff diff = new Diff(arrayKey == null || arrayKey.isBlank() ? null : arrayKey);
+        diff.compare(source, target, "");
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("identical", diff.patch.isEmpty());
+        summary.put("operations", diff.patch.size());
+        summary.put("added", diff.added);
+        summary.put("removed", diff.removed);
+        summary.put("replaced", diff.replaced);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("patch", diff.patch);
+        result.put("summary", summary);
+        result.put("elapsedMs", System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    private final class Diff {
+
+        private final String arrayKey;
+        private final ArrayNode patch = JsonNodeFactory.instance.arrayNode();
+        // Só os contêineres são guardados: hash de escalar é barato de recalcular
+        private final Map<JsonNode, Long> hashes = new IdentityHashMap<>();
+        private int added;
+        private int removed;
+        private int replaced;
+
+        private Diff(String arrayKey) {
+            this.arrayKey = arrayKey;
+        }
+
+        private void compare(JsonNode source, JsonNode target, String path) {
+            if (hash(source) == hash(target) && (source.isContainerNode() || sameScalar(source, target))) {
+                return;
+            }
+            if (source.isObject() && target.isObject()) {
+                compareObjects(source, target, path);
+            } else if (source.isArray() && target.isArray()) {
+                compareArrays(source, target, path);
+            } else {
+                replace(path, target);
+            }
+        }
+
+        private void compareObjects(JsonNode source, JsonNode target, String path) {
+            Iterator<Map.Entry<String, JsonNode>> fields = source.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode targetValue = target.get(field.getKey());
+                String fieldPath = path + "/" + escape(field.getKey());
+                if (targetValue == null) {
+                    remove(fieldPath);
+                } else {
+                    compare(field.getValue(), targetValue, fieldPath);
+                }
+            }
+            Iterator<Map.Entry<String, JsonNode>> targetFields = target.fields();
+            while (targetFields.hasNext()) {
+                Map.Entry<String, JsonNode> field = targetFields.next();
+                if (!source.has(field.getKey())) {
+                    add(path + "/" + escape(field.getKey()), field.getValue());
+                }
+            }
+        }
+
+        /**
+         * Alinha os elementos pela maior subsequência comum (Myers, O((N+M)·D)) sobre a
+         * identidade de cada elemento: o hash do valor ou, com {@code arrayKey}, o
+         * hash da chave. Prefixo e sufixo comuns são removidos antes. Elementos
+         * alinhados são comparados recursivamente; um trecho com remoções seguidas de
+         * inserções vira, sempre que possível, uma modificação no lugar.
+         * {@code index} acompanha a posição no array já transformado pelas operações
+         * anteriores, como exige a aplicação sequencial do patch.
+         */
+        private void compareArrays(JsonNode source, JsonNode target, String path) {
+            int n = source.size();
+            int m = target.size();
+            long[] sourceIds = new long[n];
+            long[] targetIds = new long[m];
+            for (int i = 0; i < n; i++) {
+                sourceIds[i] = identity(source.get(i));
+            }
+            for (int j = 0; j < m; j++) {
+                targetIds[j] = identity(target.get(j));
+            }
+
+            int prefix = 0;
+            while (prefix < n && prefix < m && sourceIds[prefix] == targetIds[prefix]) {
+                compare(source.get(prefix), target.get(prefix), path + "/" + prefix);
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < n - prefix && suffix < m - prefix
+                && sourceIds[n - 1 - suffix] == targetIds[m - 1 - suffix]) {
+                suffix++;
+            }
+
+            int[][] script = align(
+                Arrays.copyOfRange(sourceIds, prefix, n - suffix),
+                Arrays.copyOfRange(targetIds, prefix, m - suffix));
+
+            int index = prefix;
+            List<Integer> deleted = new ArrayList<>();
+            List<Integer> inserted = new ArrayList<>();
+            for (int[] op : script) {
+                if (op[0] == DELETE) {
+                    deleted.add(prefix + op[1]);
+                } else if (op[0] == INSERT) {
+                    inserted.add(prefix + op[2]);
+                } else {
+                    index = applyRun(source, target, path, index, deleted, inserted);
+                    compare(source.get(prefix + op[1]), target.get(prefix + op[2]), path + "/" + index);
+                    index++;
+                }
+            }
+            index = applyRun(source, target, path, index, deleted, inserted);
+
+            for (int k = 0; k < suffix; k++) {
+                compare(source.get(n - suffix + k), target.get(m - suffix + k), path + "/" + index);
+                index++;
+            }
+        }
+
+        private int applyRun(JsonNode source, JsonNode target, String path, int index,
+                             List<Integer> deleted, List<Integer> inserted) {
+            int paired = 0;
+            while (paired < deleted.size() && paired < inserted.size()
+                && !keyed(source.get(deleted.get(paired))) && !keyed(target.get(inserted.get(paired)))) {
+                compare(source.get(deleted.get(paired)), target.get(inserted.get(paired)), path + "/" + index);
+                index++;
+                paired++;
+            }
+            for (int k = paired; k < deleted.size(); k++) {
+                remove(path + "/" + index);
+            }
+            for (int k = paired; k < inserted.size(); k++) {
+                add(path + "/" + index, target.get(inserted.get(k)));
+                index++;
+            }
+            deleted.clear();
+            inserted.clear();
+            return index;
+        }
+
+        /**
+         * Script de edição de Myers como linhas {operação, índice em a, índice em b}.
+         * Se a distância de edição passar do limite, alinha posição a posição.
+         */
+        private int[][] align(long[] a, long[] b) {
+            int n = a.length;
+            int m = b.length;
+            int limit = Math.min(n + m, maxEditDistance);
+            int offset = limit + 1;
+            int[] v = new int[2 * limit + 3];
+            List<int[]> trace = new ArrayList<>();
+
+            int distance = -1;
+            search:
+            for (int d = 0; d <= limit; d++) {
+                trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+                for (int k = -d; k <= d; k += 2) {
+                    int x = k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])
+                        ? v[offset + k + 1]
+                        : v[offset + k - 1] + 1;
+                    int y = x - k;
+                    while (x < n && y < m && a[x] == b[y]) {
+                        x++;
+                        y++;
+                    }
+                    v[offset + k] = x;
+                    if (x >= n && y >= m) {
+                        distance = d;
+                        break search;
+                    }
+                }
+            }
+
+            List<int[]> script = new ArrayList<>();
+            if (distance < 0) {
+                // Sem alinhamento dentro do limite: remoções e inserções viram modificações no lugar
+                for (int i = 0; i < n; i++) {
+                    script.add(new int[] { DELETE, i, -1 });
+                }
+                for (int j = 0; j < m; j++) {
+                    script.add(new int[] { INSERT, -1, j });
+                }
+                return script.toArray(new int[0][]);
+            }
+
+            int x = n;
+            int y = m;
+            for (int d = distance; d > 0; d--) {
+                int[] previous = trace.get(d);
+                int k = x - y;
+                int previousK = k == -d || (k != d && previous[k - 1 + d] < previous[k + 1 + d]) ? k + 1 : k - 1;
+                int previousX = previous[previousK + d];
+                int previousY = previousX - previousK;
+                while (x > previousX && y > previousY) {
+                    script.add(new int[] { EQUAL, --x, --y });
+                }
+                if (x == previousX) {
+                    script.add(new int[] { INSERT, -1, --y });
+                } else {
+                    script.add(new int[] { DELETE, --x, -1 });
+                }
+            }
+            while (x > 0 && y > 0) {
+                script.add(new int[] { EQUAL, --x, --y });
+            }
+
+            int[][] ordered = new int[script.size()][];
+            for (int i = 0; i < ordered.length; i++) {
+                ordered[i] = script.get(ordered.length - 1 - i);
+            }
+            return ordered;
+        }
+
+        private boolean keyed(JsonNode element) {
+            if (arrayKey == null || !element.isObject()) {
+                return false;
+            }
+            JsonNode key = element.get(arrayKey);
+            return key != null && key.isValueNode();
+        }
+
+        private long identity(JsonNode element) {
+            return keyed(element) ? mix(KEY_TAG ^ hash(element.get(arrayKey))) : hash(element);
+        }
+
+        private long hash(JsonNode node) {
+            if (node.isContainerNode()) {
+                Long cached = hashes.get(node);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
+            long hash;
+            switch (node.getNodeType()) {
+                case OBJECT: {
+                    // Soma dos pares chave/valor: não depende da ordem das chaves
+                    long sum = 0;
+                    Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                    while (fields.hasNext()) {
+                        Map.Entry<String, JsonNode> field = fields.next();
+                        sum += mix(hashText(field.getKey()) * 31 + hash(field.getValue()));
+                    }
+                    hash = mix(sum ^ OBJECT_TAG);
+                    break;
+                }
+                case ARRAY: {
+                    long combined = ARRAY_TAG;
+                    for (JsonNode element : node) {
+                        combined = combined * 0x100000001B3L + hash(element);
+                    }
+                    hash = mix(combined ^ node.size());
+                    break;
+                }
+                case STRING:
+                    hash = mix(hashText(node.textValue()) ^ STRING_TAG);
+                    break;
+                case NUMBER:
+                    hash = hashNumber(node);
+                    break;
+                case BOOLEAN:
+                    hash = node.booleanValue() ? TRUE_HASH : FALSE_HASH;
+                    break;
+                case NULL:
+                    hash = NULL_HASH;
+                    break;
+                default:
+                    hash = mix(hashText(node.toString()));
+            }
+
+            if (node.isContainerNode()) {
+                hashes.put(node, hash);
+            }
+            return hash;
+        }
+
+        private void add(String path, JsonNode value) {
+            ObjectNode op = patch.addObject();
+            op.put("op", "add");
+            op.put("path", path);
+            op.set("value", value);
+            added++;
+        }
+
+        private void remove(String path) {
+            ObjectNode op = patch.addObject();
+            op.put("op", "remove");
+            op.put("path", path);
+            removed++;
+        }
+
+        private void replace(String path, JsonNode value) {
+            ObjectNode op = patch.addObject();
+            op.put("op", "replace");
+            op.put("path", path);
+            op.set("value", value);
+            replaced++;
+        }
+    }
+
+    private static boolean sameScalar(JsonNode source, JsonNode target) {
+        if (source.isNumber() && target.isNumber()) {
+            return source.decimalValue().compareTo(target.decimalValue()) == 0;
+        }
+        return source.equals(target);
+    }
+
+    // 1, 1.0 e 1e0 são o mesmo número em JSON; inteiros evitam a conversão para BigDecimal
+    private static long hashNumber(JsonNode number) {
+        if (number.canConvertToExactIntegral() && number.canConvertToLong()) {
+            return mix(number.longValue() ^ NUMBER_TAG);
+        }
+        return mix(hashText(number.decimalValue().stripTrailingZeros().toPlainString()) ^ NUMBER_TAG);
+    }
+
+    // JSON Pointer (RFC 6901): "~" vira "~0" e "/" vira "~1"
+    private static String escape(String key) {
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static long hashText(String text) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,12 +1,24 @@
 package com.ferramentas.toolhub.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.SignatureException;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
@@ -14,8 +26,13 @@ import java.util.Map;
 @Service
 public class JsonJwtService {
 
+    private static final int MAX_INDENT = 8;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    // ObjectReader é imutável: um só serve para todas as requisições e threads
+    private final ObjectReader mapReader = objectMapper.readerFor(Map.class);
+
     public Map<String, Object> parseJwt(String jwt) {
         Map<String, Object> result = new HashMap<>();
 
@@ -23,23 +40,12 @@ public class JsonJwtService {
             // Remove "Bearer " se presente
             jwt = jwt.replace("Bearer ", "").trim();
 
-            // Divide o JWT em suas partes
-            String[] parts = jwt.split("\\.");
-
-            if (parts.length != 3) {
-                throw new IllegalArgumentException("JWT inválido. Deve conter 3 partes separadas por '.'");
-            }
-
-            // Decodifica o Header
-            String header = new String(Base64.getUrlDecoder().decode(parts[0]));
-            result.put("header", objectMapper.readValue(header, Map.class));
-
-            // Decodifica o Payload
-            String payload = new String(Base64.getUrlDecoder().decode(parts[1]));
-            result.put("payload", objectMapper.readValue(payload, Map.class));
+            DecodedJwt decoded = decodeJwt(jwt);
+            result.put("header", decoded.header());
+            result.put("payload", decoded.payload());
 
             // A assinatura é mantida em Base64
-            result.put("signature", parts[2]);
+            result.put("signature", decoded.signature());
 
             // Adiciona o JWT original
             result.put("raw", jwt);
@@ -59,6 +65,28 @@ public class JsonJwtService {
         return result;
     }
 
+    /**
+     * Decodifica header e payload direto dos bytes Base64URL, localizando os pontos
+     * com indexOf em vez de split por regex e sem montar Strings intermediárias.
+     */
+    public DecodedJwt decodeJwt(String jwt) throws IOException {
+        int first = jwt.indexOf('.');
+        int second = first < 0 ? -1 : jwt.indexOf('.', first + 1);
+        if (second < 0 || jwt.indexOf('.', second + 1) >= 0) {
+            throw new IllegalArgumentException("JWT inválido. Deve conter 3 partes separadas por '.'");
+        }
+
+        byte[] ascii = jwt.getBytes(StandardCharsets.ISO_8859_1);
+        Map<String, Object> header = readSegment(ascii, 0, first);
+        Map<String, Object> payload = readSegment(ascii, first + 1, second);
+        return new DecodedJwt(header, payload, jwt.substring(second + 1));
+    }
+
+    private Map<String, Object> readSegment(byte[] ascii, int from, int to) throws IOException {
+        ByteBuffer decoded = Base64.getUrlDecoder().decode(ByteBuffer.wrap(ascii, from, to - from));
+        return mapReader.readValue(decoded.array(), decoded.arrayOffset() + decoded.position(), decoded.remaining());
+    }
+
     public Object parseJson(String json) {
         try {
             // Tenta parsear como objeto
@@ -69,6 +97,14 @@ public class JsonJwtService {
     }
 
     public Map<String, Object> formatJson(String json, boolean prettify) {
+        return formatJson(json, prettify, true);
+    }
+
+    /**
+     * Com {@code includeParsed = false} a resposta não repete o documento como
+     * objeto, evitando serializá-lo duas vezes.
+     */
+    public Map<String, Object> formatJson(String json, boolean prettify, boolean includeParsed) {
         Map<String, Object> result = new HashMap<>();
         try {
             Object parsed = objectMapper.readValue(json, Object.class);
@@ -79,7 +115,9 @@ public class JsonJwtService {
                 result.put("formatted", objectMapper.writeValueAsString(parsed));
             }
 
-            result.put("parsed", parsed);
+            if (includeParsed) {
+                result.put("parsed", parsed);
+            }
             result.put("valid", true);
         } catch (Exception e) {
             result.put("valid", false);
@@ -87,5 +125,62 @@ public class JsonJwtService {
         }
         return result;
     }
-}
 
+    /**
+     * Valida as opções de formatação antes de a resposta começar a ser escrita.
+     */
+    public FormatOptions prepareStreamFormat(Boolean prettify, Integer indent, Boolean useTabs) {
+        int indentSize = indent != null ? indent : 2;
+        if (indentSize < 0 || indentSize > MAX_INDENT) {
+            throw new IllegalArgumentException("indent deve estar entre 0 e " + MAX_INDENT);
+        }
+        return new FormatOptions(prettify == null || prettify, indentSize, Boolean.TRUE.equals(useTabs));
+    }
+
+    /**
+     * Formata ou minifica o JSON copiando token a token do parser para o gerador,
+     * sem montar a árvore do documento: a memória usada não depende do tamanho da
+     * entrada. Vários valores na raiz (ex: NDJSON) saem um por linha. Números são
+     * copiados como texto, sem perder precisão.
+     * Se a entrada for inválida no meio do documento a resposta já foi iniciada,
+     * então o erro interrompe a conexão em vez de devolver 400.
+     */
+    public void streamFormatJson(InputStream in, OutputStream out, FormatOptions options) throws IOException {
+        JsonFactory factory = objectMapper.getFactory();
+        try (JsonParser parser = factory.createParser(in);
+             JsonGenerator generator = factory.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            if (options.prettify()) {
+                generator.setPrettyPrinter(prettyPrinter(options));
+            }
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    generator.writeNumber(parser.getText());
+                } else {
+                    generator.copyCurrentEvent(parser);
+                }
+                if (parser.getParsingContext().inRoot()) {
+                    generator.writeRaw('\n');
+                }
+            }
+            generator.flush();
+        }
+    }
+
+    private DefaultPrettyPrinter prettyPrinter(FormatOptions options) {
+        String unit = options.useTabs() ? "\t" : " ";
+        DefaultIndenter indenter = new DefaultIndenter(unit.repeat(options.indent()), "\n");
+        return new DefaultPrettyPrinter()
+            .withRootSeparator((String) null)
+            .withObjectIndenter(indenter)
+            .withArrayIndenter(indenter);
+    }
+
+    public record FormatOptions(boolean prettify, int indent, boolean useTabs) {
+    }
+
+    public record DecodedJwt(Map<String, Object> header, Map<String, Object> payload, String signature) {
+    }
+}
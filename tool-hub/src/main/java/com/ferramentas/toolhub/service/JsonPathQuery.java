@@ -0,0 +1,337 @@
+package com.ferramentas.toolhub.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Subconjunto de JSONPath compilado uma única vez em uma lista de passos:
+ * {@code $.a.b}, {@code $['a']}, {@code $.a[0]}, {@code $.a[*]}, {@code $.a.*} e
+ * filtros sobre campos escalares, como {@code $.items[?(@.price > 10 && @.tag == 'x')].id}.
+ * Descida recursiva ({@code ..}) não é suportada: ela obrigaria a visitar o
+ * documento inteiro, sem poder pular subárvores.
+ */
+public final class JsonPathQuery {
+
+    public static final int MAX_EXPRESSION_LENGTH = 1000;
+
+    private final String expression;
+    private final List<Step> steps;
+
+    private JsonPathQuery(String expression, List<Step> steps) {
+        this.expression = expression;
+        this.steps = List.copyOf(steps);
+    }
+
+    public static JsonPathQuery compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Informe a expressão JSONPath");
+        }
+        if (expression.length() > MAX_EXPRESSION_LENGTH) {
+            throw new IllegalArgumentException("Expressão muito longa (máximo de " + MAX_EXPRESSION_LENGTH + " caracteres)");
+        }
+        String trimmed = expression.trim();
+        return new JsonPathQuery(trimmed, new Compiler(trimmed).compile());
+    }
+
+    public String expression() {
+        return expression;
+    }
+
+    public int size() {
+        return steps.size();
+    }
+
+    public Step step(int index) {
+        return steps.get(index);
+    }
+
+    public enum Kind {
+        FIELD, INDEX, WILDCARD, FILTER
+    }
+
+    /**
+     * Um passo do caminho. Só os campos do tipo correspondente são usados:
+     * {@code name} em FIELD, {@code index} em INDEX e {@code conditions} em FILTER.
+     */
+    public record Step(Kind kind, String name, int index, List<Condition> conditions) {
+
+        /**
+         * Indica se o filtro aceita o elemento; todas as condições precisam ser verdadeiras.
+         */
+        public boolean accepts(JsonNode element) {
+            for (Condition condition : conditions) {
+                if (!condition.test(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public enum Operator {
+        EXISTS, EQ, NE, LT, LE, GT, GE
+    }
+
+    /**
+     * Comparação de um campo do elemento ({@code @.a.b}) com um literal. Campos
+     * ausentes ou de tipo diferente do literal nunca satisfazem a condição.
+     */
+    public record Condition(List<String> field, Operator operator, Object literal) {
+
+        public boolean test(JsonNode element) {
+            JsonNode value = element;
+            for (String name : field) {
+                value = value.get(name);
+                if (value == null) {
+                    return false;
+                }
+            }
+            if (operator == Operator.EXISTS) {
+                return true;
+            }
+
+            Integer comparison = compare(value);
+            if (comparison == null) {
+                return operator == Operator.NE && !value.isContainerNode();
+            }
+            switch (operator) {
+                case EQ:
+                    return comparison == 0;
+                case NE:
+                    return comparison != 0;
+                case LT:
+                    return comparison < 0;
+                case LE:
+                    return comparison <= 0;
+                case GT:
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+
+        private Integer compare(JsonNode value) {
+            if (literal instanceof BigDecimal number && value.isNumber()) {
+                return value.decimalValue().compareTo(number);
+            }
+            if (literal instanceof String text && value.isTextual()) {
+                return value.textValue().compareTo(text);
+            }
+            if (operator != Operator.EQ && operator != Operator.NE) {
+                return null;
+            }
+            if (literal instanceof Boolean bool && value.isBoolean()) {
+                return value.booleanValue() == bool ? 0 : 1;
+            }
+            if (literal == null && value.isNull()) {
+                return 0;
+            }
+            return null;
+        }
+    }
+
+    private static final class Compiler {
+
+        private final String text;
+        private int pos;
+
+        private Compiler(String text) {
+            this.text = text;
+        }
+
+        private List<Step> compile() {
+            expect('$');
+            List<Step> steps = new ArrayList<>();
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (c == '.') {
+                    pos++;
+                    if (peek('.')) {
+                        throw error("Descida recursiva (..) não é suportada");
+                    }
+                    if (peek('*')) {
+                        pos++;
+                        steps.add(new Step(Kind.WILDCARD, null, -1, List.of()));
+                    } else {
+                        steps.add(new Step(Kind.FIELD, readName(), -1, List.of()));
+                    }
+                } else if (c == '[') {
+                    pos++;
+                    steps.add(readBracket());
+                    expect(']');
+                } else {
+                    throw error("Caractere inesperado '" + c + "'");
+                }
+            }
+            return steps;
+        }
+
+        private Step readBracket() {
+            skipSpaces();
+            Step step;
+            if (peek('*')) {
+                pos++;
+                step = new Step(Kind.WILDCARD, null, -1, List.of());
+            } else if (peek('\'') || peek('"')) {
+                step = new Step(Kind.FIELD, readQuoted(), -1, List.of());
+            } else if (peek('?')) {
+                pos++;
+                skipSpaces();
+                expect('(');
+                step = new Step(Kind.FILTER, null, -1, readConditions());
+                skipSpaces();
+                expect(')');
+            } else {
+                int start = pos;
+                while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                    pos++;
+                }
+                if (start == pos) {
+                    throw error("Índice, nome entre aspas, '*' ou filtro esperado");
+                }
+                try {
+                    step = new Step(Kind.INDEX, null, Integer.parseInt(text.substring(start, pos)), List.of());
+                } catch (NumberFormatException e) {
+                    throw error("Índice muito grande");
+                }
+            }
+            skipSpaces();
+            return step;
+        }
+
+        private List<Condition> readConditions() {
+            List<Condition> conditions = new ArrayList<>();
+            do {
+                skipSpaces();
+                conditions.add(readCondition());
+                skipSpaces();
+            } while (consume("&&"));
+            return conditions;
+        }
+
+        private Condition readCondition() {
+            expect('@');
+            List<String> field = new ArrayList<>();
+            while (peek('.') || peek('[')) {
+                if (text.charAt(pos++) == '.') {
+                    field.add(readName());
+                } else {
+                    skipSpaces();
+                    field.add(readQuoted());
+                    skipSpaces();
+                    expect(']');
+                }
+            }
+            if (field.isEmpty()) {
+                throw error("Campo do filtro esperado após '@'");
+            }
+
+            skipSpaces();
+            Operator operator;
+            if (consume("==")) {
+                operator = Operator.EQ;
+            } else if (consume("!=")) {
+                operator = Operator.NE;
+            } else if (consume("<=")) {
+                operator = Operator.LE;
+            } else if (consume(">=")) {
+                operator = Operator.GE;
+            } else if (consume("<")) {
+                operator = Operator.LT;
+            } else if (consume(">")) {
+                operator = Operator.GT;
+            } else {
+                return new Condition(List.copyOf(field), Operator.EXISTS, null);
+            }
+            skipSpaces();
+            return new Condition(List.copyOf(field), operator, readLiteral());
+        }
+
+        private Object readLiteral() {
+            if (peek('\'') || peek('"')) {
+                return readQuoted();
+            }
+            if (consume("true")) {
+                return Boolean.TRUE;
+            }
+            if (consume("false")) {
+                return Boolean.FALSE;
+            }
+            if (consume("null")) {
+                return null;
+            }
+            int start = pos;
+            while (pos < text.length() && "+-.eE0123456789".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            try {
+                return new BigDecimal(text.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw error("Literal inválido no filtro");
+            }
+        }
+
+        private String readName() {
+            int start = pos;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (!Character.isLetterOrDigit(c) && c != '_' && c != '$' && c != '-') {
+                    break;
+                }
+                pos++;
+            }
+            if (start == pos) {
+                throw error("Nome de campo esperado");
+            }
+            return text.substring(start, pos);
+        }
+
+        private String readQuoted() {
+            char quote = text.charAt(pos++);
+            StringBuilder value = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == quote) {
+                    return value.toString();
+                }
+                if (c == '\\' && pos < text.length()) {
+                    c = text.charAt(pos++);
+                }
+                value.append(c);
+            }
+            throw error("Aspas não fechadas");
+        }
+
+        private boolean peek(char c) {
+            return pos < text.length() && text.charAt(pos) == c;
+        }
+
+        private boolean consume(String token) {
+            if (text.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!peek(c)) {
+                throw error("'" + c + "' esperado");
+            }
+            pos++;
+        }
+
+        private void skipSpaces() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("JSONPath inválido na posição " + pos + ": " + message);
+        }
+    }
+}
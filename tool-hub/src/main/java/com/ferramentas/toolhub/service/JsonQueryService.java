@@ -0,0 +1,168 @@
+package com.ferramentas.toolhub.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@Service
+public class JsonQueryService {
+
+    private static final int FLUSH_EVERY = 100;
+
+    // BigDecimal nos filtros: comparações e valores emitidos mantêm a precisão original
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+        .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false);
+
+    @Value("${JSON_QUERY_MAX_RESULTS:1000000}")
+    private int maxResults;
+
+    /**
+     * Compila a expressão antes de a resposta começar, para que erros de sintaxe
+     * ainda possam ser respondidos com 400.
+     */
+    public Query prepareQuery(String path, Integer limit) {
+        JsonPathQuery query = JsonPathQuery.compile(path);
+        int maxMatches = limit != null && limit > 0 ? Math.min(limit, maxResults) : maxResults;
+        return new Query(query, maxMatches);
+    }
+
+    /**
+     * Percorre o documento com o parser de streaming e escreve cada valor encontrado
+     * em uma linha NDJSON assim que ele é lido. Subárvores que não podem casar com o
+     * próximo passo são puladas com {@code skipChildren}; só os elementos avaliados
+     * por um filtro são lidos como árvore, um de cada vez. Vários valores na raiz
+     * (ex: NDJSON) são consultados um a um. A leitura para ao atingir o limite.
+     */
+    public void streamQuery(Query query, InputStream in, OutputStream out) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            Matches matches = new Matches(generator, query.limit());
+            while (!matches.done() && parser.nextToken() != null) {
+                evaluate(parser, query.path(), 0, matches);
+            }
+            generator.flush();
+        }
+    }
+
+    /**
+     * Avalia o passo {@code step} sobre o valor atual do parser, que deve estar no
+     * primeiro token do valor. Ao retornar, o parser está no último token dele, a
+     * menos que o limite tenha sido atingido: aí a leitura é abandonada no meio.
+     */
+    private void evaluate(JsonParser parser, JsonPathQuery path, int step, Matches matches) throws IOException {
+        if (step == path.size()) {
+            matches.emit(parser);
+            return;
+        }
+
+        JsonToken token = parser.currentToken();
+        JsonPathQuery.Step current = path.step(step);
+        if (token == JsonToken.START_OBJECT) {
+            if (current.kind() == JsonPathQuery.Kind.INDEX) {
+                parser.skipChildren();
+                return;
+            }
+            while (!matches.done() && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (current.kind() == JsonPathQuery.Kind.WILDCARD
+                    || (current.kind() == JsonPathQuery.Kind.FIELD && current.name().equals(name))) {
+                    evaluate(parser, path, step + 1, matches);
+                } else if (current.kind() == JsonPathQuery.Kind.FILTER) {
+                    filter(parser, path, step, matches);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            if (current.kind() == JsonPathQuery.Kind.FIELD) {
+                parser.skipChildren();
+                return;
+            }
+            int index = 0;
+            while (!matches.done() && parser.nextToken() != JsonToken.END_ARRAY) {
+                if (current.kind() == JsonPathQuery.Kind.WILDCARD
+                    || (current.kind() == JsonPathQuery.Kind.INDEX && current.index() == index)) {
+                    evaluate(parser, path, step + 1, matches);
+                } else if (current.kind() == JsonPathQuery.Kind.FILTER) {
+                    filter(parser, path, step, matches);
+                } else {
+                    parser.skipChildren();
+                }
+                index++;
+            }
+        }
+        // Valores escalares não têm filhos: nada casa com o passo atual
+    }
+
+    private void filter(JsonParser parser, JsonPathQuery path, int step, Matches matches) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        JsonNode element = objectMapper.readTree(parser);
+        if (path.step(step).accepts(element)) {
+            try (JsonParser elementParser = element.traverse(objectMapper)) {
+                elementParser.nextToken();
+                evaluate(elementParser, path, step + 1, matches);
+            }
+        }
+    }
+
+    public record Query(JsonPathQuery path, int limit) {
+    }
+
+    private static final class Matches {
+
+        private final JsonGenerator generator;
+        private final int limit;
+        private int count;
+
+        private Matches(JsonGenerator generator, int limit) {
+            this.generator = generator;
+            this.limit = limit;
+        }
+
+        private boolean done() {
+            return count >= limit;
+        }
+
+        /**
+         * Copia o valor atual para a saída. Números são copiados como texto para
+         * não perder precisão.
+         */
+        private void emit(JsonParser parser) throws IOException {
+            int depth = 0;
+            JsonToken token = parser.currentToken();
+            do {
+                if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    generator.writeNumber(parser.getText());
+                } else {
+                    generator.copyCurrentEvent(parser);
+                }
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+            } while (depth > 0 && (token = parser.nextToken()) != null);
+
+            generator.writeRaw('\n');
+            if (++count % FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.ferramentas.toolhub.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.victools.jsonschema.generator.SchemaKeyword;
+import com.github.victools.jsonschema.generator.SchemaVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Infere um JSON Schema a partir de amostras lidas com o parser de streaming.
+ * Cada valor é incorporado a um resumo por posição do esquema (tipos vistos,
+ * frequência de cada campo, valores distintos até o limite de enum), então a
+ * memória depende do tamanho do esquema e não do volume de dados. As palavras-chave
+ * vêm do vocabulário do jsonschema-generator para a versão pedida.
+ */
+@Service
+public class JsonSchemaInferenceService {
+
+    private static final Map<String, SchemaVersion> VERSIONS = Map.of(
+        "draft-07", SchemaVersion.DRAFT_7,
+        "2019-09", SchemaVersion.DRAFT_2019_09,
+        "2020-12", SchemaVersion.DRAFT_2020_12
+    );
+
+    private static final int DEFAULT_ENUM_THRESHOLD = 10;
+    private static final int MAX_ENUM_THRESHOLD = 100;
+    private static final int MAX_ENUM_VALUE_LENGTH = 100;
+
+    private static final String NO_FORMAT = "";
+    private static final Map<String, Pattern> FORMATS = new LinkedHashMap<>();
+
+    static {
+        FORMATS.put("date-time", Pattern.compile(
+            "^\\d{4}-\\d{2}-\\d{2}[Tt ]\\d{2}:\\d{2}:\\d{2}(\\.\\d+)?([Zz]|[+-]\\d{2}:?\\d{2})?$"));
+        FORMATS.put("date", Pattern.compile("^\\d{4}-\\d{2}-\\d{2}$"));
+        FORMATS.put("uuid", Pattern.compile(
+            "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$"));
+        FORMATS.put("email", Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$"));
+        FORMATS.put("uri", Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]*://\\S+$"));
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Campos distintos guardados por objeto; chaves dinâmicas (ids como chave) param aqui
+    @Value("${JSON_SCHEMA_MAX_PROPERTIES:1000}")
+    private int maxProperties;
+
+    /**
+     * Lê todas as amostras de {@code in}: um documento JSON ou vários valores na raiz
+     * (NDJSON). Cada valor da raiz é uma amostra.
+     */
+    public Map<String, Object> inferSchema(InputStream in, String version, Integer enumThreshold,
+                                           Double requiredThreshold) throws IOException {
+        SchemaVersion schemaVersion = VERSIONS.get(version == null || version.isBlank()
+            ? "2020-12"
+            : version.trim().toLowerCase(Locale.ROOT));
+        if (schemaVersion == null) {
+            throw new IllegalArgumentException("Versão inválida: " + version
+                + ". Versões suportadas: " + String.join(", ", VERSIONS.keySet()));
+        }
+        int enumLimit = enumThreshold != null ? enumThreshold : DEFAULT_ENUM_THRESHOLD;
+        if (enumLimit < 0 || enumLimit > MAX_ENUM_THRESHOLD) {
+            throw new IllegalArgumentException("enumThreshold deve estar entre 0 e " + MAX_ENUM_THRESHOLD);
+        }
+        double requiredRatio = requiredThreshold != null ? requiredThreshold : 1.0;
+        if (requiredRatio <= 0 || requiredRatio > 1) {
+            throw new IllegalArgumentException("requiredThreshold deve estar entre 0 (exclusivo) e 1");
+        }
+
+        long startTime = System.currentTimeMillis();
+        Observed root = new Observed();
+        long samples = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            while (parser.nextToken() != null) {
+                observe(parser, root, enumLimit);
+                samples++;
+            }
+        }
+        if (samples == 0) {
+            throw new IllegalArgumentException("Nenhuma amostra JSON recebida");
+        }
+
+        ObjectNode schema = JsonNodeFactory.instance.objectNode();
+        schema.put(SchemaKeyword.TAG_SCHEMA.forVersion(schemaVersion),
+            SchemaKeyword.TAG_SCHEMA_VALUE.forVersion(schemaVersion));
+        new SchemaWriter(schemaVersion, requiredRatio).write(root, schema);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("schema", schema);
+        result.put("samples", samples);
+        result.put("elapsedMs", System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * Incorpora o valor atual do parser ao resumo {@code node}. Ao retornar, o parser
+     * está no último token do valor.
+     */
+    private void observe(JsonParser parser, Observed node, int enumLimit) throws IOException {
+        node.count++;
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                node.objects++;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    Observed property = node.properties.get(name);
+                    if (property == null) {
+                        if (node.properties.size() >= maxProperties) {
+                            node.extraProperties = true;
+                            parser.skipChildren();
+                            continue;
+                        }
+                        property = new Observed();
+                        node.properties.put(name, property);
+                    }
+                    observe(parser, property, enumLimit);
+                }
+                break;
+            case START_ARRAY:
+                node.arrays++;
+                int size = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (node.items == null) {
+                        node.items = new Observed();
+                    }
+                    observe(parser, node.items, enumLimit);
+                    size++;
+                }
+                node.minItems = Math.min(node.minItems, size);
+                node.maxItems = Math.max(node.maxItems, size);
+                break;
+            case VALUE_STRING:
+                node.observeString(parser.getText(), enumLimit);
+                break;
+            case VALUE_NUMBER_INT:
+                node.integers++;
+                node.observeNumber(parser.getDoubleValue());
+                break;
+            case VALUE_NUMBER_FLOAT:
+                node.numbers++;
+                node.observeNumber(parser.getDoubleValue());
+                break;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                node.booleans++;
+                break;
+            default:
+                node.nulls++;
+        }
+    }
+
+    /**
+     * Resumo dos valores vistos em uma posição do esquema.
+     */
+    private static final class Observed {
+
+        private long count;
+        private long nulls;
+        private long booleans;
+        private long integers;
+        private long numbers;
+        private long strings;
+        private long objects;
+        private long arrays;
+
+        private final Map<String, Observed> properties = new LinkedHashMap<>();
+        private boolean extraProperties;
+
+        private Observed items;
+        private int minItems = Integer.MAX_VALUE;
+        private int maxItems;
+
+        private double minimum = Double.POSITIVE_INFINITY;
+        private double maximum = Double.NEGATIVE_INFINITY;
+
+        private int minLength = Integer.MAX_VALUE;
+        private int maxLength;
+        private String format;
+        // null quando a cardinalidade passa do limite: a posição deixa de ser candidata a enum
+        private Set<String> enumValues = new LinkedHashSet<>();
+
+        private void observeNumber(double value) {
+            minimum = Math.min(minimum, value);
+            maximum = Math.max(maximum, value);
+        }
+
+        private void observeString(String value, int enumLimit) {
+            strings++;
+            minLength = Math.min(minLength, value.length());
+            maxLength = Math.max(maxLength, value.length());
+
+            // Só o formato candidato é testado: um regex por valor
+            if (format == null) {
+                format = detectFormat(value);
+            } else if (!format.equals(NO_FORMAT) && !FORMATS.get(format).matcher(value).matches()) {
+                format = NO_FORMAT;
+            }
+
+            if (enumValues != null) {
+                if (value.length() > MAX_ENUM_VALUE_LENGTH
+                    || (enumValues.add(value) && enumValues.size() > enumLimit)) {
+                    enumValues = null;
+                }
+            }
+        }
+
+        private static String detectFormat(String value) {
+            for (Map.Entry<String, Pattern> format : FORMATS.entrySet()) {
+                if (format.getValue().matcher(value).matches()) {
+                    return format.getKey();
+                }
+            }
+            return NO_FORMAT;
+        }
+    }
+
+    private static final class SchemaWriter {
+
+        private final SchemaVersion version;
+        private final double requiredRatio;
+
+        private SchemaWriter(SchemaVersion version, double requiredRatio) {
+            this.version = version;
+            this.requiredRatio = requiredRatio;
+        }
+
+        private String keyword(SchemaKeyword keyword) {
+            return keyword.forVersion(version);
+        }
+
+        private void write(Observed node, ObjectNode schema) {
+            List<String> types = new ArrayList<>();
+            if (node.objects > 0) {
+                types.add(keyword(SchemaKeyword.TAG_TYPE_OBJECT));
+            }
+            if (node.arrays > 0) {
+                types.add(keyword(SchemaKeyword.TAG_TYPE_ARRAY));
+            }
+            if (node.strings > 0) {
+                types.add(keyword(SchemaKeyword.TAG_TYPE_STRING));
+            }
+            // "number" já inclui os inteiros
+            if (node.numbers > 0) {
+                types.add(keyword(SchemaKeyword.TAG_TYPE_NUMBER));
+            } else if (node.integers > 0) {
+                types.add(keyword(SchemaKeyword.TAG_TYPE_INTEGER));
+            }
+            if (node.booleans > 0) {
+                types.add(keyword(SchemaKeyword.TAG_TYPE_BOOLEAN));
+            }
+            if (node.nulls > 0) {
+                types.add(keyword(SchemaKeyword.TAG_TYPE_NULL));
+            }
+
+            if (types.size() == 1) {
+                schema.put(keyword(SchemaKeyword.TAG_TYPE), types.get(0));
+            } else if (!types.isEmpty()) {
+                ArrayNode typeArray = schema.putArray(keyword(SchemaKeyword.TAG_TYPE));
+                types.forEach(typeArray::add);
+            }
+
+            if (node.objects > 0) {
+                writeObject(node, schema);
+            }
+            if (node.arrays > 0) {
+                if (node.items != null) {
+                    write(node.items, schema.putObject(keyword(SchemaKeyword.TAG_ITEMS)));
+                }
+                schema.put(keyword(SchemaKeyword.TAG_ITEMS_MIN), node.minItems);
+                schema.put(keyword(SchemaKeyword.TAG_ITEMS_MAX), node.maxItems);
+            }
+            if (node.strings > 0) {
+                writeString(node, schema);
+            }
+            if (node.integers + node.numbers > 0) {
+                writeNumber(schema, SchemaKeyword.TAG_MINIMUM, node.minimum, node.numbers == 0);
+                writeNumber(schema, SchemaKeyword.TAG_MAXIMUM, node.maximum, node.numbers == 0);
+            }
+        }
+
+        private void writeObject(Observed node, ObjectNode schema) {
+            ObjectNode properties = schema.putObject(keyword(SchemaKeyword.TAG_PROPERTIES));
+            ArrayNode required = JsonNodeFactory.instance.arrayNode();
+            for (Map.Entry<String, Observed> property : node.properties.entrySet()) {
+                write(property.getValue(), properties.putObject(property.getKey()));
+                if (property.getValue().count >= Math.ceil(node.objects * requiredRatio)) {
+                    required.add(property.getKey());
+                }
+            }
+            if (!required.isEmpty()) {
+                schema.set(keyword(SchemaKeyword.TAG_REQUIRED), required);
+            }
+            if (node.extraProperties) {
+                // Campos além do limite não foram descritos, então não podem ser proibidos
+                schema.put(keyword(SchemaKeyword.TAG_ADDITIONAL_PROPERTIES), true);
+            }
+        }
+
+        private void writeString(Observed node, ObjectNode schema) {
+            schema.put(keyword(SchemaKeyword.TAG_LENGTH_MIN), node.minLength);
+            schema.put(keyword(SchemaKeyword.TAG_LENGTH_MAX), node.maxLength);
+            if (node.format != null && !node.format.equals(NO_FORMAT)) {
+                schema.put(keyword(SchemaKeyword.TAG_FORMAT), node.format);
+            }
+
+            // Enum só quando os valores se repetem e a posição não tem outros tipos além de null
+            boolean onlyStrings = node.strings + node.nulls == node.count;
+            if (node.enumValues != null && onlyStrings && node.enumValues.size() < node.strings) {
+                ArrayNode values = schema.putArray(keyword(SchemaKeyword.TAG_ENUM));
+                node.enumValues.forEach(values::add);
+                if (node.nulls > 0) {
+                    values.addNull();
+                }
+            }
+        }
+
+        private void writeNumber(ObjectNode schema, SchemaKeyword keyword, double value, boolean integral) {
+            if (integral && Math.abs(value) < 0x1p53) {
+                schema.put(keyword(keyword), (long) value);
+            } else {
+                schema.put(keyword(keyword), value);
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.ferramentas.toolhub.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Valida instâncias contra esquemas compilados. Cada esquema é compilado uma vez e
+ * guardado em um cache LRU pelo SHA-256 do seu conteúdo, então milhares de
+ * validações contra os mesmos esquemas não recompilam nada.
+ */
+@Service
+public class JsonSchemaValidationService {
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final ObjectMapper objectMapper;
+    // O writeValue do ObjectMapper dá flush a cada valor; aqui o flush é a cada FLUSH_EVERY linhas
+    private final ObjectWriter lineWriter;
+    private final Map<String, JsonSchemaValidator> cache;
+
+    @Value("${JSON_SCHEMA_MAX_ERRORS:100}")
+    private int maxErrors;
+
+    @Value("${JSON_SCHEMA_MAX_INSTANCES:10000}")
+    private int maxInstances;
+
+    public JsonSchemaValidationService(ObjectMapper objectMapper,
+                                       @Value("${JSON_SCHEMA_CACHE_SIZE:128}") int cacheSize) {
+        this.objectMapper = objectMapper;
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        // Ordem de acesso: o esquema menos usado recentemente sai primeiro
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JsonSchemaValidator> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Compila (se ainda não estiver em cache) e devolve o id do esquema, que pode ser
+     * usado no lugar do esquema completo nas próximas validações.
+     */
+    public Map<String, Object> registerSchema(JsonNode schema) throws IOException {
+        Map<String, Object> result = new HashMap<>();
+        result.put("schemaId", compileCached(schema).id());
+        return result;
+    }
+
+    public Map<String, Object> validate(JsonNode schema, String schemaId, JsonNode instance,
+                                        List<JsonNode> instances) throws IOException {
+        List<JsonNode> toValidate = new ArrayList<>();
+        if (instance != null) {
+            toValidate.add(instance);
+        }
+        if (instances != null) {
+            toValidate.addAll(instances);
+        }
+        if (toValidate.isEmpty()) {
+            throw new IllegalArgumentException("Informe instance ou instances");
+        }
+        if (toValidate.size() > maxInstances) {
+            throw new IllegalArgumentException("Máximo de " + maxInstances
+                + " instâncias por requisição. Use /validate/stream para volumes maiores");
+        }
+
+        long startTime = System.currentTimeMillis();
+        CachedSchema cached = resolve(schema, schemaId);
+        List<Map<String, Object>> results = new ArrayList<>(toValidate.size());
+        int invalid = 0;
+        for (int i = 0; i < toValidate.size(); i++) {
+            Map<String, Object> result = result(i, cached.validator().validate(toValidate.get(i), maxErrors));
+            if (!(Boolean) result.get("valid")) {
+                invalid++;
+            }
+            results.add(result);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("schemaId", cached.id());
+        response.put("valid", invalid == 0);
+        response.put("total", toValidate.size());
+        response.put("invalid", invalid);
+        response.put("results", results);
+        response.put("elapsedMs", System.currentTimeMillis() - startTime);
+        return response;
+    }
+
+    /**
+     * Resolve o esquema antes de a resposta começar, para que um id desconhecido
+     * ainda possa ser respondido com 400.
+     */
+    public CachedSchema prepareStream(String schemaId) throws IOException {
+        return resolve(null, schemaId);
+    }
+
+    /**
+     * Lê as instâncias uma a uma (NDJSON ou vários valores na raiz) e escreve uma
+     * linha de resultado para cada, seguida de uma linha de resumo. Só a instância
+     * atual fica em memória.
+     */
+    public void streamValidate(CachedSchema cached, InputStream in, OutputStream out) throws IOException {
+        long startTime = System.currentTimeMillis();
+        int total = 0;
+        int invalid = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            while (parser.nextToken() != null) {
+                JsonNode instance = objectMapper.readTree(parser);
+                Map<String, Object> result = result(total++, cached.validator().validate(instance, maxErrors));
+                if (!(Boolean) result.get("valid")) {
+                    invalid++;
+                }
+                lineWriter.writeValue(generator, result);
+                generator.writeRaw('\n');
+                if (total % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("schemaId", cached.id());
+            summary.put("total", total);
+            summary.put("valid", total - invalid);
+            summary.put("invalid", invalid);
+            summary.put("elapsedMs", System.currentTimeMillis() - startTime);
+            lineWriter.writeValue(generator, Map.of("summary", summary));
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+    }
+
+    private CachedSchema resolve(JsonNode schema, String schemaId) throws IOException {
+        if (schema != null && !schema.isNull()) {
+            return compileCached(schema);
+        }
+        if (schemaId == null || schemaId.isBlank()) {
+            throw new IllegalArgumentException("Informe schema ou schemaId");
+        }
+        JsonSchemaValidator validator;
+        synchronized (cache) {
+            validator = cache.get(schemaId);
+        }
+        if (validator == null) {
+            throw new IllegalArgumentException("Esquema não encontrado no cache: " + schemaId
+                + ". Registre-o novamente em /api/v1/tools/json-schema/register");
+        }
+        return new CachedSchema(schemaId, validator);
+    }
+
+    private CachedSchema compileCached(JsonNode schema) throws IOException {
+        if (schema == null) {
+            throw new IllegalArgumentException("Informe o esquema");
+        }
+        String id = hash(objectMapper.writeValueAsBytes(schema));
+        JsonSchemaValidator validator;
+        synchronized (cache) {
+            validator = cache.get(id);
+        }
+        if (validator == null) {
+            // Compila fora do lock: dois pedidos simultâneos do mesmo esquema só repetem trabalho
+            validator = JsonSchemaValidator.compile(schema);
+            synchronized (cache) {
+                cache.put(id, validator);
+            }
+        }
+        return new CachedSchema(id, validator);
+    }
+
+    private Map<String, Object> result(int index, List<JsonSchemaValidator.ValidationError> errors) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("valid", errors.isEmpty());
+        if (!errors.isEmpty()) {
+            result.put("errors", errors);
+            result.put("truncated", errors.size() >= maxErrors);
+        }
+        return result;
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    public record CachedSchema(String id, JsonSchemaValidator validator) {
+    }
+}
@@ -0,0 +1,625 @@
+package com.ferramentas.toolhub.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * JSON Schema compilado uma única vez em uma árvore de verificações. Os regex já
+ * vêm compilados, os {@code $ref} locais já vêm resolvidos e as palavras-chave
+ * desconhecidas são descartadas na compilação, então validar uma instância é só
+ * percorrê-la uma vez aplicando as verificações de cada posição.
+ * Suporta: type, enum, const, properties, required, additionalProperties,
+ * patternProperties, min/maxProperties, items (esquema ou tupla), prefixItems,
+ * additionalItems, min/maxItems, uniqueItems, min/maxLength, pattern, minimum,
+ * maximum, exclusiveMinimum/Maximum, multipleOf, allOf, anyOf, oneOf, not,
+ * if/then/else e $ref para o próprio documento ("#", "#/definitions/...", "#/$defs/...").
+ */
+public final class JsonSchemaValidator {
+
+    private final Node root;
+
+    private JsonSchemaValidator(Node root) {
+        this.root = root;
+    }
+
+    public static JsonSchemaValidator compile(JsonNode schema) {
+        if (schema == null || !(schema.isObject() || schema.isBoolean())) {
+            throw new IllegalArgumentException("O esquema deve ser um objeto JSON ou booleano");
+        }
+        Compiler compiler = new Compiler(schema);
+        Node root = compiler.compile(schema, "");
+        compiler.rejectInPlaceCycles();
+        return new JsonSchemaValidator(root);
+    }
+
+    /**
+     * Valida a instância e devolve todos os erros encontrados, até {@code maxErrors}.
+     */
+    public List<ValidationError> validate(JsonNode instance, int maxErrors) {
+        Errors errors = new Errors(maxErrors);
+        root.validate(instance, "", errors);
+        return errors.list;
+    }
+
+    public record ValidationError(String pointer, String keyword, String message) {
+    }
+
+    private interface Check {
+        void check(JsonNode value, String pointer, Errors errors);
+    }
+
+    private static final class Node {
+
+        private final List<Check> checks = new ArrayList<>();
+
+        private void validate(JsonNode value, String pointer, Errors errors) {
+            for (Check check : checks) {
+                if (errors.full()) {
+                    return;
+                }
+                check.check(value, pointer, errors);
+            }
+        }
+
+        private boolean accepts(JsonNode value) {
+            Errors errors = new Errors(1);
+            validate(value, "", errors);
+            return errors.list.isEmpty();
+        }
+    }
+
+    private static final class Errors {
+
+        private final int max;
+        private final List<ValidationError> list = new ArrayList<>();
+
+        private Errors(int max) {
+            this.max = max;
+        }
+
+        private boolean full() {
+            return list.size() >= max;
+        }
+
+        private void add(String pointer, String keyword, String message) {
+            if (!full()) {
+                list.add(new ValidationError(pointer, keyword, message));
+            }
+        }
+    }
+
+    private static final class Compiler {
+
+        private final JsonNode document;
+        // Nós por ponteiro do esquema: refs recursivos reaproveitam o nó ainda em construção
+        private final Map<String, Node> compiled = new HashMap<>();
+        // Subesquemas aplicados à mesma instância ($ref, allOf, not, if...): um ciclo
+        // aqui recursaria para sempre, já que nenhuma palavra-chave avança na instância
+        private final Map<String, List<String>> inPlace = new HashMap<>();
+
+        private Compiler(JsonNode document) {
+            this.document = document;
+        }
+
+        private Node compile(JsonNode schema, String schemaPointer) {
+            Node existing = compiled.get(schemaPointer);
+            if (existing != null) {
+                return existing;
+            }
+            Node node = new Node();
+            compiled.put(schemaPointer, node);
+
+            if (schema.isBoolean()) {
+                if (!schema.booleanValue()) {
+                    node.checks.add((value, pointer, errors) ->
+                        errors.add(pointer, "false", "Nenhum valor é permitido aqui"));
+                }
+                return node;
+            }
+            if (!schema.isObject()) {
+                throw new IllegalArgumentException("Esquema inválido em '" + schemaPointer + "'");
+            }
+
+            JsonNode ref = schema.get("$ref");
+            if (ref != null) {
+                Node target = resolveRef(ref.asText(), schemaPointer);
+                node.checks.add(target::validate);
+            }
+
+            compileType(schema, node);
+            compileValues(schema, node);
+            compileObject(schema, schemaPointer, node);
+            compileArray(schema, schemaPointer, node);
+            compileString(schema, node);
+            compileNumber(schema, schemaPointer, node);
+            compileCombinators(schema, schemaPointer, node);
+            return node;
+        }
+
+        private Node resolveRef(String ref, String schemaPointer) {
+            if (!ref.startsWith("#")) {
+                throw new IllegalArgumentException("Apenas $ref para o próprio esquema é suportado: " + ref);
+            }
+            String pointer = ref.substring(1);
+            JsonNode target;
+            try {
+                target = document.at(pointer);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("$ref inválido: " + ref);
+            }
+            if (target.isMissingNode()) {
+                throw new IllegalArgumentException("$ref não encontrado: " + ref);
+            }
+            return compileInPlace(target, schemaPointer, pointer);
+        }
+
+        private Node compileInPlace(JsonNode schema, String fromPointer, String pointer) {
+            inPlace.computeIfAbsent(fromPointer, key -> new ArrayList<>()).add(pointer);
+            return compile(schema, pointer);
+        }
+
+        /**
+         * Rejeita esquemas como {@code {"$ref": "#"}} ou definições que apontam umas
+         * para as outras sem nenhuma palavra-chave que desça na instância entre elas.
+         */
+        private void rejectInPlaceCycles() {
+            Set<String> done = new HashSet<>();
+            for (String start : inPlace.keySet()) {
+                findCycle(start, new ArrayList<>(), done);
+            }
+        }
+
+        private void findCycle(String pointer, List<String> path, Set<String> done) {
+            int index = path.indexOf(pointer);
+            if (index >= 0) {
+                List<String> cycle = new ArrayList<>(path.subList(index, path.size()));
+                cycle.add(pointer);
+                throw new IllegalArgumentException("Referência circular no esquema: "
+                    + String.join(" -> ", cycle.stream().map(p -> "#" + p).toList()));
+            }
+            if (done.contains(pointer)) {
+                return;
+            }
+            path.add(pointer);
+            for (String next : inPlace.getOrDefault(pointer, List.of())) {
+                findCycle(next, path, done);
+            }
+            path.remove(path.size() - 1);
+            done.add(pointer);
+        }
+
+        private void compileType(JsonNode schema, Node node) {
+            JsonNode type = schema.get("type");
+            if (type == null) {
+                return;
+            }
+            List<String> types = new ArrayList<>();
+            if (type.isArray()) {
+                type.forEach(t -> types.add(t.asText()));
+            } else {
+                types.add(type.asText());
+            }
+            String expected = String.join(", ", types);
+            node.checks.add((value, pointer, errors) -> {
+                for (String t : types) {
+                    if (hasType(value, t)) {
+                        return;
+                    }
+                }
+                errors.add(pointer, "type", "Tipo esperado: " + expected + "; encontrado: " + typeOf(value));
+            });
+        }
+
+        private void compileValues(JsonNode schema, Node node) {
+            JsonNode enumValues = schema.get("enum");
+            if (enumValues != null && enumValues.isArray()) {
+                List<JsonNode> allowed = new ArrayList<>();
+                enumValues.forEach(allowed::add);
+                node.checks.add((value, pointer, errors) -> {
+                    for (JsonNode candidate : allowed) {
+                        if (sameValue(candidate, value)) {
+                            return;
+                        }
+                    }
+                    errors.add(pointer, "enum", "Valor fora da lista permitida");
+                });
+            }
+            JsonNode constant = schema.get("const");
+            if (constant != null) {
+                node.checks.add((value, pointer, errors) -> {
+                    if (!sameValue(constant, value)) {
+                        errors.add(pointer, "const", "Valor esperado: " + constant);
+                    }
+                });
+            }
+        }
+
+        private void compileObject(JsonNode schema, String schemaPointer, Node node) {
+            Map<String, Node> properties = new HashMap<>();
+            JsonNode propertiesSchema = schema.get("properties");
+            if (propertiesSchema != null && propertiesSchema.isObject()) {
+                propertiesSchema.fields().forEachRemaining(field -> properties.put(field.getKey(),
+                    compile(field.getValue(), schemaPointer + "/properties/" + escape(field.getKey()))));
+            }
+
+            List<Pattern> patterns = new ArrayList<>();
+            List<Node> patternNodes = new ArrayList<>();
+            JsonNode patternSchema = schema.get("patternProperties");
+            if (patternSchema != null && patternSchema.isObject()) {
+                patternSchema.fields().forEachRemaining(field -> {
+                    patterns.add(compilePattern(field.getKey()));
+                    patternNodes.add(compile(field.getValue(),
+                        schemaPointer + "/patternProperties/" + escape(field.getKey())));
+                });
+            }
+
+            JsonNode additional = schema.get("additionalProperties");
+            boolean closed = additional != null && additional.isBoolean() && !additional.booleanValue();
+            Node additionalNode = additional != null && !closed
+                ? compile(additional, schemaPointer + "/additionalProperties")
+                : null;
+
+            if (!properties.isEmpty() || !patterns.isEmpty() || additionalNode != null || closed) {
+                node.checks.add((value, pointer, errors) -> {
+                    if (!value.isObject()) {
+                        return;
+                    }
+                    Iterator<Map.Entry<String, JsonNode>> fields = value.fields();
+                    while (fields.hasNext() && !errors.full()) {
+                        Map.Entry<String, JsonNode> field = fields.next();
+                        String fieldPointer = pointer + "/" + escape(field.getKey());
+                        boolean matched = false;
+                        Node property = properties.get(field.getKey());
+                        if (property != null) {
+                            property.validate(field.getValue(), fieldPointer, errors);
+                            matched = true;
+                        }
+                        for (int i = 0; i < patterns.size(); i++) {
+                            if (patterns.get(i).matcher(field.getKey()).find()) {
+                                patternNodes.get(i).validate(field.getValue(), fieldPointer, errors);
+                                matched = true;
+                            }
+                        }
+                        if (!matched && closed) {
+                            errors.add(fieldPointer, "additionalProperties", "Campo não permitido: " + field.getKey());
+                        } else if (!matched && additionalNode != null) {
+                            additionalNode.validate(field.getValue(), fieldPointer, errors);
+                        }
+                    }
+                });
+            }
+
+            JsonNode required = schema.get("required");
+            if (required != null && required.isArray() && !required.isEmpty()) {
+                List<String> names = new ArrayList<>();
+                required.forEach(name -> names.add(name.asText()));
+                node.checks.add((value, pointer, errors) -> {
+                    if (!value.isObject()) {
+                        return;
+                    }
+                    for (String name : names) {
+                        if (!value.has(name)) {
+                            errors.add(pointer, "required", "Campo obrigatório ausente: " + name);
+                        }
+                    }
+                });
+            }
+
+            int minProperties = intValue(schema, "minProperties", -1);
+            int maxProperties = intValue(schema, "maxProperties", -1);
+            if (minProperties >= 0 || maxProperties >= 0) {
+                node.checks.add((value, pointer, errors) -> {
+                    if (!value.isObject()) {
+                        return;
+                    }
+                    if (minProperties >= 0 && value.size() < minProperties) {
+                        errors.add(pointer, "minProperties", "Mínimo de " + minProperties + " campos");
+                    }
+                    if (maxProperties >= 0 && value.size() > maxProperties) {
+                        errors.add(pointer, "maxProperties", "Máximo de " + maxProperties + " campos");
+                    }
+                });
+            }
+        }
+
+        private void compileArray(JsonNode schema, String schemaPointer, Node node) {
+            List<Node> tuple = new ArrayList<>();
+            Node rest = null;
+            JsonNode prefixItems = schema.get("prefixItems");
+            JsonNode items = schema.get("items");
+            if (prefixItems != null && prefixItems.isArray()) {
+                for (int i = 0; i < prefixItems.size(); i++) {
+                    tuple.add(compile(prefixItems.get(i), schemaPointer + "/prefixItems/" + i));
+                }
+                if (items != null) {
+                    rest = compile(items, schemaPointer + "/items");
+                }
+            } else if (items != null && items.isArray()) {
+                // Forma de tupla do draft-07
+                for (int i = 0; i < items.size(); i++) {
+                    tuple.add(compile(items.get(i), schemaPointer + "/items/" + i));
+                }
+                JsonNode additionalItems = schema.get("additionalItems");
+                if (additionalItems != null) {
+                    rest = compile(additionalItems, schemaPointer + "/additionalItems");
+                }
+            } else if (items != null) {
+                rest = compile(items, schemaPointer + "/items");
+            }
+
+            Node restNode = rest;
+            if (!tuple.isEmpty() || restNode != null) {
+                node.checks.add((value, pointer, errors) -> {
+                    if (!value.isArray()) {
+                        return;
+                    }
+                    for (int i = 0; i < value.size() && !errors.full(); i++) {
+                        Node element = i < tuple.size() ? tuple.get(i) : restNode;
+                        if (element != null) {
+                            element.validate(value.get(i), pointer + "/" + i, errors);
+                        }
+                    }
+                });
+            }
+
+            int minItems = intValue(schema, "minItems", -1);
+            int maxItems = intValue(schema, "maxItems", -1);
+            boolean unique = schema.path("uniqueItems").asBoolean(false);
+            if (minItems >= 0 || maxItems >= 0 || unique) {
+                node.checks.add((value, pointer, errors) -> {
+                    if (!value.isArray()) {
+                        return;
+                    }
+                    if (minItems >= 0 && value.size() < minItems) {
+                        errors.add(pointer, "minItems", "Mínimo de " + minItems + " itens");
+                    }
+                    if (maxItems >= 0 && value.size() > maxItems) {
+                        errors.add(pointer, "maxItems", "Máximo de " + maxItems + " itens");
+                    }
+                    if (unique) {
+                        Set<Object> seen = new HashSet<>();
+                        for (JsonNode element : value) {
+                            if (!seen.add(canonical(element))) {
+                                errors.add(pointer, "uniqueItems", "Itens repetidos no array");
+                                break;
+                            }
+                        }
+                    }
+                });
+            }
+        }
+
+        private void compileString(JsonNode schema, Node node) {
+            int minLength = intValue(schema, "minLength", -1);
+            int maxLength = intValue(schema, "maxLength", -1);
+            JsonNode patternValue = schema.get("pattern");
+            Pattern pattern = patternValue != null ? compilePattern(patternValue.asText()) : null;
+            if (minLength < 0 && maxLength < 0 && pattern == null) {
+                return;
+            }
+            node.checks.add((value, pointer, errors) -> {
+                if (!value.isTextual()) {
+                    return;
+                }
+                String text = value.textValue();
+                // O tamanho em JSON Schema conta code points, não unidades UTF-16
+                int length = minLength >= 0 || maxLength >= 0 ? text.codePointCount(0, text.length()) : 0;
+                if (minLength >= 0 && length < minLength) {
+                    errors.add(pointer, "minLength", "Mínimo de " + minLength + " caracteres");
+                }
+                if (maxLength >= 0 && length > maxLength) {
+                    errors.add(pointer, "maxLength", "Máximo de " + maxLength + " caracteres");
+                }
+                if (pattern != null && !pattern.matcher(text).find()) {
+                    errors.add(pointer, "pattern", "Não corresponde ao padrão " + pattern.pattern());
+                }
+            });
+        }
+
+        private void compileNumber(JsonNode schema, String schemaPointer, Node node) {
+            BigDecimal minimum = decimalValue(schema, "minimum");
+            BigDecimal maximum = decimalValue(schema, "maximum");
+            BigDecimal exclusiveMinimum = decimalValue(schema, "exclusiveMinimum");
+            BigDecimal exclusiveMaximum = decimalValue(schema, "exclusiveMaximum");
+            BigDecimal multipleOf = decimalValue(schema, "multipleOf");
+            if (multipleOf != null && multipleOf.signum() <= 0) {
+                throw new IllegalArgumentException("multipleOf deve ser maior que zero em '" + schemaPointer + "'");
+            }
+            if (minimum == null && maximum == null && exclusiveMinimum == null && exclusiveMaximum == null
+                && multipleOf == null) {
+                return;
+            }
+            node.checks.add((value, pointer, errors) -> {
+                if (!value.isNumber()) {
+                    return;
+                }
+                BigDecimal number = value.decimalValue();
+                if (minimum != null && number.compareTo(minimum) < 0) {
+                    errors.add(pointer, "minimum", "Valor mínimo: " + minimum.toPlainString());
+                }
+                if (maximum != null && number.compareTo(maximum) > 0) {
+                    errors.add(pointer, "maximum", "Valor máximo: " + maximum.toPlainString());
+                }
+                if (exclusiveMinimum != null && number.compareTo(exclusiveMinimum) <= 0) {
+                    errors.add(pointer, "exclusiveMinimum", "Deve ser maior que " + exclusiveMinimum.toPlainString());
+                }
+                if (exclusiveMaximum != null && number.compareTo(exclusiveMaximum) >= 0) {
+                    errors.add(pointer, "exclusiveMaximum", "Deve ser menor que " + exclusiveMaximum.toPlainString());
+                }
+                if (multipleOf != null && number.remainder(multipleOf).signum() != 0) {
+                    errors.add(pointer, "multipleOf", "Deve ser múltiplo de " + multipleOf.toPlainString());
+                }
+            });
+        }
+
+        private void compileCombinators(JsonNode schema, String schemaPointer, Node node) {
+            List<Node> allOf = children(schema, schemaPointer, "allOf");
+            for (Node subschema : allOf) {
+                node.checks.add(subschema::validate);
+            }
+
+            List<Node> anyOf = children(schema, schemaPointer, "anyOf");
+            if (!anyOf.isEmpty()) {
+                node.checks.add((value, pointer, errors) -> {
+                    for (Node subschema : anyOf) {
+                        if (subschema.accepts(value)) {
+                            return;
+                        }
+                    }
+                    errors.add(pointer, "anyOf", "Não satisfaz nenhum dos esquemas de anyOf");
+                });
+            }
+
+            List<Node> oneOf = children(schema, schemaPointer, "oneOf");
+            if (!oneOf.isEmpty()) {
+                node.checks.add((value, pointer, errors) -> {
+                    int matches = 0;
+                    for (Node subschema : oneOf) {
+                        if (subschema.accepts(value) && ++matches > 1) {
+                            break;
+                        }
+                    }
+                    if (matches != 1) {
+                        errors.add(pointer, "oneOf", "Deve satisfazer exatamente um esquema de oneOf; satisfaz "
+                            + (matches == 0 ? "nenhum" : "mais de um"));
+                    }
+                });
+            }
+
+            JsonNode notSchema = schema.get("not");
+            if (notSchema != null) {
+                Node not = compileInPlace(notSchema, schemaPointer, schemaPointer + "/not");
+                node.checks.add((value, pointer, errors) -> {
+                    if (not.accepts(value)) {
+                        errors.add(pointer, "not", "Não deve satisfazer o esquema de not");
+                    }
+                });
+            }
+
+            JsonNode ifSchema = schema.get("if");
+            if (ifSchema != null && (schema.has("then") || schema.has("else"))) {
+                Node condition = compileInPlace(ifSchema, schemaPointer, schemaPointer + "/if");
+                Node then = schema.has("then")
+                    ? compileInPlace(schema.get("then"), schemaPointer, schemaPointer + "/then")
+                    : null;
+                Node otherwise = schema.has("else")
+                    ? compileInPlace(schema.get("else"), schemaPointer, schemaPointer + "/else")
+                    : null;
+                node.checks.add((value, pointer, errors) -> {
+                    Node branch = condition.accepts(value) ? then : otherwise;
+                    if (branch != null) {
+                        branch.validate(value, pointer, errors);
+                    }
+                });
+            }
+        }
+
+        private List<Node> children(JsonNode schema, String schemaPointer, String keyword) {
+            List<Node> nodes = new ArrayList<>();
+            JsonNode subschemas = schema.get(keyword);
+            if (subschemas != null && subschemas.isArray()) {
+                for (int i = 0; i < subschemas.size(); i++) {
+                    nodes.add(compileInPlace(subschemas.get(i), schemaPointer, schemaPointer + "/" + keyword + "/" + i));
+                }
+            }
+            return nodes;
+        }
+
+        private static Pattern compilePattern(String regex) {
+            try {
+                return Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Regex inválido no esquema: " + regex);
+            }
+        }
+
+        private static int intValue(JsonNode schema, String keyword, int defaultValue) {
+            JsonNode value = schema.get(keyword);
+            return value != null && value.canConvertToInt() ? value.intValue() : defaultValue;
+        }
+
+        private static BigDecimal decimalValue(JsonNode schema, String keyword) {
+            JsonNode value = schema.get(keyword);
+            return value != null && value.isNumber() ? value.decimalValue() : null;
+        }
+    }
+
+    private static boolean hasType(JsonNode value, String type) {
+        switch (type) {
+            case "object":
+                return value.isObject();
+            case "array":
+                return value.isArray();
+            case "string":
+                return value.isTextual();
+            case "boolean":
+                return value.isBoolean();
+            case "null":
+                return value.isNull();
+            case "number":
+                return value.isNumber();
+            case "integer":
+                return value.isIntegralNumber()
+                    || (value.isNumber() && value.decimalValue().stripTrailingZeros().scale() <= 0);
+            default:
+                return false;
+        }
+    }
+
+    private static String typeOf(JsonNode value) {
+        if (value.isIntegralNumber()) {
+            return "integer";
+        }
+        return value.getNodeType().name().toLowerCase(Locale.ROOT);
+    }
+
+    // 1 e 1.0 são o mesmo valor em enum e const
+    private static boolean sameValue(JsonNode expected, JsonNode actual) {
+        if (expected.isNumber() && actual.isNumber()) {
+            return expected.decimalValue().compareTo(actual.decimalValue()) == 0;
+        }
+        if (expected.isContainerNode() && actual.isContainerNode()) {
+            return canonical(expected).equals(canonical(actual));
+        }
+        return expected.equals(actual);
+    }
+
+    /**
+     * Chave com a igualdade do JSON Schema: números pelo valor (1, 1.0 e IntNode ou
+     * LongNode são iguais) e objetos sem ordem de campos. O {@code equals} do
+     * JsonNode distingue o tipo do nó numérico.
+     */
+    private static Object canonical(JsonNode value) {
+        if (value.isNumber()) {
+            return value.decimalValue().stripTrailingZeros();
+        }
+        if (value.isArray()) {
+            List<Object> elements = new ArrayList<>(value.size());
+            for (JsonNode element : value) {
+                elements.add(canonical(element));
+            }
+            return elements;
+        }
+        if (value.isObject()) {
+            Map<String, Object> fields = new HashMap<>();
+            value.fields().forEachRemaining(field -> fields.put(field.getKey(), canonical(field.getValue())));
+            return fields;
+        }
+        return value;
+    }
+
+    private static String escape(String key) {
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,179 @@
+package com.ferramentas.toolhub.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Decodifica (e opcionalmente verifica) centenas de tokens de uma vez, devolvendo
+ * uma linha compacta por token e contagens por emissor e por situação de expiração.
+ */
+@Service
+public class JwtBatchService {
+
+    // Abaixo disso o custo de distribuir entre threads supera o da decodificação
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private final JsonJwtService jsonJwtService;
+    private final JwtVerificationService jwtVerificationService;
+    private final ForkJoinPool batchPool;
+
+    @Value("${JWT_BATCH_MAX_TOKENS:10000}")
+    private int maxTokens;
+
+    public JwtBatchService(JsonJwtService jsonJwtService, JwtVerificationService jwtVerificationService,
+                           @Value("${JWT_BATCH_PARALLELISM:0}") int parallelism) {
+        this.jsonJwtService = jsonJwtService;
+        this.jwtVerificationService = jwtVerificationService;
+        this.batchPool = new ForkJoinPool(
+            parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchPool.shutdownNow();
+    }
+
+    public Map<String, Object> parseBatch(List<String> tokens, String text, Boolean verify, String secret,
+                                          String publicKey, String jwks, String jwksId, String algorithm,
+                                          Long clockSkewSeconds) {
+        List<String> toParse = collectTokens(tokens, text);
+        if (toParse.isEmpty()) {
+            throw new IllegalArgumentException("Informe tokens ou text");
+        }
+        if (toParse.size() > maxTokens) {
+            throw new IllegalArgumentException("Máximo de " + maxTokens + " tokens por requisição");
+        }
+
+        // Chaves e skew são resolvidos uma vez para o lote inteiro
+        boolean verifying = Boolean.TRUE.equals(verify);
+        JwtVerificationService.KeySet keys = verifying
+            ? jwtVerificationService.resolveKeys(secret, publicKey, jwks, jwksId)
+            : null;
+        long skew = jwtVerificationService.clockSkew(clockSkewSeconds);
+
+        long startTime = System.currentTimeMillis();
+        long now = startTime / 1000;
+        List<Map<String, Object>> rows;
+        if (toParse.size() < PARALLEL_THRESHOLD) {
+            rows = new ArrayList<>(toParse.size());
+            for (int i = 0; i < toParse.size(); i++) {
+                rows.add(row(i, toParse.get(i), keys, algorithm, skew, now));
+            }
+        } else {
+            rows = batchPool.submit(() -> IntStream.range(0, toParse.size())
+                .parallel()
+                .mapToObj(i -> row(i, toParse.get(i), keys, algorithm, skew, now))
+                .toList()).join();
+        }
+
+        Map<String, Integer> byIssuer = new TreeMap<>();
+        Map<String, Integer> byExpiry = new LinkedHashMap<>();
+        byExpiry.put("active", 0);
+        byExpiry.put("expired", 0);
+        byExpiry.put("noExpiry", 0);
+        byExpiry.put("undecodable", 0);
+        int valid = 0;
+        for (Map<String, Object> row : rows) {
+            if ((Boolean) row.get("valid")) {
+                valid++;
+            }
+            byExpiry.merge((String) row.get("expiry"), 1, Integer::sum);
+            if (!"undecodable".equals(row.get("expiry"))) {
+                Object issuer = row.get("iss");
+                byIssuer.merge(issuer != null ? issuer.toString() : "(sem iss)", 1, Integer::sum);
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("total", rows.size());
+        result.put("valid", valid);
+        result.put("invalid", rows.size() - valid);
+        result.put("verified", verifying);
+        if (verifying) {
+            result.put("keySource", keys.id());
+        }
+        result.put("byIssuer", byIssuer);
+        result.put("byExpiry", byExpiry);
+        result.put("tokens", rows);
+        result.put("elapsedMs", System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    private Map<String, Object> row(int index, String token, JwtVerificationService.KeySet keys,
+                                    String algorithm, long skew, long now) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("index", index);
+        JsonJwtService.DecodedJwt decoded;
+        try {
+            decoded = jsonJwtService.decodeJwt(token);
+        } catch (Exception e) {
+            row.put("valid", false);
+            row.put("expiry", "undecodable");
+            row.put("error", "Erro ao decodificar JWT: " + e.getMessage());
+            return row;
+        }
+
+        Map<String, Object> payload = decoded.payload();
+        Object exp = payload.get("exp");
+        row.put("sub", payload.get("sub"));
+        row.put("iss", payload.get("iss"));
+        row.put("exp", exp);
+        row.put("alg", decoded.header().get("alg"));
+        if (exp instanceof Number expSeconds) {
+            row.put("expiry", expSeconds.longValue() + skew < now ? "expired" : "active");
+        } else {
+            row.put("expiry", "noExpiry");
+        }
+
+        if (keys == null) {
+            row.put("valid", true);
+        } else {
+            Map<String, Object> verification = jwtVerificationService.verify(token, keys, algorithm, skew);
+            row.put("valid", verification.get("valid"));
+            if (verification.containsKey("error")) {
+                row.put("error", verification.get("error"));
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Junta a lista e o texto colado, um token por linha, descartando linhas vazias
+     * e o prefixo "Bearer ".
+     */
+    private static List<String> collectTokens(List<String> tokens, String text) {
+        List<String> result = new ArrayList<>();
+        if (tokens != null) {
+            for (String token : tokens) {
+                addToken(result, token);
+            }
+        }
+        if (text != null) {
+            text.lines().forEach(line -> addToken(result, line));
+        }
+        return result;
+    }
+
+    private static void addToken(List<String> result, String token) {
+        if (token == null) {
+            return;
+        }
+        String trimmed = token.trim();
+        if (trimmed.startsWith("Bearer ")) {
+            trimmed = trimmed.substring(7).trim();
+        }
+        if (!trimmed.isEmpty()) {
+            result.add(trimmed);
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.ferramentas.toolhub.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.PrematureJwtException;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PrivateJwk;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verificação de assinatura de JWT (HS*, RS*, PS*, ES* e EdDSA). O material de
+ * chave (segredo, PEM, JWK ou JWKS) é convertido em {@link Key} uma única vez e
+ * guardado em cache pelo hash do conteúdo, com as chaves indexadas por {@code kid}.
+ * O parser do jjwt de cada conjunto de chaves também é reaproveitado, então
+ * verificar um token não repete nenhum parsing de PEM ou JWK.
+ * <p>
+ * O hash serve só de chave interna do cache e nunca sai na resposta: ele
+ * permitiria testar candidatos a segredo offline. Apenas JWKS registrados em
+ * {@code /jwks} recebem um id, aleatório, que é o único aceito em {@code jwksId}.
+ */
+@Service
+public class JwtVerificationService {
+
+    private static final long MAX_CLOCK_SKEW_SECONDS = 600;
+    private static final long JWKS_FILE_CHECK_INTERVAL_MS = 5000;
+    private static final String[] PUBLIC_KEY_ALGORITHMS = { "RSA", "EC", "EdDSA" };
+
+    private final Map<String, KeySet> cache;
+    private final Map<String, KeySet> registered;
+
+    @Value("${JWT_JWKS_PATH:}")
+    private String jwksPath;
+
+    @Value("${JWT_CLOCK_SKEW_SECONDS:60}")
+    private long defaultClockSkewSeconds;
+
+    // JWKS local: recarregado quando o arquivo muda, verificado no máximo a cada 5s
+    private volatile KeySet localJwks;
+    private volatile long localJwksModified;
+    private volatile long localJwksCheckedAt;
+
+    public JwtVerificationService(@Value("${JWT_KEY_CACHE_SIZE:256}") int cacheSize) {
+        this.cache = lruMap(cacheSize);
+        this.registered = lruMap(cacheSize);
+    }
+
+    private static Map<String, KeySet> lruMap(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, KeySet> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Carrega um documento JWKS e devolve o id com que ele pode ser referenciado nas
+     * próximas verificações, sem reenviar as chaves.
+     */
+    public Map<String, Object> registerJwks(String jwks) {
+        if (jwks == null || jwks.isBlank()) {
+            throw new IllegalArgumentException("JWKS vazio");
+        }
+        KeySet keys = new KeySet(UUID.randomUUID().toString(), parseJwks(jwks));
+        synchronized (registered) {
+            registered.put(keys.id(), keys);
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("jwksId", keys.id());
+        result.put("kids", new ArrayList<>(keys.byKid().keySet()));
+        return result;
+    }
+
+    public Map<String, Object> verify(String token, String secret, String publicKey, String jwks, String jwksId,
+                                      String expectedAlgorithm, Long clockSkewSeconds) {
+        KeySet keys = resolveKeys(secret, publicKey, jwks, jwksId);
+        return verify(token, keys, expectedAlgorithm, clockSkew(clockSkewSeconds));
+    }
+
+    /**
+     * Indica se há um JWKS local configurado para verificar tokens sem chave na requisição.
+     */
+    public boolean hasLocalJwks() {
+        return jwksPath != null && !jwksPath.isBlank();
+    }
+
+    public long clockSkew(Long clockSkewSeconds) {
+        long skew = clockSkewSeconds != null ? clockSkewSeconds : defaultClockSkewSeconds;
+        if (skew < 0 || skew > MAX_CLOCK_SKEW_SECONDS) {
+            throw new IllegalArgumentException("clockSkewSeconds deve estar entre 0 e " + MAX_CLOCK_SKEW_SECONDS);
+        }
+        return skew;
+    }
+
+    /**
+     * Escolhe a origem das chaves, na ordem: segredo HMAC, chave pública (PEM ou
+     * JWK), JWKS enviado, JWKS já registrado e, por fim, o JWKS local.
+     */
+    public KeySet resolveKeys(String secret, String publicKey, String jwks, String jwksId) {
+        if (secret != null && !secret.isEmpty()) {
+            return cached("secret", secret, () -> {
+                Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+                return Map.of("", key);
+            });
+        }
+        if (publicKey != null && !publicKey.isBlank()) {
+            return cached("publicKey", publicKey.trim(), () -> parsePublicKey(publicKey.trim()));
+        }
+        if (jwks != null && !jwks.isBlank()) {
+            return cached("jwks", jwks, () -> parseJwks(jwks));
+        }
+        if (jwksId != null && !jwksId.isBlank()) {
+            KeySet keys;
+            synchronized (registered) {
+                keys = registered.get(jwksId);
+            }
+            if (keys == null) {
+                throw new IllegalArgumentException("JWKS não registrado: " + jwksId + ". Envie-o novamente em /jwks");
+            }
+            return keys;
+        }
+        if (hasLocalJwks()) {
+            return localJwks();
+        }
+        throw new IllegalArgumentException("Informe secret, publicKey, jwks ou jwksId (nenhum JWKS local configurado)");
+    }
+
+    public Map<String, Object> verify(String token, KeySet keys, String expectedAlgorithm, long clockSkewSeconds) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("keySource", keys.id());
+        if (token == null || token.isBlank()) {
+            result.put("valid", false);
+            result.put("error", "Token vazio");
+            return result;
+        }
+
+        try {
+            Jws<Claims> jws = keys.parser(clockSkewSeconds).parseSignedClaims(token.replace("Bearer ", "").trim());
+            String algorithm = jws.getHeader().getAlgorithm();
+            result.put("algorithm", algorithm);
+            result.put("kid", jws.getHeader().getKeyId());
+            result.put("header", toJson(jws.getHeader()));
+            result.put("payload", toJson(jws.getPayload()));
+            if (expectedAlgorithm != null && !expectedAlgorithm.isBlank() && !expectedAlgorithm.equals(algorithm)) {
+                result.put("valid", false);
+                result.put("error", "Algoritmo " + algorithm + " diferente do esperado (" + expectedAlgorithm + ")");
+            } else {
+                result.put("valid", true);
+            }
+        } catch (ExpiredJwtException e) {
+            result.put("valid", false);
+            result.put("payload", toJson(e.getClaims()));
+            result.put("error", "Token expirado em " + e.getClaims().getExpiration().toInstant());
+        } catch (PrematureJwtException e) {
+            result.put("valid", false);
+            result.put("payload", toJson(e.getClaims()));
+            result.put("error", "Token ainda não é válido (nbf " + e.getClaims().getNotBefore().toInstant() + ")");
+        } catch (SignatureException e) {
+            result.put("valid", false);
+            result.put("error", "Assinatura inválida: " + e.getMessage());
+        } catch (JwtException | IllegalArgumentException e) {
+            result.put("valid", false);
+            result.put("error", "Erro ao verificar JWT: " + e.getMessage());
+        }
+        return result;
+    }
+
+    // O id do KeySet é só o tipo da origem; o hash do material fica restrito à chave do cache
+    private KeySet cached(String type, String material, KeyLoader loader) {
+        String cacheKey = type + ":" + sha256(material);
+        synchronized (cache) {
+            KeySet keys = cache.get(cacheKey);
+            if (keys != null) {
+                return keys;
+            }
+        }
+        KeySet keys = new KeySet(type, loader.load());
+        synchronized (cache) {
+            cache.put(cacheKey, keys);
+        }
+        return keys;
+    }
+
+    private KeySet localJwks() {
+        long now = System.currentTimeMillis();
+        KeySet current = localJwks;
+        if (current != null && now - localJwksCheckedAt < JWKS_FILE_CHECK_INTERVAL_MS) {
+            return current;
+        }
+        synchronized (this) {
+            try {
+                Path path = Path.of(jwksPath);
+                long modified = Files.getLastModifiedTime(path).toMillis();
+                if (localJwks == null || modified != localJwksModified) {
+                    localJwks = new KeySet("local:" + path.getFileName(), parseJwks(Files.readString(path)));
+                    localJwksModified = modified;
+                }
+                localJwksCheckedAt = now;
+                return localJwks;
+            } catch (IOException e) {
+                if (localJwks != null) {
+                    // Mantém as chaves já carregadas se o arquivo sumir ou estiver sendo reescrito
+                    return localJwks;
+                }
+                throw new IllegalStateException("Não foi possível ler o JWKS local: " + e.getMessage());
+            }
+        }
+    }
+
+    private static Map<String, Key> parseJwks(String json) {
+        JwkSet set;
+        try {
+            set = Jwks.setParser().build().parse(json);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("JWKS inválido: " + e.getMessage());
+        }
+        Map<String, Key> keys = new LinkedHashMap<>();
+        for (Jwk<?> jwk : set.getKeys()) {
+            String kid = jwk.getId() != null ? jwk.getId() : jwk.thumbprint().toString();
+            keys.put(kid, verificationKey(jwk));
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("JWKS sem chaves suportadas");
+        }
+        return keys;
+    }
+
+    private static Map<String, Key> parsePublicKey(String material) {
+        if (material.startsWith("{")) {
+            try {
+                Jwk<?> jwk = Jwks.parser().build().parse(material);
+                return Map.of(jwk.getId() != null ? jwk.getId() : "", verificationKey(jwk));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("JWK inválido: " + e.getMessage());
+            }
+        }
+        if (material.contains("BEGIN CERTIFICATE")) {
+            try {
+                PublicKey key = CertificateFactory.getInstance("X.509")
+                    .generateCertificate(new ByteArrayInputStream(material.getBytes(StandardCharsets.US_ASCII)))
+                    .getPublicKey();
+                return Map.of("", key);
+            } catch (CertificateException e) {
+                throw new IllegalArgumentException("Certificado inválido: " + e.getMessage());
+            }
+        }
+        if (!material.contains("BEGIN PUBLIC KEY")) {
+            throw new IllegalArgumentException("Chave pública deve estar em PEM (BEGIN PUBLIC KEY ou CERTIFICATE) ou JWK");
+        }
+
+        String base64 = material.replaceAll("-----(BEGIN|END) PUBLIC KEY-----", "").replaceAll("\\s", "");
+        X509EncodedKeySpec spec = new X509EncodedKeySpec(Base64.getDecoder().decode(base64));
+        for (String algorithm : PUBLIC_KEY_ALGORITHMS) {
+            try {
+                return Map.of("", KeyFactory.getInstance(algorithm).generatePublic(spec));
+            } catch (InvalidKeySpecException | NoSuchAlgorithmException e) {
+                // Tenta o próximo tipo de chave
+            }
+        }
+        throw new IllegalArgumentException("Tipo de chave pública não suportado (use RSA, EC ou Ed25519/Ed448)");
+    }
+
+    // Para verificar basta a parte pública de um JWK privado
+    private static Key verificationKey(Jwk<?> jwk) {
+        return jwk instanceof PrivateJwk<?, ?, ?> privateJwk ? privateJwk.toPublicJwk().toKey() : jwk.toKey();
+    }
+
+    private static Map<String, Object> toJson(Map<String, ?> values) {
+        // jjwt converte exp, iat e nbf para Date; no JSON eles voltam a ser segundos
+        Map<String, Object> json = new LinkedHashMap<>();
+        values.forEach((name, value) -> json.put(name, value instanceof Date date ? date.getTime() / 1000 : value));
+        return json;
+    }
+
+    private static String sha256(String material) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(material.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private interface KeyLoader {
+        Map<String, Key> load();
+    }
+
+    /**
+     * Chaves já convertidas, indexadas por {@code kid}, e os parsers construídos sobre
+     * elas (um por tolerância de relógio).
+     */
+    public static final class KeySet {
+
+        private final String id;
+        private final Map<String, Key> byKid;
+        private final Map<Long, JwtParser> parsers = new ConcurrentHashMap<>();
+
+        private KeySet(String id, Map<String, Key> byKid) {
+            this.id = id;
+            this.byKid = Map.copyOf(byKid);
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public Map<String, Key> byKid() {
+            return byKid;
+        }
+
+        public JwtParser parser(long clockSkewSeconds) {
+            return parsers.computeIfAbsent(clockSkewSeconds, skew -> Jwts.parser()
+                .keyLocator(this::locate)
+                .clockSkewSeconds(skew)
+                .build());
+        }
+
+        private Key locate(Header header) {
+            String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+            if (kid != null) {
+                Key key = byKid.get(kid);
+                if (key != null) {
+                    return key;
+                }
+            }
+            if (byKid.size() == 1) {
+                // Chave única (segredo, PEM ou JWKS com uma chave): vale para qualquer kid
+                return byKid.values().iterator().next();
+            }
+            throw new JwtException(kid == null
+                ? "Token sem kid e o conjunto tem " + byKid.size() + " chaves"
+                : "Nenhuma chave com kid " + kid);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ferramentas.toolhub.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * MurmurHash3 x64 128 bits (semente 0) incremental. A saída segue a ordem de bytes
+ * do Guava ({@code Hashing.murmur3_128()}): h1 e depois h2, ambos little-endian.
+ */
+final class Murmur3Hash128 implements StreamingHash {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final int BLOCK = 16;
+
+    private final ByteBuffer pending = ByteBuffer.allocate(BLOCK).order(ByteOrder.LITTLE_ENDIAN);
+    private long h1;
+    private long h2;
+    private long totalLength;
+
+    Murmur3Hash128() {
+        reset();
+    }
+
+    @Override
+    public String name() {
+        return "MURMUR3_128";
+    }
+
+    @Override
+    public void reset() {
+        h1 = 0;
+        h2 = 0;
+        totalLength = 0;
+        pending.clear();
+    }
+
+    @Override
+    public void update(ByteBuffer data) {
+        ByteBuffer in = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+        int length = in.remaining();
+        totalLength += length;
+        data.position(data.limit());
+
+        int offset = 0;
+        if (pending.position() > 0) {
+            int take = Math.min(BLOCK - pending.position(), length);
+            pending.put(pending.position(), in, 0, take).position(pending.position() + take);
+            offset = take;
+            if (pending.position() < BLOCK) {
+                return;
+            }
+            block(pending.getLong(0), pending.getLong(8));
+            pending.clear();
+        }
+
+        int blocks = (length - offset) / BLOCK;
+        for (int i = 0; i < blocks; i++, offset += BLOCK) {
+            block(in.getLong(offset), in.getLong(offset + 8));
+        }
+        if (offset < length) {
+            pending.put(0, in, offset, length - offset).position(length - offset);
+        }
+    }
+
+    private void block(long k1, long k2) {
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    @Override
+    public byte[] finish() {
+        // Cauda de até 15 bytes: bytes 0-7 em k1 e 8-14 em k2, little-endian
+        int remaining = pending.position();
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = remaining - 1; i >= 8; i--) {
+            k2 = (k2 << 8) | (pending.get(i) & 0xFFL);
+        }
+        for (int i = Math.min(remaining, 8) - 1; i >= 0; i--) {
+            k1 = (k1 << 8) | (pending.get(i) & 0xFFL);
+        }
+        h1 ^= mixK1(k1);
+        h2 ^= mixK2(k2);
+
+        h1 ^= totalLength;
+        h2 ^= totalLength;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+
+        byte[] result = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN).putLong(h1).putLong(h2).array();
+        reset();
+        return result;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
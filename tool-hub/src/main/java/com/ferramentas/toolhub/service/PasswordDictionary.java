@@ -0,0 +1,193 @@
+package com.ferramentas.toolhub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dicionários de senhas e palavras comuns em uma trie compacta. Os nós ficam em
+ * ordem de largura em arrays paralelos: os filhos de um nó são contíguos e
+ * ordenados pelo caractere, então a busca de um filho é uma busca binária e não
+ * existe nenhum objeto por nó nem por palavra depois da carga.
+ * <p>
+ * Cada arquivo tem uma palavra por linha, da mais para a menos frequente; a linha
+ * é o rank usado na estimativa de tentativas. Além dos dicionários do classpath,
+ * {@code PASSWORD_DICTIONARY_PATHS} aceita arquivos extras separados por vírgula.
+ */
+@Component
+public class PasswordDictionary {
+
+    public static final int ROOT = 0;
+
+    private static final String CLASSPATH_PATTERN = "classpath:dictionaries/*.txt";
+
+    private final List<String> dictionaryNames = new ArrayList<>();
+
+    // Por nó: caractere da aresta que chega nele, primeiro filho (com sentinela no
+    // fim), rank da palavra que termina nele (0 = nenhuma) e dicionário dessa palavra
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] ranks;
+    private final byte[] dictionaries;
+    private final int wordCount;
+
+    public PasswordDictionary(@Value("${PASSWORD_DICTIONARY_PATHS:}") String extraPaths) throws IOException {
+        // Palavra -> rank e dicionário compactados em um long; vive só durante a carga
+        Map<String, Long> entries = new HashMap<>();
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(CLASSPATH_PATTERN);
+        Arrays.sort(resources, (a, b) -> String.valueOf(a.getFilename()).compareTo(String.valueOf(b.getFilename())));
+        for (Resource resource : resources) {
+            try (InputStream in = resource.getInputStream()) {
+                load(baseName(resource.getFilename()), in, entries);
+            }
+        }
+        for (String path : extraPaths.split(",")) {
+            if (!path.isBlank()) {
+                Path file = Path.of(path.trim());
+                try (InputStream in = Files.newInputStream(file)) {
+                    load(baseName(file.getFileName().toString()), in, entries);
+                }
+            }
+        }
+
+        String[] words = entries.keySet().toArray(String[]::new);
+        Arrays.sort(words);
+        this.wordCount = words.length;
+
+        int capacity = Math.max(16, totalLength(words) + 1);
+        char[] nodeLabels = new char[capacity];
+        int[] nodeFirstChild = new int[capacity + 1];
+        int[] nodeRanks = new int[capacity];
+        byte[] nodeDictionaries = new byte[capacity];
+        // Fila da construção: cada nó cobre o intervalo [lo, hi) de palavras com o mesmo prefixo
+        int[] rangeLo = new int[capacity];
+        int[] rangeHi = new int[capacity];
+        int[] depth = new int[capacity];
+
+        rangeHi[0] = words.length;
+        int nodes = 1;
+        for (int node = 0; node < nodes; node++) {
+            int lo = rangeLo[node];
+            int hi = rangeHi[node];
+            int d = depth[node];
+            if (lo < hi && words[lo].length() == d) {
+                long entry = entries.get(words[lo]);
+                nodeRanks[node] = (int) (entry >>> 8);
+                nodeDictionaries[node] = (byte) entry;
+                lo++;
+            }
+            nodeFirstChild[node] = nodes;
+            while (lo < hi) {
+                char c = words[lo].charAt(d);
+                int end = lo + 1;
+                while (end < hi && words[end].charAt(d) == c) {
+                    end++;
+                }
+                nodeLabels[nodes] = c;
+                rangeLo[nodes] = lo;
+                rangeHi[nodes] = end;
+                depth[nodes] = d + 1;
+                nodes++;
+                lo = end;
+            }
+        }
+        nodeFirstChild[nodes] = nodes;
+
+        this.labels = Arrays.copyOf(nodeLabels, nodes);
+        this.firstChild = Arrays.copyOf(nodeFirstChild, nodes + 1);
+        this.ranks = Arrays.copyOf(nodeRanks, nodes);
+        this.dictionaries = Arrays.copyOf(nodeDictionaries, nodes);
+    }
+
+    /**
+     * Filho de {@code node} pela aresta {@code c}, ou -1.
+     */
+    public int child(int node, char c) {
+        int lo = firstChild[node];
+        int hi = firstChild[node + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char label = labels[mid];
+            if (label < c) {
+                lo = mid + 1;
+            } else if (label > c) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Rank da palavra que termina em {@code node}, ou 0 se nenhuma termina ali.
+     */
+    public int rank(int node) {
+        return ranks[node];
+    }
+
+    public String dictionaryName(int node) {
+        return dictionaryNames.get(dictionaries[node]);
+    }
+
+    public int wordCount() {
+        return wordCount;
+    }
+
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    public List<String> dictionaryNames() {
+        return List.copyOf(dictionaryNames);
+    }
+
+    private void load(String name, InputStream in, Map<String, Long> entries) throws IOException {
+        if (dictionaryNames.size() == Byte.MAX_VALUE) {
+            throw new IllegalStateException("Dicionários demais: máximo de " + Byte.MAX_VALUE);
+        }
+        int dictionary = dictionaryNames.size();
+        dictionaryNames.add(name);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        int rank = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String word = line.trim().toLowerCase(Locale.ROOT);
+            if (word.isEmpty() || word.startsWith("#")) {
+                continue;
+            }
+            long entry = ((long) ++rank << 8) | dictionary;
+            // A mesma palavra em dois dicionários fica com o menor rank
+            entries.merge(word, entry, (current, candidate) -> (current >>> 8) <= (candidate >>> 8) ? current : candidate);
+        }
+    }
+
+    private static int totalLength(String[] words) {
+        int total = 0;
+        for (String word : words) {
+            total += word.length();
+        }
+        return total;
+    }
+
+    private static String baseName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+}
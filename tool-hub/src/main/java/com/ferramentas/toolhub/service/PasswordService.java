@@ -0,0 +1,196 @@
+package com.ferramentas.toolhub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Geração de senhas com um único {@link SecureRandom} DRBG compartilhado. O DRBG é
+ * semeado uma vez pelo sistema e depois não bloqueia esperando entropia, e os
+ * alfabetos de cada combinação de classes são montados uma única vez.
+ */
+@Service
+public class PasswordService {
+
+    private static final String UPPERCASE = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String LOWERCASE = "abcdefghijklmnopqrstuvwxyz";
+    private static final String DIGITS = "0123456789";
+    private static final String SYMBOLS = "!@#$%^&*()_+-=[]{}|;:,.<>?";
+    private static final String AMBIGUOUS = "0Oo1lI|";
+
+    private static final int CLASS_COUNT = 4;
+
+    // [ambíguos excluídos ? 1 : 0][classe] -> caracteres da classe
+    private static final char[][][] CLASSES = new char[2][CLASS_COUNT][];
+
+    static {
+        String[] classes = { UPPERCASE, LOWERCASE, DIGITS, SYMBOLS };
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            CLASSES[0][i] = classes[i].toCharArray();
+            CLASSES[1][i] = classes[i].chars()
+                .filter(c -> AMBIGUOUS.indexOf(c) < 0)
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString()
+                .toCharArray();
+        }
+    }
+
+    private final SecureRandom random = createRandom();
+
+    @Value("${PASSWORD_MAX_LENGTH:256}")
+    private int maxLength;
+
+    @Value("${PASSWORD_MAX_COUNT:10000}")
+    private int maxCount;
+
+    public String generate(int length, boolean includeSymbols) {
+        Alphabet alphabet = alphabet(true, true, true, includeSymbols, false);
+        return generate(alphabet, checkLength(length, 1), false);
+    }
+
+    public Map<String, Object> generateBulk(Integer length, Integer count, Boolean uppercase, Boolean lowercase,
+                                            Boolean digits, Boolean symbols, Boolean excludeAmbiguous,
+                                            Boolean requireEachClass) {
+        Alphabet alphabet = alphabet(
+            !Boolean.FALSE.equals(uppercase),
+            !Boolean.FALSE.equals(lowercase),
+            !Boolean.FALSE.equals(digits),
+            !Boolean.FALSE.equals(symbols),
+            Boolean.TRUE.equals(excludeAmbiguous)
+        );
+        boolean requireEach = !Boolean.FALSE.equals(requireEachClass);
+        int passwordLength = checkLength(length != null ? length : 16, requireEach ? alphabet.classes().length : 1);
+        int passwordCount = count != null ? count : 1;
+        if (passwordCount < 1 || passwordCount > maxCount) {
+            throw new IllegalArgumentException("count deve estar entre 1 e " + maxCount);
+        }
+
+        // Todas as senhas têm o mesmo comprimento e alfabeto, logo a mesma entropia
+        double entropyBits = Math.round(passwordLength * Math.log(alphabet.chars().length) / Math.log(2) * 10) / 10.0;
+        long startTime = System.currentTimeMillis();
+        List<Map<String, Object>> passwords = new ArrayList<>(passwordCount);
+        for (int i = 0; i < passwordCount; i++) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("password", generate(alphabet, passwordLength, requireEach));
+            entry.put("entropyBits", entropyBits);
+            passwords.add(entry);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", passwordCount);
+        result.put("length", passwordLength);
+        result.put("alphabetSize", alphabet.chars().length);
+        result.put("entropyBits", entropyBits);
+        result.put("passwords", passwords);
+        result.put("elapsedMs", System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * Sorteia os caracteres a partir de um bloco de bytes aleatórios (uma chamada ao
+     * DRBG por senha em vez de uma por caractere). Bytes acima do maior múltiplo do
+     * tamanho do alfabeto são descartados, para que todos os caracteres tenham a
+     * mesma probabilidade.
+     */
+    private String generate(Alphabet alphabet, int length, boolean requireEachClass) {
+        char[] password = new char[length];
+        RandomBytes bytes = new RandomBytes(random, length * 2);
+        int position = 0;
+        if (requireEachClass) {
+            for (char[] charClass : alphabet.classes()) {
+                password[position++] = charClass[bytes.nextIndex(charClass.length)];
+            }
+        }
+        char[] chars = alphabet.chars();
+        while (position < length) {
+            password[position++] = chars[bytes.nextIndex(chars.length)];
+        }
+        if (requireEachClass) {
+            // Fisher-Yates: os caracteres obrigatórios não ficam sempre no início
+            for (int i = length - 1; i > 0; i--) {
+                int j = bytes.nextIndex(i + 1);
+                char swap = password[i];
+                password[i] = password[j];
+                password[j] = swap;
+            }
+        }
+        return new String(password);
+    }
+
+    private int checkLength(int length, int minLength) {
+        if (length < minLength || length > maxLength) {
+            throw new IllegalArgumentException("length deve estar entre " + minLength + " e " + maxLength);
+        }
+        return length;
+    }
+
+    private static Alphabet alphabet(boolean uppercase, boolean lowercase, boolean digits, boolean symbols,
+                                     boolean excludeAmbiguous) {
+        boolean[] enabled = { uppercase, lowercase, digits, symbols };
+        char[][] source = CLASSES[excludeAmbiguous ? 1 : 0];
+        List<char[]> classes = new ArrayList<>(CLASS_COUNT);
+        StringBuilder chars = new StringBuilder();
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            if (enabled[i]) {
+                classes.add(source[i]);
+                chars.append(source[i]);
+            }
+        }
+        if (classes.isEmpty()) {
+            throw new IllegalArgumentException("Ative ao menos uma classe de caracteres");
+        }
+        return new Alphabet(chars.toString().toCharArray(), classes.toArray(char[][]::new));
+    }
+
+    private static SecureRandom createRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG",
+                DrbgParameters.instantiation(256, DrbgParameters.Capability.RESEED_ONLY, null));
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    private record Alphabet(char[] chars, char[][] classes) {
+    }
+
+    /**
+     * Bytes aleatórios buscados em blocos, com reposição quando acabam.
+     */
+    private static final class RandomBytes {
+
+        private final SecureRandom random;
+        private final byte[] buffer;
+        private int position;
+
+        RandomBytes(SecureRandom random, int size) {
+            this.random = random;
+            this.buffer = new byte[size];
+            random.nextBytes(buffer);
+        }
+
+        /**
+         * Índice uniforme em [0, bound) para bound de até 256, por rejeição.
+         */
+        int nextIndex(int bound) {
+            int limit = 256 - 256 % bound;
+            while (true) {
+                if (position == buffer.length) {
+                    random.nextBytes(buffer);
+                    position = 0;
+                }
+                int value = buffer[position++] & 0xFF;
+                if (value < limit) {
+                    return value % bound;
+                }
+            }
+        }
+    }
+}
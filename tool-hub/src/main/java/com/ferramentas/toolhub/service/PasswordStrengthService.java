@@ -0,0 +1,872 @@
+package com.ferramentas.toolhub.service;
+
+import org.springframework.stereotype.Service;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Estimativa de força de senha no estilo do zxcvbn: a senha é coberta por padrões
+ * (palavras de dicionário, inclusive invertidas ou com trocas l33t, sequências do
+ * teclado, sequências como "abc", repetições, datas e anos) e a estimativa é o
+ * número de tentativas da combinação de padrões mais fácil de adivinhar.
+ * <p>
+ * As contas são feitas em log10: com até {@value #MAX_ANALYZED_LENGTH} caracteres o
+ * número de tentativas passa facilmente do alcance de um {@code long}.
+ */
+@Service
+public class PasswordStrengthService {
+
+    // Como no zxcvbn, só o começo de senhas muito longas é analisado
+    private static final int MAX_ANALYZED_LENGTH = 100;
+
+    private static final double BRUTEFORCE_CARDINALITY_LOG10 = 1;
+    private static final double MIN_SUBMATCH_GUESSES_SINGLE_CHAR = 10;
+    private static final double MIN_SUBMATCH_GUESSES_MULTI_CHAR = 50;
+    private static final double MIN_GUESSES_BEFORE_GROWING_SEQUENCE_LOG10 = 4;
+    private static final int MIN_YEAR_SPACE = 20;
+
+    private static final double[] SCORE_THRESHOLDS_LOG10 = {
+        Math.log10(1e3 + 5), Math.log10(1e6 + 5), Math.log10(1e8 + 5), Math.log10(1e10 + 5)
+    };
+
+    // Tentativas por segundo de cada cenário de ataque
+    private static final Map<String, Double> ATTACK_RATES = new LinkedHashMap<>();
+
+    static {
+        ATTACK_RATES.put("onlineThrottling", 100.0 / 3600);
+        ATTACK_RATES.put("onlineNoThrottling", 10.0);
+        ATTACK_RATES.put("offlineSlowHashing", 1e4);
+        ATTACK_RATES.put("offlineFastHashing", 1e10);
+    }
+
+    private static final Map<Character, char[]> L33T_TABLE = Map.ofEntries(
+        Map.entry('4', new char[] { 'a' }),
+        Map.entry('@', new char[] { 'a' }),
+        Map.entry('8', new char[] { 'b' }),
+        Map.entry('(', new char[] { 'c' }),
+        Map.entry('{', new char[] { 'c' }),
+        Map.entry('[', new char[] { 'c' }),
+        Map.entry('<', new char[] { 'c' }),
+        Map.entry('3', new char[] { 'e' }),
+        Map.entry('6', new char[] { 'g' }),
+        Map.entry('9', new char[] { 'g' }),
+        Map.entry('1', new char[] { 'i', 'l' }),
+        Map.entry('!', new char[] { 'i' }),
+        Map.entry('|', new char[] { 'i', 'l' }),
+        Map.entry('7', new char[] { 'l', 't' }),
+        Map.entry('0', new char[] { 'o' }),
+        Map.entry('$', new char[] { 's' }),
+        Map.entry('5', new char[] { 's' }),
+        Map.entry('+', new char[] { 't' }),
+        Map.entry('%', new char[] { 'x' }),
+        Map.entry('2', new char[] { 'z' })
+    );
+
+    // Teclado QWERTY inclinado: a tecla (x, y) é vizinha de (x±1, y), (x, y-1),
+    // (x+1, y-1), (x-1, y+1) e (x, y+1); cada linha tem a versão sem e com shift
+    private static final String[][] KEYBOARD_ROWS = {
+        { "`1234567890-=", "~!@#$%^&*()_+" },
+        { "qwertyuiop[]\\", "QWERTYUIOP{}|" },
+        { "asdfghjkl;'", "ASDFGHJKL:\"" },
+        { "zxcvbnm,./", "ZXCVBNM<>?" }
+    };
+    private static final int[][] KEYBOARD_DIRECTIONS = { { -1, 0 }, { 0, -1 }, { 1, -1 }, { 1, 0 }, { 0, 1 }, { -1, 1 } };
+    private static final Map<Character, int[]> KEY_POSITIONS = new HashMap<>();
+    private static final double KEYBOARD_STARTING_POSITIONS;
+    private static final double KEYBOARD_AVERAGE_DEGREE;
+
+    static {
+        Map<Long, Character> keys = new HashMap<>();
+        for (int y = 0; y < KEYBOARD_ROWS.length; y++) {
+            // A primeira linha começa meia tecla à esquerda: "1" fica sobre "q" e "w"
+            int offset = y == 0 ? -1 : 0;
+            for (int shifted = 0; shifted < 2; shifted++) {
+                String row = KEYBOARD_ROWS[y][shifted];
+                for (int k = 0; k < row.length(); k++) {
+                    KEY_POSITIONS.put(row.charAt(k), new int[] { k + offset, y, shifted });
+                    keys.put(keyId(k + offset, y), KEYBOARD_ROWS[y][0].charAt(k));
+                }
+            }
+        }
+        int degrees = 0;
+        for (long key : keys.keySet()) {
+            int x = (int) (key >> 32);
+            int y = (int) key;
+            for (int[] direction : KEYBOARD_DIRECTIONS) {
+                if (keys.containsKey(keyId(x + direction[0], y + direction[1]))) {
+                    degrees++;
+                }
+            }
+        }
+        KEYBOARD_STARTING_POSITIONS = keys.size();
+        KEYBOARD_AVERAGE_DEGREE = (double) degrees / keys.size();
+    }
+
+    private static final Pattern GREEDY_REPEAT = Pattern.compile("(.+)\\1+");
+    private static final Pattern LAZY_REPEAT = Pattern.compile("(.+?)\\1+");
+    private static final Pattern LAZY_ANCHORED_REPEAT = Pattern.compile("^(.+?)\\1+$");
+    private static final Pattern RECENT_YEAR = Pattern.compile("19\\d\\d|20\\d\\d");
+    private static final Pattern DATE_WITH_SEPARATOR = Pattern.compile("^(\\d{1,4})([\\s/\\\\_.-])(\\d{1,2})\\2(\\d{1,4})$");
+
+    // Onde cortar uma data só de dígitos, por comprimento (zxcvbn DATE_SPLITS)
+    private static final int[][][] DATE_SPLITS = {
+        {}, {}, {}, {},
+        { { 1, 2 }, { 2, 3 } },
+        { { 1, 3 }, { 2, 3 } },
+        { { 1, 2 }, { 2, 4 }, { 4, 5 } },
+        { { 1, 3 }, { 2, 3 }, { 4, 5 }, { 4, 6 } },
+        { { 2, 4 }, { 4, 6 } }
+    };
+
+    private static final double[] LOG10_FACTORIAL = new double[MAX_ANALYZED_LENGTH + 2];
+
+    static {
+        for (int i = 2; i < LOG10_FACTORIAL.length; i++) {
+            LOG10_FACTORIAL[i] = LOG10_FACTORIAL[i - 1] + Math.log10(i);
+        }
+    }
+
+    private final PasswordDictionary dictionary;
+
+    public PasswordStrengthService(PasswordDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public Map<String, Object> analyze(String password) {
+        if (password == null || password.isEmpty()) {
+            throw new IllegalArgumentException("Informe a senha");
+        }
+        long startTime = System.nanoTime();
+        boolean truncated = password.length() > MAX_ANALYZED_LENGTH;
+        String analyzed = truncated ? password.substring(0, MAX_ANALYZED_LENGTH) : password;
+        int referenceYear = Year.now().getValue();
+
+        Estimate estimate = mostGuessableSequence(analyzed, findMatches(analyzed, referenceYear));
+        int score = 0;
+        while (score < SCORE_THRESHOLDS_LOG10.length && estimate.guessesLog10() >= SCORE_THRESHOLDS_LOG10[score]) {
+            score++;
+        }
+
+        Map<String, Object> crackTimesSeconds = new LinkedHashMap<>();
+        Map<String, Object> crackTimesDisplay = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> rate : ATTACK_RATES.entrySet()) {
+            double secondsLog10 = estimate.guessesLog10() - Math.log10(rate.getValue());
+            crackTimesSeconds.put(rate.getKey(), secondsLog10 > 300 ? null : Math.pow(10, secondsLog10));
+            crackTimesDisplay.put(rate.getKey(), displayTime(secondsLog10));
+        }
+
+        List<Map<String, Object>> sequence = new ArrayList<>(estimate.sequence().size());
+        for (Match match : estimate.sequence()) {
+            sequence.add(match.toJson());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("score", score);
+        result.put("guessesLog10", round(estimate.guessesLog10()));
+        result.put("length", password.length());
+        result.put("truncated", truncated);
+        result.put("crackTimesSeconds", crackTimesSeconds);
+        result.put("crackTimesDisplay", crackTimesDisplay);
+        result.put("sequence", sequence);
+        result.put("feedback", feedback(score, estimate.sequence()));
+        result.put("elapsedMicros", (System.nanoTime() - startTime) / 1000);
+        return result;
+    }
+
+    private List<Match> findMatches(String password, int referenceYear) {
+        List<Match> matches = new ArrayList<>();
+        dictionaryMatches(password, matches);
+        reverseDictionaryMatches(password, matches);
+        spatialMatches(password, matches);
+        sequenceMatches(password, matches);
+        repeatMatches(password, referenceYear, matches);
+        yearMatches(password, referenceYear, matches);
+        dateMatches(password, referenceYear, matches);
+        return matches;
+    }
+
+    // ---------------------------------------------------------------- dicionário
+
+    /**
+     * Percorre a trie a partir de cada posição; um caractere com troca l33t abre um
+     * ramo para cada letra que ele pode representar, então as variações não precisam
+     * ser enumeradas antes da busca.
+     */
+    private void dictionaryMatches(String password, List<Match> matches) {
+        String lower = password.toLowerCase(Locale.ROOT);
+        char[] word = new char[lower.length()];
+        for (int start = 0; start < lower.length(); start++) {
+            walk(password, lower, start, start, PasswordDictionary.ROOT, word, 0, matches);
+        }
+    }
+
+    private void walk(String password, String lower, int start, int position, int node, char[] word, int substitutions,
+                      List<Match> matches) {
+        if (position == lower.length()) {
+            return;
+        }
+        char c = lower.charAt(position);
+        visit(password, lower, start, position, node, word, substitutions, c, matches);
+        char[] l33t = L33T_TABLE.get(c);
+        if (l33t != null) {
+            for (char letter : l33t) {
+                visit(password, lower, start, position, node, word, substitutions + 1, letter, matches);
+            }
+        }
+    }
+
+    private void visit(String password, String lower, int start, int position, int node, char[] word,
+                       int substitutions, char letter, List<Match> matches) {
+        int child = dictionary.child(node, letter);
+        if (child < 0) {
+            return;
+        }
+        word[position - start] = letter;
+        int rank = dictionary.rank(child);
+        // Troca l33t em um único caractere não é um padrão reconhecível
+        if (rank > 0 && (substitutions == 0 || position > start)) {
+            String token = password.substring(start, position + 1);
+            String matchedWord = new String(word, 0, position - start + 1);
+            double guesses = rank * uppercaseVariations(token);
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("matchedWord", matchedWord);
+            details.put("rank", rank);
+            details.put("dictionary", dictionary.dictionaryName(child));
+            details.put("reversed", false);
+            details.put("l33t", substitutions > 0);
+            if (substitutions > 0) {
+                guesses *= l33tVariations(lower.substring(start, position + 1), matchedWord);
+            }
+            matches.add(Match.of("dictionary", start, position, token, guesses, details));
+        }
+        walk(password, lower, start, position + 1, child, word, substitutions, matches);
+    }
+
+    private void reverseDictionaryMatches(String password, List<Match> matches) {
+        String reversed = new StringBuilder(password).reverse().toString();
+        String lower = reversed.toLowerCase(Locale.ROOT);
+        int n = password.length();
+        for (int start = 0; start < n; start++) {
+            int node = PasswordDictionary.ROOT;
+            for (int position = start; position < n; position++) {
+                node = dictionary.child(node, lower.charAt(position));
+                if (node < 0) {
+                    break;
+                }
+                int rank = dictionary.rank(node);
+                String matchedWord = lower.substring(start, position + 1);
+                if (rank == 0 || matchedWord.length() < 2 || isPalindrome(matchedWord)) {
+                    continue;
+                }
+                int i = n - 1 - position;
+                int j = n - 1 - start;
+                String token = password.substring(i, j + 1);
+                Map<String, Object> details = new LinkedHashMap<>();
+                details.put("matchedWord", matchedWord);
+                details.put("rank", rank);
+                details.put("dictionary", dictionary.dictionaryName(node));
+                details.put("reversed", true);
+                details.put("l33t", false);
+                matches.add(Match.of("dictionary", i, j, token, rank * uppercaseVariations(token) * 2, details));
+            }
+        }
+    }
+
+    private static double uppercaseVariations(String token) {
+        int upper = 0;
+        int lower = 0;
+        for (int k = 0; k < token.length(); k++) {
+            char c = token.charAt(k);
+            if (Character.isUpperCase(c)) {
+                upper++;
+            } else if (Character.isLowerCase(c)) {
+                lower++;
+            }
+        }
+        if (upper == 0) {
+            return 1;
+        }
+        // Só a primeira, só a última ou todas maiúsculas: apenas o dobro de tentativas
+        boolean firstOnly = upper == 1 && Character.isUpperCase(token.charAt(0));
+        boolean lastOnly = upper == 1 && Character.isUpperCase(token.charAt(token.length() - 1));
+        if (firstOnly || lastOnly || lower == 0) {
+            return 2;
+        }
+        double variations = 0;
+        for (int k = 1; k <= Math.min(upper, lower); k++) {
+            variations += binomial(upper + lower, k);
+        }
+        return variations;
+    }
+
+    private static double l33tVariations(String token, String word) {
+        Map<Character, Character> substitutions = new HashMap<>();
+        for (int k = 0; k < token.length(); k++) {
+            if (token.charAt(k) != word.charAt(k)) {
+                substitutions.put(token.charAt(k), word.charAt(k));
+            }
+        }
+        double variations = 1;
+        for (Map.Entry<Character, Character> substitution : substitutions.entrySet()) {
+            int subbed = count(token, substitution.getKey());
+            int unsubbed = count(token, substitution.getValue());
+            if (unsubbed == 0) {
+                variations *= 2;
+            } else {
+                double possibilities = 0;
+                for (int k = 1; k <= Math.min(subbed, unsubbed); k++) {
+                    possibilities += binomial(subbed + unsubbed, k);
+                }
+                variations *= possibilities;
+            }
+        }
+        return variations;
+    }
+
+    // ---------------------------------------------------------------- teclado
+
+    private void spatialMatches(String password, List<Match> matches) {
+        int n = password.length();
+        int start = 0;
+        while (start < n - 2) {
+            int[] previous = KEY_POSITIONS.get(password.charAt(start));
+            int end = start;
+            int turns = 0;
+            int lastDirection = -1;
+            int shifted = previous != null && previous[2] == 1 ? 1 : 0;
+            while (previous != null && end + 1 < n) {
+                int[] current = KEY_POSITIONS.get(password.charAt(end + 1));
+                int direction = current == null ? -1 : direction(previous, current);
+                if (direction < 0) {
+                    break;
+                }
+                if (direction != lastDirection) {
+                    turns++;
+                    lastDirection = direction;
+                }
+                shifted += current[2];
+                previous = current;
+                end++;
+            }
+            int length = end - start + 1;
+            if (length >= 3) {
+                String token = password.substring(start, end + 1);
+                Map<String, Object> details = new LinkedHashMap<>();
+                details.put("turns", turns);
+                details.put("shiftedCount", shifted);
+                matches.add(Match.of("spatial", start, end, token, spatialGuesses(length, turns, shifted), details));
+                start = end;
+            } else {
+                start++;
+            }
+        }
+    }
+
+    private static int direction(int[] from, int[] to) {
+        for (int d = 0; d < KEYBOARD_DIRECTIONS.length; d++) {
+            if (from[0] + KEYBOARD_DIRECTIONS[d][0] == to[0] && from[1] + KEYBOARD_DIRECTIONS[d][1] == to[1]) {
+                return d;
+            }
+        }
+        return -1;
+    }
+
+    private static double spatialGuesses(int length, int turns, int shifted) {
+        double guesses = 0;
+        for (int i = 2; i <= length; i++) {
+            int possibleTurns = Math.min(turns, i - 1);
+            for (int j = 1; j <= possibleTurns; j++) {
+                guesses += binomial(i - 1, j - 1) * KEYBOARD_STARTING_POSITIONS * Math.pow(KEYBOARD_AVERAGE_DEGREE, j);
+            }
+        }
+        if (shifted > 0) {
+            int unshifted = length - shifted;
+            if (unshifted == 0) {
+                guesses *= 2;
+            } else {
+                double variations = 0;
+                for (int k = 1; k <= Math.min(shifted, unshifted); k++) {
+                    variations += binomial(shifted + unshifted, k);
+                }
+                guesses *= variations;
+            }
+        }
+        return guesses;
+    }
+
+    // ---------------------------------------------------------------- sequências e repetições
+
+    /**
+     * Trechos com passo constante entre caracteres, como "abc", "7531" ou "zyx".
+     */
+    private static void sequenceMatches(String password, List<Match> matches) {
+        int n = password.length();
+        int start = 0;
+        while (start < n - 2) {
+            int delta = password.charAt(start + 1) - password.charAt(start);
+            int end = start + 1;
+            if (delta != 0 && Math.abs(delta) <= 5) {
+                while (end + 1 < n && password.charAt(end + 1) - password.charAt(end) == delta) {
+                    end++;
+                }
+            }
+            if (delta != 0 && Math.abs(delta) <= 5 && end - start >= 2) {
+                String token = password.substring(start, end + 1);
+                char first = token.charAt(0);
+                double base;
+                if ("aAzZ019".indexOf(first) >= 0) {
+                    base = 4;
+                } else if (Character.isDigit(first)) {
+                    base = 10;
+                } else if (Character.isLowerCase(first)) {
+                    base = 26;
+                } else {
+                    base = 52;
+                }
+                if (delta < 0) {
+                    base *= 2;
+                }
+                Map<String, Object> details = new LinkedHashMap<>();
+                details.put("ascending", delta > 0);
+                matches.add(Match.of("sequence", start, end, token, base * token.length(), details));
+                start = end;
+            } else {
+                start++;
+            }
+        }
+    }
+
+    /**
+     * Repetições como "aaaa" ou "abcabc". A unidade repetida é avaliada como uma
+     * senha própria e o total é essa estimativa vezes o número de repetições.
+     */
+    private void repeatMatches(String password, int referenceYear, List<Match> matches) {
+        int n = password.length();
+        Matcher greedy = GREEDY_REPEAT.matcher(password);
+        Matcher lazy = LAZY_REPEAT.matcher(password);
+        int lastIndex = 0;
+        while (lastIndex < n) {
+            greedy.region(lastIndex, n);
+            lazy.region(lastIndex, n);
+            if (!greedy.find() || !lazy.find()) {
+                break;
+            }
+            int start;
+            int end;
+            String base;
+            if (greedy.group().length() > lazy.group().length()) {
+                start = greedy.start();
+                end = greedy.end();
+                Matcher anchored = LAZY_ANCHORED_REPEAT.matcher(greedy.group());
+                base = anchored.matches() ? anchored.group(1) : greedy.group(1);
+            } else {
+                start = lazy.start();
+                end = lazy.end();
+                base = lazy.group(1);
+            }
+            String token = password.substring(start, end);
+            int repeatCount = token.length() / base.length();
+            Estimate baseEstimate = mostGuessableSequence(base, findMatches(base, referenceYear));
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("baseToken", base);
+            details.put("repeatCount", repeatCount);
+            matches.add(Match.of("repeat", start, end - 1, token,
+                Math.pow(10, baseEstimate.guessesLog10()) * repeatCount, details));
+            lastIndex = end;
+        }
+    }
+
+    // ---------------------------------------------------------------- datas
+
+    private static void yearMatches(String password, int referenceYear, List<Match> matches) {
+        Matcher matcher = RECENT_YEAR.matcher(password);
+        while (matcher.find()) {
+            int year = Integer.parseInt(matcher.group());
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("year", year);
+            matches.add(Match.of("year", matcher.start(), matcher.end() - 1, matcher.group(),
+                Math.max(Math.abs(year - referenceYear), MIN_YEAR_SPACE), details));
+        }
+    }
+
+    private static void dateMatches(String password, int referenceYear, List<Match> matches) {
+        int n = password.length();
+        for (int i = 0; i < n - 3; i++) {
+            // Só dígitos: 4 a 8 caracteres, testando os cortes possíveis
+            for (int j = i + 3; j <= Math.min(i + 7, n - 1); j++) {
+                String token = password.substring(i, j + 1);
+                if (!isDigits(token)) {
+                    break;
+                }
+                int[] best = null;
+                for (int[] split : DATE_SPLITS[token.length()]) {
+                    int[] date = toDate(
+                        Integer.parseInt(token.substring(0, split[0])),
+                        Integer.parseInt(token.substring(split[0], split[1])),
+                        Integer.parseInt(token.substring(split[1])));
+                    if (date != null && (best == null
+                            || Math.abs(date[0] - referenceYear) < Math.abs(best[0] - referenceYear))) {
+                        best = date;
+                    }
+                }
+                if (best != null) {
+                    matches.add(dateMatch(i, j, token, best, "", referenceYear));
+                }
+            }
+            // Com separador: 6 a 10 caracteres, como 1/1/91 ou 1991-01-01
+            for (int j = i + 5; j <= Math.min(i + 9, n - 1); j++) {
+                String token = password.substring(i, j + 1);
+                Matcher matcher = DATE_WITH_SEPARATOR.matcher(token);
+                if (matcher.matches()) {
+                    int[] date = toDate(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(3)),
+                        Integer.parseInt(matcher.group(4)));
+                    if (date != null) {
+                        matches.add(dateMatch(i, j, token, date, matcher.group(2), referenceYear));
+                    }
+                }
+            }
+        }
+    }
+
+    private static Match dateMatch(int i, int j, String token, int[] date, String separator, int referenceYear) {
+        double guesses = Math.max(Math.abs(date[0] - referenceYear), MIN_YEAR_SPACE) * 365.0;
+        if (!separator.isEmpty()) {
+            guesses *= 4;
+        }
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("year", date[0]);
+        details.put("month", date[1]);
+        details.put("day", date[2]);
+        details.put("separator", separator);
+        return Match.of("date", i, j, token, guesses, details);
+    }
+
+    /**
+     * Interpreta três números como dia, mês e ano (ano no começo ou no fim). Devolve
+     * {ano, mês, dia} ou null se nenhuma leitura for uma data válida.
+     */
+    private static int[] toDate(int a, int b, int c) {
+        int[][] candidates = { { c, a, b }, { a, b, c } };
+        for (int[] candidate : candidates) {
+            int year = twoToFourDigitYear(candidate[0]);
+            if (year < 1000 || year > 2050) {
+                continue;
+            }
+            int first = candidate[1];
+            int second = candidate[2];
+            if (first >= 1 && first <= 31 && second >= 1 && second <= 12) {
+                return new int[] { year, second, first };
+            }
+            if (second >= 1 && second <= 31 && first >= 1 && first <= 12) {
+                return new int[] { year, first, second };
+            }
+        }
+        return null;
+    }
+
+    private static int twoToFourDigitYear(int year) {
+        if (year > 99) {
+            return year;
+        }
+        return year > 50 ? year + 1900 : year + 2000;
+    }
+
+    // ---------------------------------------------------------------- combinação
+
+    /**
+     * Programação dinâmica do zxcvbn: para cada posição final k e número de padrões l
+     * guarda a sequência com menos tentativas, contando l! ordens possíveis e uma
+     * penalidade por padrão adicional. Trechos sem padrão viram força bruta.
+     */
+    private static Estimate mostGuessableSequence(String password, List<Match> matches) {
+        int n = password.length();
+        List<List<Match>> byEnd = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            byEnd.add(new ArrayList<>());
+        }
+        for (Match match : matches) {
+            byEnd.get(match.j()).add(match.withMinimum(n));
+        }
+
+        Match[][] best = new Match[n][n + 1];
+        double[][] piLog10 = new double[n][n + 1];
+        double[][] totalLog10 = new double[n][n + 1];
+        for (int k = 0; k < n; k++) {
+            Arrays.fill(totalLog10[k], Double.POSITIVE_INFINITY);
+        }
+
+        for (int k = 0; k < n; k++) {
+            for (Match match : byEnd.get(k)) {
+                if (match.i() == 0) {
+                    update(match, 1, best, piLog10, totalLog10);
+                } else {
+                    for (int l = 1; l <= n; l++) {
+                        if (best[match.i() - 1][l] != null) {
+                            update(match, l + 1, best, piLog10, totalLog10);
+                        }
+                    }
+                }
+            }
+            update(bruteforce(password, 0, k), 1, best, piLog10, totalLog10);
+            for (int i = 1; i <= k; i++) {
+                Match bruteforce = bruteforce(password, i, k);
+                for (int l = 1; l <= n; l++) {
+                    // Duas forças brutas seguidas valem menos que uma só mais longa
+                    if (best[i - 1][l] != null && !"bruteforce".equals(best[i - 1][l].pattern())) {
+                        update(bruteforce, l + 1, best, piLog10, totalLog10);
+                    }
+                }
+            }
+        }
+
+        int length = 0;
+        double guessesLog10 = Double.POSITIVE_INFINITY;
+        for (int l = 1; l <= n; l++) {
+            if (totalLog10[n - 1][l] < guessesLog10) {
+                guessesLog10 = totalLog10[n - 1][l];
+                length = l;
+            }
+        }
+        List<Match> sequence = new ArrayList<>(length);
+        for (int k = n - 1, l = length; k >= 0; l--) {
+            Match match = best[k][l];
+            sequence.add(0, match);
+            k = match.i() - 1;
+        }
+        return new Estimate(guessesLog10, sequence);
+    }
+
+    private static void update(Match match, int l, Match[][] best, double[][] piLog10, double[][] totalLog10) {
+        if (l >= best[0].length) {
+            return;
+        }
+        int k = match.j();
+        double pi = match.guessesLog10() + (l > 1 ? piLog10[match.i() - 1][l - 1] : 0);
+        double total = log10Sum(LOG10_FACTORIAL[l] + pi, MIN_GUESSES_BEFORE_GROWING_SEQUENCE_LOG10 * (l - 1));
+        for (int shorter = 1; shorter <= l; shorter++) {
+            if (totalLog10[k][shorter] <= total) {
+                return;
+            }
+        }
+        best[k][l] = match;
+        piLog10[k][l] = pi;
+        totalLog10[k][l] = total;
+    }
+
+    private static Match bruteforce(String password, int i, int j) {
+        double guessesLog10 = BRUTEFORCE_CARDINALITY_LOG10 * (j - i + 1);
+        double minimum = j == i ? MIN_SUBMATCH_GUESSES_SINGLE_CHAR + 1 : MIN_SUBMATCH_GUESSES_MULTI_CHAR + 1;
+        return new Match("bruteforce", i, j, password.substring(i, j + 1),
+            Math.max(guessesLog10, Math.log10(minimum)), Map.of());
+    }
+
+    // ---------------------------------------------------------------- resposta
+
+    private static Map<String, Object> feedback(int score, List<Match> sequence) {
+        Map<String, Object> feedback = new LinkedHashMap<>();
+        List<String> suggestions = new ArrayList<>();
+        if (score > 2) {
+            feedback.put("warning", "");
+            feedback.put("suggestions", suggestions);
+            return feedback;
+        }
+
+        Match longest = null;
+        for (Match match : sequence) {
+            if (longest == null || match.token().length() > longest.token().length()) {
+                longest = match;
+            }
+        }
+        String warning = longest == null ? "" : warning(longest, sequence.size() == 1);
+        suggestions.add("Use algumas palavras pouco comuns juntas; evite frases conhecidas");
+        if (longest != null && "dictionary".equals(longest.pattern())) {
+            if (Boolean.TRUE.equals(longest.details().get("l33t"))) {
+                suggestions.add("Trocas previsíveis como '@' no lugar de 'a' ajudam pouco");
+            }
+            if (Boolean.TRUE.equals(longest.details().get("reversed"))) {
+                suggestions.add("Palavras escritas de trás para frente não são muito mais difíceis de adivinhar");
+            }
+            if (!longest.token().equals(longest.token().toLowerCase(Locale.ROOT))) {
+                suggestions.add("Letras maiúsculas ajudam pouco quando estão em posições previsíveis");
+            }
+        }
+        if (longest != null && ("date".equals(longest.pattern()) || "year".equals(longest.pattern()))) {
+            suggestions.add("Evite datas e anos ligados a você");
+        }
+        feedback.put("warning", warning);
+        feedback.put("suggestions", suggestions);
+        return feedback;
+    }
+
+    private static String warning(Match match, boolean soleMatch) {
+        switch (match.pattern()) {
+            case "dictionary": {
+                String name = (String) match.details().get("dictionary");
+                int rank = (Integer) match.details().get("rank");
+                if ("passwords".equals(name)) {
+                    if (soleMatch && rank <= 10) {
+                        return "Esta é uma das 10 senhas mais comuns";
+                    }
+                    if (soleMatch && rank <= 100) {
+                        return "Esta é uma das 100 senhas mais comuns";
+                    }
+                    return "Esta senha é muito comum";
+                }
+                if ("names".equals(name)) {
+                    return "Nomes e sobrenomes são fáceis de adivinhar";
+                }
+                return soleMatch ? "Uma palavra sozinha é fácil de adivinhar" : "";
+            }
+            case "spatial":
+                return "Sequências do teclado como qwerty são fáceis de adivinhar";
+            case "repeat":
+                return "Repetições como \"aaa\" ou \"abcabc\" são fáceis de adivinhar";
+            case "sequence":
+                return "Sequências como abc ou 6543 são fáceis de adivinhar";
+            case "date":
+            case "year":
+                return "Datas e anos costumam ser fáceis de adivinhar";
+            default:
+                return "";
+        }
+    }
+
+    private static String displayTime(double secondsLog10) {
+        if (secondsLog10 > 300) {
+            return "séculos";
+        }
+        double seconds = Math.pow(10, secondsLog10);
+        double minute = 60;
+        double hour = minute * 60;
+        double day = hour * 24;
+        double month = day * 31;
+        double year = month * 12;
+        if (seconds < 1) {
+            return "menos de um segundo";
+        }
+        if (seconds < minute) {
+            return plural(Math.round(seconds), "segundo", "segundos");
+        }
+        if (seconds < hour) {
+            return plural(Math.round(seconds / minute), "minuto", "minutos");
+        }
+        if (seconds < day) {
+            return plural(Math.round(seconds / hour), "hora", "horas");
+        }
+        if (seconds < month) {
+            return plural(Math.round(seconds / day), "dia", "dias");
+        }
+        if (seconds < year) {
+            return plural(Math.round(seconds / month), "mês", "meses");
+        }
+        if (seconds < year * 100) {
+            return plural(Math.round(seconds / year), "ano", "anos");
+        }
+        return "séculos";
+    }
+
+    private static String plural(long value, String singular, String pluralForm) {
+        return value + " " + (value == 1 ? singular : pluralForm);
+    }
+
+    // ---------------------------------------------------------------- utilitários
+
+    private static double log10Sum(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log10(Math.pow(10, a - max) + Math.pow(10, b - max));
+    }
+
+    private static double binomial(int n, int k) {
+        if (k > n) {
+            return 0;
+        }
+        double result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    private static int count(String token, char c) {
+        int count = 0;
+        for (int k = 0; k < token.length(); k++) {
+            if (token.charAt(k) == c) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isDigits(String token) {
+        for (int k = 0; k < token.length(); k++) {
+            if (!Character.isDigit(token.charAt(k))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPalindrome(String word) {
+        for (int a = 0, b = word.length() - 1; a < b; a++, b--) {
+            if (word.charAt(a) != word.charAt(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long keyId(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private record Estimate(double guessesLog10, List<Match> sequence) {
+    }
+
+    /**
+     * Padrão encontrado em [i, j]. As tentativas ficam em log10.
+     */
+    private record Match(String pattern, int i, int j, String token, double guessesLog10,
+                         Map<String, Object> details) {
+
+        static Match of(String pattern, int i, int j, String token, double guesses, Map<String, Object> details) {
+            return new Match(pattern, i, j, token, Math.log10(Math.max(guesses, 1)), details);
+        }
+
+        /**
+         * Um padrão que não cobre a senha inteira vale ao menos o mínimo do zxcvbn,
+         * para que a senha não seja fatiada em pedaços triviais.
+         */
+        Match withMinimum(int passwordLength) {
+            if (token.length() == passwordLength) {
+                return this;
+            }
+            double minimum = Math.log10(token.length() == 1
+                ? MIN_SUBMATCH_GUESSES_SINGLE_CHAR : MIN_SUBMATCH_GUESSES_MULTI_CHAR);
+            return guessesLog10 >= minimum ? this : new Match(pattern, i, j, token, minimum, details);
+        }
+
+        Map<String, Object> toJson() {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("pattern", pattern);
+            json.put("token", token);
+            json.put("i", i);
+            json.put("j", j);
+            json.put("guessesLog10", round(guessesLog10));
+            json.putAll(details);
+            return json;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ferramentas.toolhub.service;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.zip.Checksum;
+
+/**
+ * Função de hash alimentada em blocos. Digests do JCA, checksums de
+ * {@code java.util.zip} e os hashes não criptográficos implementados aqui passam
+ * pela mesma interface, então o caminho de upload não precisa distingui-los.
+ */
+interface StreamingHash {
+
+    String name();
+
+    /**
+     * Consome os bytes de {@code position} até {@code limit}.
+     */
+    void update(ByteBuffer data);
+
+    /**
+     * Devolve o resultado em big-endian e deixa a instância pronta para reuso.
+     */
+    byte[] finish();
+
+    void reset();
+
+    static StreamingHash of(MessageDigest digest) {
+        return new StreamingHash() {
+            @Override
+            public String name() {
+                return digest.getAlgorithm();
+            }
+
+            @Override
+            public void update(ByteBuffer data) {
+                digest.update(data);
+            }
+
+            @Override
+            public byte[] finish() {
+                return digest.digest();
+            }
+
+            @Override
+            public void reset() {
+                digest.reset();
+            }
+        };
+    }
+
+    /**
+     * Checksums de 32 bits (CRC32, CRC32C, Adler32). O CRC32C é intrínseco na JVM em
+     * x86 e ARM, e com buffers diretos não há cópia para array.
+     */
+    static StreamingHash of(String name, Checksum checksum) {
+        return new StreamingHash() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void update(ByteBuffer data) {
+                checksum.update(data);
+            }
+
+            @Override
+            public byte[] finish() {
+                int value = (int) checksum.getValue();
+                checksum.reset();
+                return new byte[] { (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value };
+            }
+
+            @Override
+            public void reset() {
+                checksum.reset();
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.ferramentas.toolhub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ferramentas.toolhub.model.Tool;
+import com.ferramentas.toolhub.repository.ToolRepository;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Snapshot em memória do catálogo de ferramentas ativas. O JSON é serializado uma
+ * única vez por versão do catálogo, junto com um ETag forte derivado do conteúdo,
+ * então a listagem pública não consulta o banco nem o Jackson em regime normal.
+ * Escritas do admin chamam {@link #invalidate()}, que descarta e recarrega o snapshot.
+ */
+@Component
+public class ToolCatalogCache {
+
+    private final ToolRepository toolRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+    // Incrementada a cada invalidação; um rebuild iniciado antes dela não é publicado
+    private long version;
+
+    public ToolCatalogCache(ToolRepository toolRepository, ObjectMapper objectMapper) {
+        this.toolRepository = toolRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = load();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Descarta o snapshot atual e já carrega o próximo, para que a primeira leitura
+     * depois de uma escrita não pague a consulta.
+     */
+    public void invalidate() {
+        long expected;
+        synchronized (this) {
+            snapshot = null;
+            expected = ++version;
+        }
+        Snapshot fresh = load();
+        synchronized (this) {
+            if (version == expected && snapshot == null) {
+                snapshot = fresh;
+            }
+        }
+    }
+
+    private Snapshot load() {
+        List<Tool> tools = List.copyOf(toolRepository.findByActiveTrue());
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(tools);
+            return new Snapshot(tools, json, etag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o catálogo de ferramentas", e);
+        }
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Snapshot(List<Tool> tools, byte[] json, String etag) {
+    }
+}
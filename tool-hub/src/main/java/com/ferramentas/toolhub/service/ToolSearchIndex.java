@@ -0,0 +1,352 @@
+package com.ferramentas.toolhub.service;
+
+import com.ferramentas.toolhub.model.Tool;
+import com.ferramentas.toolhub.repository.ToolRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória das ferramentas ativas (título, chave e descrição).
+ * Os termos são normalizados sem acento e em minúsculas, e ficam num {@link TreeMap}
+ * para que cada termo da busca funcione como prefixo ("gera" encontra "gerador").
+ * Escritas do admin atualizam só a ferramenta alterada; a popularidade vem dos
+ * totais de {@code usage_rollup_daily}, recalculados periodicamente.
+ */
+@Component
+public class ToolSearchIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Peso de cada ocorrência conforme o campo em que o termo aparece
+    private static final int TITLE_WEIGHT = 3;
+    private static final int KEY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    // Termo completo vale mais que um prefixo dele
+    private static final double PREFIX_FACTOR = 0.5;
+
+    private final ToolRepository toolRepository;
+    private final UsageRollupService usageRollupService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // termo -> (id da ferramenta -> frequência ponderada)
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, IndexedTool> documents = new HashMap<>();
+    private boolean loaded;
+    // Escritas feitas antes do primeiro carregamento ou durante um rebuild, que leu o
+    // banco sem o lock: são reaplicadas sobre o resultado dele (valor nulo = remoção)
+    private final Map<Long, Tool> pendingWrites = new HashMap<>();
+    private int rebuildsInProgress;
+
+    // Nome normalizado da ferramenta (como gravado nos logs) -> quantidade de usos
+    private volatile Map<String, Long> usageByTool = Map.of();
+
+    @Value("${TOOL_SEARCH_POPULARITY_WEIGHT:1.0}")
+    private double popularityWeight;
+
+    @Value("${TOOL_SEARCH_MAX_RESULTS:100}")
+    private int maxResults;
+
+    // Janela de dias do rollup somada na popularidade; 0 usa todo o histórico
+    @Value("${TOOL_SEARCH_POPULARITY_DAYS:365}")
+    private int popularityDays;
+
+    public ToolSearchIndex(ToolRepository toolRepository, UsageRollupService usageRollupService) {
+        this.toolRepository = toolRepository;
+        this.usageRollupService = usageRollupService;
+    }
+
+    /**
+     * Busca ferramentas cujos termos começam com cada termo da consulta (todos
+     * precisam casar). A pontuação é a frequência ponderada dos termos mais
+     * {@code popularityWeight * ln(1 + usos)}. Consulta vazia lista as ferramentas
+     * ativas por popularidade.
+     */
+    public Map<String, Object> search(String query, Integer limit) {
+        int max = limit == null ? 20 : limit;
+        if (max < 1 || max > maxResults) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + maxResults);
+        }
+        ensureLoaded();
+        List<String> terms = tokenize(query);
+        Map<String, Long> usage = usageByTool;
+
+        long start = System.nanoTime();
+        List<Map.Entry<IndexedTool, Double>> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> textScores = terms.isEmpty() ? null : textScores(terms);
+            if (textScores == null) {
+                for (IndexedTool doc : documents.values()) {
+                    hits.add(Map.entry(doc, popularity(doc, usage)));
+                }
+            } else {
+                textScores.forEach((id, score) -> {
+                    IndexedTool doc = documents.get(id);
+                    hits.add(Map.entry(doc, score + popularity(doc, usage)));
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Map.Entry.<IndexedTool, Double>comparingByValue().reversed()
+            .thenComparing(e -> e.getKey().tool().getTitle(), Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<Map<String, Object>> results = new ArrayList<>(Math.min(max, hits.size()));
+        for (Map.Entry<IndexedTool, Double> hit : hits.subList(0, Math.min(max, hits.size()))) {
+            Tool tool = hit.getKey().tool();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", tool.getId());
+            row.put("key", tool.getKey());
+            row.put("title", tool.getTitle());
+            row.put("description", tool.getDescription());
+            row.put("icon", tool.getIcon());
+            row.put("href", tool.getHref());
+            row.put("usageCount", usageCount(hit.getKey(), usage));
+            row.put("score", Math.round(hit.getValue() * 1000) / 1000.0);
+            results.add(row);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("query", query == null ? "" : query);
+        response.put("terms", terms);
+        response.put("total", hits.size());
+        response.put("results", results);
+        response.put("tookMicros", (System.nanoTime() - start) / 1_000);
+        return response;
+    }
+
+    /**
+     * Soma, por ferramenta, a frequência de todos os termos do índice que começam
+     * com cada termo da consulta; ferramentas que não casam algum termo saem.
+     */
+    private Map<Long, Double> textScores(List<String> terms) {
+        Map<Long, Double> scores = null;
+        for (String term : terms) {
+            Map<Long, Double> termScores = new HashMap<>();
+            SortedMap<String, Map<Long, Integer>> matches = postings.subMap(term, term + Character.MAX_VALUE);
+            for (Map.Entry<String, Map<Long, Integer>> match : matches.entrySet()) {
+                double factor = match.getKey().length() == term.length() ? 1.0 : PREFIX_FACTOR;
+                match.getValue().forEach((id, frequency) -> termScores.merge(id, frequency * factor, Double::sum));
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Long, Double> previous = scores;
+                termScores.keySet().retainAll(previous.keySet());
+                termScores.replaceAll((id, score) -> score + previous.get(id));
+                scores = termScores;
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private double popularity(IndexedTool doc, Map<String, Long> usage) {
+        return popularityWeight * Math.log1p(usageCount(doc, usage));
+    }
+
+    private static long usageCount(IndexedTool doc, Map<String, Long> usage) {
+        // Os logs gravam o nome livre enviado pelo front: aceita chave ou título
+        long byKey = usage.getOrDefault(doc.normalizedKey(), 0L);
+        long byTitle = doc.normalizedTitle().equals(doc.normalizedKey()) ? 0L
+            : usage.getOrDefault(doc.normalizedTitle(), 0L);
+        return byKey + byTitle;
+    }
+
+    /**
+     * Reindexa uma ferramenta após criação ou alteração; inativas saem do índice.
+     */
+    public void upsert(Tool tool) {
+        if (tool == null || tool.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(tool.getId(), tool.isActive() ? tool : null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            apply(id, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recarrega todas as ferramentas ativas do banco. A consulta roda fora do lock;
+     * escritas que chegam nesse meio-tempo são guardadas e reaplicadas no fim, para
+     * que a lista lida do banco não as desfaça.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuildsInProgress++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Tool> tools = null;
+        try {
+            tools = toolRepository.findByActiveTrue();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuildsInProgress--;
+                if (tools != null) {
+                    postings.clear();
+                    documents.clear();
+                    for (Tool tool : tools) {
+                        addDocument(tool);
+                    }
+                    pendingWrites.forEach(this::applyToIndex);
+                    loaded = true;
+                }
+                if (rebuildsInProgress == 0 && loaded) {
+                    pendingWrites.clear();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Scheduled(
+        initialDelayString = "${TOOL_SEARCH_POPULARITY_REFRESH_MS:300000}",
+        fixedDelayString = "${TOOL_SEARCH_POPULARITY_REFRESH_MS:300000}")
+    public void refreshPopularity() {
+        LocalDate since = popularityDays > 0 ? LocalDate.now().minusDays(popularityDays) : null;
+        Map<String, Long> usage = new HashMap<>();
+        usageRollupService.usageByTool(since).forEach((toolName, count) -> {
+            if (toolName != null) {
+                usage.merge(normalize(toolName), count, Long::sum);
+            }
+        });
+        usageByTool = Map.copyOf(usage);
+    }
+
+    private void ensureLoaded() {
+        if (isLoaded()) {
+            return;
+        }
+        synchronized (this) {
+            if (!isLoaded()) {
+                rebuild();
+                refreshPopularity();
+            }
+        }
+    }
+
+    private boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Chamados com o write lock
+    private void apply(Long id, Tool tool) {
+        if (!loaded || rebuildsInProgress > 0) {
+            pendingWrites.put(id, tool);
+        }
+        if (loaded) {
+            applyToIndex(id, tool);
+        }
+    }
+
+    private void applyToIndex(Long id, Tool tool) {
+        removeDocument(id);
+        if (tool != null) {
+            addDocument(tool);
+        }
+    }
+
+    private void addDocument(Tool tool) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        countTerms(tool.getTitle(), TITLE_WEIGHT, frequencies);
+        countTerms(tool.getKey(), KEY_WEIGHT, frequencies);
+        countTerms(tool.getDescription(), DESCRIPTION_WEIGHT, frequencies);
+
+        IndexedTool doc = new IndexedTool(tool, List.copyOf(frequencies.keySet()),
+            normalize(tool.getKey()), normalize(tool.getTitle()));
+        documents.put(tool.getId(), doc);
+        frequencies.forEach((term, frequency) ->
+            postings.computeIfAbsent(term, t -> new HashMap<>()).put(tool.getId(), frequency));
+    }
+
+    private void removeDocument(Long id) {
+        IndexedTool previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Map<Long, Integer> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void countTerms(String text, int weight, Map<String, Integer> frequencies) {
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : NON_ALPHANUMERIC.split(normalized)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Remove acentos (NFD + marcas combinantes) e passa para minúsculas, para que
+     * "codificacao" encontre "Codificação".
+     */
+    static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    private record IndexedTool(Tool tool, List<String> terms, String normalizedKey, String normalizedTitle) {
+    }
+}
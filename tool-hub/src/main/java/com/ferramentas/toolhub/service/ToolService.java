@@ -2,11 +2,16 @@ package com.ferramentas.toolhub.service;
 
 import com.ferramentas.toolhub.model.Tool;
 import com.ferramentas.toolhub.repository.ToolRepository;
+import com.ferramentas.toolhub.util.UuidV7;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class ToolService {
@@ -14,6 +19,24 @@ public class ToolService {
     @Autowired
     private ToolRepository toolRepository;
 
+    @Autowired
+    private ToolCatalogCache toolCatalogCache;
+
+    @Autowired
+    private ToolSearchIndex toolSearchIndex;
+
+    @Autowired
+    private JwtVerificationService jwtVerificationService;
+
+    @Autowired
+    private HashService hashService;
+
+    @Autowired
+    private PasswordService passwordService;
+
+    @Value("${UUID_MAX_COUNT:10000}")
+    private int maxUuidCount;
+
     public List<Tool> findAll() {
         return toolRepository.findAll();
     }
@@ -23,58 +46,116 @@ public class ToolService {
     }
 
     public Tool save(Tool tool) {
-        return toolRepository.save(tool);
+        Tool saved = toolRepository.save(tool);
+        toolCatalogCache.invalidate();
+        toolSearchIndex.upsert(saved);
+        return saved;
     }
 
     public void deleteById(Long id) {
         toolRepository.deleteById(id);
+        toolCatalogCache.invalidate();
+        toolSearchIndex.remove(id);
     }
 
     public Tool updateStatus(Long id, boolean isActive) {
         Tool tool = toolRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Tool not found with id: " + id));
         tool.setActive(isActive);
-        return toolRepository.save(tool);
+        Tool saved = toolRepository.save(tool);
+        toolCatalogCache.invalidate();
+        toolSearchIndex.upsert(saved);
+        return saved;
     }
 
     public List<Tool> getActiveTools() {
-        return toolRepository.findByActiveTrue();
+        return toolCatalogCache.get().tools();
+    }
+
+    public ToolCatalogCache.Snapshot getActiveCatalog() {
+        return toolCatalogCache.get();
+    }
+
+    public Map<String, Object> searchTools(String query, Integer limit) {
+        return toolSearchIndex.search(query, limit);
     }
 
     // Tool Logic Methods
 
     public String generateStrongPassword(int length, boolean includeSymbols) {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-        if (includeSymbols) {
-            chars += "!@#$%^&*()_+-=[]{}|;:,.<>?";
-        }
-        StringBuilder sb = new StringBuilder();
-        java.security.SecureRandom random = new java.security.SecureRandom();
-        for (int i = 0; i < length; i++) {
-            sb.append(chars.charAt(random.nextInt(chars.length())));
-        }
-        return sb.toString();
+        return passwordService.generate(length, includeSymbols);
     }
 
-    public boolean validateJwt(String token, String algorithm) {
-        // Basic structure check for now. In a real app, we would verify signature.
+    public boolean validateJwt(String token, String algorithm, String key) {
         if (token == null || token.split("\\.").length != 3) {
             return false;
         }
-        return true;
+        if ((key == null || key.isBlank()) && !jwtVerificationService.hasLocalJwks()) {
+            // Sem chave nem JWKS local não há como verificar a assinatura: só a estrutura
+            return true;
+        }
+
+        boolean keyProvided = key != null && !key.isBlank();
+        // Sem algoritmo informado: HS256 com chave; com o JWKS local, o alg da chave
+        String expectedAlgorithm = algorithm != null && !algorithm.isBlank()
+            ? algorithm
+            : keyProvided ? "HS256" : null;
+        boolean hmac = keyProvided && expectedAlgorithm.startsWith("HS");
+        try {
+            Map<String, Object> result = jwtVerificationService.verify(
+                token,
+                hmac ? key : null,
+                keyProvided && !hmac ? key : null,
+                null,
+                null,
+                expectedAlgorithm,
+                null
+            );
+            return Boolean.TRUE.equals(result.get("valid"));
+        } catch (RuntimeException e) {
+            // Chave inválida ou fraca demais para o algoritmo
+            return false;
+        }
     }
 
     public String generateUUID() {
-        return java.util.UUID.randomUUID().toString();
+        return generateUUID(4);
+    }
+
+    public String generateUUID(int version) {
+        return generateUUIDs(1, version).get(0);
+    }
+
+    /**
+     * Gera {@code count} UUIDs da versão 4 (aleatórios) ou 7 (ordenados pelo tempo,
+     * estritamente crescentes dentro do lote).
+     */
+    public List<String> generateUUIDs(int count, int version) {
+        if (count < 1 || count > maxUuidCount) {
+            throw new IllegalArgumentException("count deve estar entre 1 e " + maxUuidCount);
+        }
+        List<String> uuids = new ArrayList<>(count);
+        if (version == 7) {
+            for (UUID uuid : UuidV7.generate(count)) {
+                uuids.add(uuid.toString());
+            }
+        } else if (version == 4) {
+            for (int i = 0; i < count; i++) {
+                uuids.add(UUID.randomUUID().toString());
+            }
+        } else {
+            throw new IllegalArgumentException("Versão de UUID não suportada: " + version + ". Use 4 ou 7");
+        }
+        return uuids;
     }
 
     public String encodeBase64(String input) {
-        return java.util.Base64.getEncoder().encodeToString(input.getBytes());
+        return java.util.Base64.getEncoder().encodeToString(input.getBytes(java.nio.charset.StandardCharsets.UTF_8));
     }
 
     public String decodeBase64(String input) {
         try {
-            return new String(java.util.Base64.getDecoder().decode(input));
+            return new String(java.util.Base64.getDecoder().decode(input), java.nio.charset.StandardCharsets.UTF_8);
         } catch (IllegalArgumentException e) {
             return "Invalid Base64 input";
         }
@@ -82,18 +163,8 @@ public class ToolService {
 
     public String generateHash(String input, String algorithm) {
         try {
-            java.security.MessageDigest digest = java.security.MessageDigest.getInstance(algorithm);
-            byte[] encodedhash = digest.digest(input.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder(2 * encodedhash.length);
-            for (int i = 0; i < encodedhash.length; i++) {
-                String hex = Integer.toHexString(0xff & encodedhash[i]);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (java.security.NoSuchAlgorithmException e) {
+            return hashService.hashText(input, algorithm);
+        } catch (IllegalArgumentException e) {
             return "Algorithm not supported";
         }
     }
@@ -1,36 +1,50 @@
 package com.ferramentas.toolhub.service;
 
 import com.ferramentas.toolhub.model.ToolUsageLog;
-import com.ferramentas.toolhub.repository.ToolUsageLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 public class ToolUsageLogService {
 
-    private final ToolUsageLogRepository toolUsageLogRepository;
+    private final ToolUsageLogWriter toolUsageLogWriter;
+    private final DailyUsageCounters dailyUsageCounters;
 
     @Autowired
-    public ToolUsageLogService(ToolUsageLogRepository toolUsageLogRepository) {
-        this.toolUsageLogRepository = toolUsageLogRepository;
+    public ToolUsageLogService(ToolUsageLogWriter toolUsageLogWriter, DailyUsageCounters dailyUsageCounters) {
+        this.toolUsageLogWriter = toolUsageLogWriter;
+        this.dailyUsageCounters = dailyUsageCounters;
     }
 
+    /**
+     * Enfileira o log para gravação em lote, sem ida ao banco na requisição. O
+     * registro aparece nas consultas depois do próximo flush do {@link ToolUsageLogWriter}.
+     */
     public void saveLog(UUID userId, String toolName, String ipAddress) {
         ToolUsageLog log = new ToolUsageLog();
         log.setUserId(userId);
         log.setToolName(toolName);
         log.setIpAddress(ipAddress);
         log.setUsageTimestamp(LocalDateTime.now());
-        toolUsageLogRepository.save(log);
+        // Evento descartado pela fila nunca chega ao banco: contá-lo faria a cota divergir
+        if (toolUsageLogWriter.enqueue(log)) {
+            dailyUsageCounters.record(userId, log.getUsageTimestamp());
+        }
     }
 
-    @org.springframework.cache.annotation.Cacheable(value = "usageToday", key = "#userId")
+    public Map<String, Object> writerMetrics() {
+        return toolUsageLogWriter.metrics();
+    }
+
+    /**
+     * Lido dos contadores em memória; o banco só é consultado na primeira leitura
+     * de um usuário antes do seed inicial.
+     */
     public long countUsageToday(UUID userId) {
-        LocalDateTime start = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0).withNano(0);
-        LocalDateTime end = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59).withNano(999999999);
-        return toolUsageLogRepository.countByUserIdAndUsageTimestampBetween(userId, start, end);
+        return dailyUsageCounters.get(userId);
     }
 }
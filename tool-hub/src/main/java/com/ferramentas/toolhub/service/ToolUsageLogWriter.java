@@ -0,0 +1,261 @@
+package com.ferramentas.toolhub.service;
+
+import com.ferramentas.toolhub.model.ToolUsageLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind dos logs de uso. {@link #enqueue} só coloca o evento numa fila
+ * limitada; uma thread de fundo grava em lotes com um único {@code INSERT} de
+ * várias linhas a cada {@code USAGE_LOG_FLUSH_INTERVAL_MS} ou assim que junta
+ * {@code USAGE_LOG_BATCH_SIZE} eventos. Os ids continuam vindo da coluna IDENTITY:
+ * como o insert é feito via JDBC, o banco preenche todos os ids do lote de uma vez
+ * e o Hibernate não participa.
+ *
+ * <p>Com a fila cheia vale {@code USAGE_LOG_OVERFLOW_POLICY}: {@code drop} descarta
+ * o evento novo, {@code drop-oldest} descarta o mais antigo da fila e {@code block}
+ * espera até {@code USAGE_LOG_OFFER_TIMEOUT_MS} por espaço antes de descartar.
+ * Nenhuma política faz a requisição falhar por causa do log.
+ */
+@Component
+public class ToolUsageLogWriter {
+
+    // 4 parâmetros por linha; o Postgres aceita no máximo 32767 parâmetros por comando
+    private static final int MAX_BATCH_SIZE = 8000;
+    private static final String INSERT_PREFIX =
+        "INSERT INTO tool_usage_logs (user_id, tool_name, ip_address, usage_timestamp) VALUES ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${USAGE_LOG_QUEUE_CAPACITY:10000}")
+    private int queueCapacity;
+
+    @Value("${USAGE_LOG_BATCH_SIZE:500}")
+    private int batchSize;
+
+    @Value("${USAGE_LOG_FLUSH_INTERVAL_MS:1000}")
+    private long flushIntervalMs;
+
+    @Value("${USAGE_LOG_OVERFLOW_POLICY:drop}")
+    private String overflowPolicyName;
+
+    @Value("${USAGE_LOG_OFFER_TIMEOUT_MS:50}")
+    private long offerTimeoutMs;
+
+    private BlockingQueue<ToolUsageLog> queue;
+    private OverflowPolicy overflowPolicy;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong flushNanos = new AtomicLong();
+    private volatile long lastFlushMillis;
+    private volatile String lastError;
+
+    public ToolUsageLogWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (queueCapacity < 1) {
+            throw new IllegalStateException("USAGE_LOG_QUEUE_CAPACITY deve ser positivo");
+        }
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalStateException("USAGE_LOG_BATCH_SIZE deve estar entre 1 e " + MAX_BATCH_SIZE);
+        }
+        overflowPolicy = OverflowPolicy.parse(overflowPolicyName);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::runFlusher, "usage-log-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Enfileira o evento sem tocar no banco. Devolve {@code false} se ele foi
+     * descartado pela política de overflow.
+     */
+    public boolean enqueue(ToolUsageLog log) {
+        boolean accepted = switch (overflowPolicy) {
+            case DROP -> queue.offer(log);
+            case DROP_OLDEST -> offerDroppingOldest(log);
+            case BLOCK -> offerWithTimeout(log);
+        };
+        if (accepted) {
+            enqueued.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+        return accepted;
+    }
+
+    private boolean offerDroppingOldest(ToolUsageLog log) {
+        while (!queue.offer(log)) {
+            if (queue.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    private boolean offerWithTimeout(ToolUsageLog log) {
+        try {
+            return queue.offer(log, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runFlusher() {
+        List<ToolUsageLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ToolUsageLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Espera o resto do lote até o fim do intervalo, a não ser que ele encha antes
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    ToolUsageLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                // Acordado pelo shutdown: grava o lote parcial; o resto da fila fica para flushRemaining()
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Para o flusher e grava o que ainda estiver na fila antes de o pool de
+     * conexões ser fechado.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        flushRemaining();
+    }
+
+    /**
+     * Grava imediatamente tudo o que está na fila, em lotes.
+     */
+    public void flushRemaining() {
+        List<ToolUsageLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<ToolUsageLog> batch) {
+        long start = System.nanoTime();
+        try {
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * 11);
+            sql.append(INSERT_PREFIX);
+            Object[] args = new Object[batch.size() * 4];
+            for (int i = 0; i < batch.size(); i++) {
+                ToolUsageLog log = batch.get(i);
+                sql.append(i == 0 ? "(?,?,?,?)" : ",(?,?,?,?)");
+                args[i * 4] = log.getUserId();
+                args[i * 4 + 1] = log.getToolName();
+                args[i * 4 + 2] = log.getIpAddress();
+                args[i * 4 + 3] = log.getUsageTimestamp() == null ? null : Timestamp.valueOf(log.getUsageTimestamp());
+            }
+            jdbcTemplate.update(sql.toString(), args);
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            // Log de uso não é crítico: o lote é descartado e contabilizado, sem derrubar o flusher
+            failed.addAndGet(batch.size());
+            lastError = e.getMessage();
+            System.err.println("Falha ao gravar " + batch.size() + " logs de uso: " + e.getMessage());
+        } finally {
+            batches.incrementAndGet();
+            flushNanos.addAndGet(System.nanoTime() - start);
+            lastFlushMillis = System.currentTimeMillis();
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        long batchCount = batches.get();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("queueSize", queue.size());
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("overflowPolicy", overflowPolicy.configName);
+        metrics.put("batchSize", batchSize);
+        metrics.put("flushIntervalMs", flushIntervalMs);
+        metrics.put("enqueued", enqueued.get());
+        metrics.put("dropped", dropped.get());
+        metrics.put("written", written.get());
+        metrics.put("failed", failed.get());
+        metrics.put("batches", batchCount);
+        metrics.put("avgBatchSize", batchCount == 0 ? 0.0
+            : Math.round((written.get() + failed.get()) * 10.0 / batchCount) / 10.0);
+        metrics.put("avgFlushMillis", batchCount == 0 ? 0.0
+            : Math.round(flushNanos.get() / 1_000.0 / batchCount) / 1_000.0);
+        metrics.put("lastFlushAt", lastFlushMillis == 0 ? null : Instant.ofEpochMilli(lastFlushMillis).toString());
+        metrics.put("lastError", lastError);
+        return metrics;
+    }
+
+    private enum OverflowPolicy {
+        DROP("drop"),
+        DROP_OLDEST("drop-oldest"),
+        BLOCK("block");
+
+        private final String configName;
+
+        OverflowPolicy(String configName) {
+            this.configName = configName;
+        }
+
+        static OverflowPolicy parse(String name) {
+            String normalized = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+            for (OverflowPolicy policy : values()) {
+                if (policy.configName.equals(normalized)) {
+                    return policy;
+                }
+            }
+            throw new IllegalStateException("USAGE_LOG_OVERFLOW_POLICY inválida: " + name
+                + ". Use drop, drop-oldest ou block");
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.ferramentas.toolhub.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Agrega {@code tool_usage_logs} em {@code usage_rollup_hourly} e
+ * {@code usage_rollup_daily} e aplica a retenção dos logs brutos, para que
+ * consultas de uso leiam tabelas de tamanho proporcional a dias × ferramentas ×
+ * usuários, e não ao histórico inteiro.
+ *
+ * <p>O rollup é incremental: cada execução processa só os ids acima do watermark
+ * salvo em {@code usage_rollup_watermarks}, em blocos de {@code USAGE_ROLLUP_CHUNK_SIZE}
+ * ids, e cada bloco soma nos rollups e avança o watermark na mesma transação.
+ * O SQL é específico do Postgres ({@code ON CONFLICT}, {@code FOR UPDATE},
+ * {@code to_regclass}): o banco é identificado uma vez pelo {@code DatabaseMetaData}
+ * e, em qualquer outro, os jobs de rollup, retenção e partições ficam desativados.
+ *
+ * <p>Se {@code tool_usage_logs} for particionada por mês (ver
+ * {@code data/partition_tool_usage_logs.sql}), o job também cria as partições dos
+ * próximos meses e a retenção remove partições inteiras com {@code DROP TABLE}.
+ */
+@Service
+public class UsageRollupService {
+
+    private static final String WATERMARK = "tool_usage_logs";
+    private static final String PARTITION_PREFIX = "tool_usage_logs_p";
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARTITION_PREFIX + "(\\d{4})(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    // A contagem diária por usuário ainda lê os logs do dia corrente
+    private static final int MIN_RETENTION_DAYS = 2;
+
+    private static final String ROLLUP_HOURLY = """
+        INSERT INTO usage_rollup_hourly (usage_day, usage_hour, tool_name, user_id, usage_count)
+        SELECT CAST(usage_timestamp AS date), CAST(EXTRACT(HOUR FROM usage_timestamp) AS integer),
+               COALESCE(tool_name, ''), user_id, COUNT(*)
+        FROM tool_usage_logs
+        WHERE id > ? AND id <= ? AND usage_timestamp IS NOT NULL
+        GROUP BY 1, 2, 3, 4
+        ON CONFLICT (usage_day, usage_hour, tool_name, user_id)
+        DO UPDATE SET usage_count = usage_rollup_hourly.usage_count + EXCLUDED.usage_count
+        """;
+
+    private static final String ROLLUP_DAILY = """
+        INSERT INTO usage_rollup_daily (usage_day, tool_name, user_id, usage_count)
+        SELECT CAST(usage_timestamp AS date), COALESCE(tool_name, ''), user_id, COUNT(*)
+        FROM tool_usage_logs
+        WHERE id > ? AND id <= ? AND usage_timestamp IS NOT NULL
+        GROUP BY 1, 2, 3
+        ON CONFLICT (usage_day, tool_name, user_id)
+        DO UPDATE SET usage_count = usage_rollup_daily.usage_count + EXCLUDED.usage_count
+        """;
+
+    private static final String PURGE_CHUNK = """
+        DELETE FROM tool_usage_logs
+        WHERE id IN (
+            SELECT id FROM tool_usage_logs
+            WHERE id <= ? AND usage_timestamp < ?
+            ORDER BY id
+            LIMIT ?
+        )
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${USAGE_ROLLUP_CHUNK_SIZE:50000}")
+    private long chunkSize;
+
+    @Value("${USAGE_LOG_RETENTION_DAYS:90}")
+    private int retentionDays;
+
+    @Value("${USAGE_LOG_PURGE_CHUNK_SIZE:10000}")
+    private int purgeChunkSize;
+
+    @Value("${USAGE_LOG_PURGE_MAX_CHUNKS:100}")
+    private int purgeMaxChunks;
+
+    @Value("${USAGE_LOG_PARTITION_MONTHS_AHEAD:2}")
+    private int partitionMonthsAhead;
+
+    // Maior id visto na execução anterior; só ele é processado nesta (ver scheduledRollup())
+    private volatile long pendingTarget = -1;
+    private volatile Map<String, Object> lastRollup = Map.of();
+    private volatile Map<String, Object> lastRetention = Map.of();
+    private volatile Boolean postgres;
+
+    public UsageRollupService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Processa os logs novos até o maior id visto na execução anterior. Com
+     * IDENTITY um id é reservado antes do commit, então um id baixo pode ficar
+     * visível depois de um mais alto; esperar um intervalo inteiro garante que os
+     * inserts que reservaram ids até o alvo já terminaram e nenhum é pulado.
+     */
+    @Scheduled(
+        initialDelayString = "${USAGE_ROLLUP_INTERVAL_MS:300000}",
+        fixedDelayString = "${USAGE_ROLLUP_INTERVAL_MS:300000}")
+    public void scheduledRollup() {
+        if (!postgres()) {
+            return;
+        }
+        if (partitioned()) {
+            ensurePartitions();
+        }
+        long observed = maxLogId();
+        long target = pendingTarget;
+        pendingTarget = observed;
+        if (target >= 0) {
+            rollup(target);
+        }
+    }
+
+    /**
+     * Agrega os logs com id até {@code target}, bloco a bloco. Devolve o resumo da
+     * execução, também exposto em {@link #status()}.
+     */
+    public Map<String, Object> rollup(long target) {
+        requirePostgres();
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO usage_rollup_watermarks (name, last_id, updated_at) VALUES (?, 0, now()) "
+            + "ON CONFLICT (name) DO NOTHING", WATERMARK);
+
+        int chunks = 0;
+        long rows = 0;
+        long watermark;
+        while (true) {
+            ChunkResult chunk = transactionTemplate.execute(status -> rollupChunk(target));
+            watermark = chunk.watermark();
+            if (chunk.done()) {
+                break;
+            }
+            chunks++;
+            rows += chunk.rows();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ranAt", LocalDateTime.now().toString());
+        result.put("target", target);
+        result.put("watermark", watermark);
+        result.put("chunks", chunks);
+        result.put("hourlyRowsUpserted", rows);
+        result.put("tookMillis", (System.nanoTime() - start) / 1_000_000);
+        lastRollup = result;
+        return result;
+    }
+
+    /**
+     * Um bloco por transação. O {@code FOR UPDATE} no watermark serializa execuções
+     * simultâneas (várias instâncias): quem entra depois relê o watermark já avançado.
+     */
+    private ChunkResult rollupChunk(long target) {
+        Long current = jdbcTemplate.queryForObject(
+            "SELECT last_id FROM usage_rollup_watermarks WHERE name = ? FOR UPDATE", Long.class, WATERMARK);
+        long from = current == null ? 0 : current;
+        if (from >= target) {
+            return new ChunkResult(from, true, 0);
+        }
+        long to = Math.min(target, from + chunkSize);
+        int rows = jdbcTemplate.update(ROLLUP_HOURLY, from, to);
+        jdbcTemplate.update(ROLLUP_DAILY, from, to);
+        jdbcTemplate.update("UPDATE usage_rollup_watermarks SET last_id = ?, updated_at = now() WHERE name = ?",
+            to, WATERMARK);
+        return new ChunkResult(to, false, rows);
+    }
+
+    /**
+     * Remove logs brutos mais antigos que {@code USAGE_LOG_RETENTION_DAYS} que já
+     * entraram nos rollups. Partições mensais inteiramente vencidas são descartadas;
+     * o resto sai em blocos de {@code USAGE_LOG_PURGE_CHUNK_SIZE} linhas, cada um na
+     * própria transação, até {@code USAGE_LOG_PURGE_MAX_CHUNKS} por execução.
+     */
+    @Scheduled(cron = "${USAGE_LOG_RETENTION_CRON:0 30 3 * * *}")
+    public void scheduledPurge() {
+        if (postgres()) {
+            purgeExpiredLogs();
+        }
+    }
+
+    public Map<String, Object> purgeExpiredLogs() {
+        requirePostgres();
+        if (retentionDays < MIN_RETENTION_DAYS) {
+            throw new IllegalStateException("USAGE_LOG_RETENTION_DAYS deve ser pelo menos " + MIN_RETENTION_DAYS);
+        }
+        long start = System.nanoTime();
+        LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        long watermark = watermark();
+
+        List<String> dropped = partitioned() ? dropExpiredPartitions(cutoff.toLocalDate(), watermark) : List.of();
+
+        long deleted = 0;
+        int chunks = 0;
+        while (chunks < purgeMaxChunks) {
+            int removed = jdbcTemplate.update(PURGE_CHUNK, watermark, Timestamp.valueOf(cutoff), purgeChunkSize);
+            deleted += removed;
+            chunks++;
+            if (removed < purgeChunkSize) {
+                break;
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ranAt", LocalDateTime.now().toString());
+        result.put("cutoff", cutoff.toString());
+        result.put("watermark", watermark);
+        result.put("droppedPartitions", dropped);
+        result.put("deletedRows", deleted);
+        result.put("chunks", chunks);
+        result.put("tookMillis", (System.nanoTime() - start) / 1_000_000);
+        lastRetention = result;
+        return result;
+    }
+
+    /**
+     * Cria as partições do mês corrente e dos próximos meses, se ainda não existirem.
+     */
+    public List<String> ensurePartitions() {
+        requirePostgres();
+        List<String> created = new ArrayList<>();
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= partitionMonthsAhead; i++, month = month.plusMonths(1)) {
+            String name = PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT to_regclass(?) IS NOT NULL", Boolean.class, name))) {
+                continue;
+            }
+            try {
+                // Nome e limites são gerados aqui, não vêm de entrada do usuário
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF tool_usage_logs "
+                    + "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+                created.add(name);
+            } catch (RuntimeException e) {
+                // Ex.: a partição default já tem linhas desse mês
+                System.err.println("Falha ao criar a partição " + name + ": " + e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    private List<String> dropExpiredPartitions(LocalDate cutoff, long watermark) {
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = to_regclass('tool_usage_logs') ORDER BY c.relname", String.class);
+        List<String> dropped = new ArrayList<>();
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                continue;
+            }
+            // Só descarta se todas as linhas já estão nos rollups
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + partition, Long.class);
+            if (maxId != null && maxId > watermark) {
+                continue;
+            }
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            dropped.add(partition);
+        }
+        return dropped;
+    }
+
+    /**
+     * Totais por dia e ferramenta (somando usuários) lidos do rollup diário.
+     */
+    public List<Map<String, Object>> dailyTotals(LocalDate from, LocalDate to, String toolName) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Informe from <= to (yyyy-MM-dd)");
+        }
+        String sql = "SELECT usage_day, tool_name, SUM(usage_count) AS total, COUNT(DISTINCT user_id) AS users "
+            + "FROM usage_rollup_daily WHERE usage_day BETWEEN ? AND ?"
+            + (toolName == null || toolName.isBlank() ? "" : " AND tool_name = ?")
+            + " GROUP BY usage_day, tool_name ORDER BY usage_day, tool_name";
+        Object[] args = toolName == null || toolName.isBlank()
+            ? new Object[]{Date.valueOf(from), Date.valueOf(to)}
+            : new Object[]{Date.valueOf(from), Date.valueOf(to), toolName};
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("day", rs.getDate("usage_day").toLocalDate().toString());
+            row.put("toolName", rs.getString("tool_name"));
+            row.put("total", rs.getLong("total"));
+            row.put("users", rs.getLong("users"));
+            return row;
+        }, args);
+    }
+
+    /**
+     * Total de usos por ferramenta a partir de {@code since} (inclusive), ou de todo o
+     * histórico com {@code since} nulo.
+     */
+    public Map<String, Long> usageByTool(LocalDate since) {
+        Map<String, Long> totals = new HashMap<>();
+        RowCallbackHandler collect = rs -> totals.put(rs.getString("tool_name"), rs.getLong("total"));
+        if (since == null) {
+            jdbcTemplate.query("SELECT tool_name, SUM(usage_count) AS total FROM usage_rollup_daily "
+                + "GROUP BY tool_name", collect);
+        } else {
+            jdbcTemplate.query("SELECT tool_name, SUM(usage_count) AS total FROM usage_rollup_daily "
+                + "WHERE usage_day >= ? GROUP BY tool_name", collect, Date.valueOf(since));
+        }
+        return totals;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        boolean enabled = postgres();
+        status.put("enabled", enabled);
+        status.put("watermark", watermark());
+        status.put("pendingTarget", pendingTarget);
+        status.put("partitioned", enabled && partitioned());
+        status.put("retentionDays", retentionDays);
+        status.put("lastRollup", lastRollup);
+        status.put("lastRetention", lastRetention);
+        return status;
+    }
+
+    /**
+     * Identifica o banco na primeira chamada. Fora do PostgreSQL os jobs viram no-op,
+     * com uma única linha de log explicando o motivo.
+     */
+    boolean postgres() {
+        Boolean detected = postgres;
+        if (detected == null) {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            detected = "PostgreSQL".equalsIgnoreCase(product);
+            if (!detected) {
+                System.out.println("Rollup de uso, retenção e partições de tool_usage_logs desativados: "
+                    + "o SQL é específico do PostgreSQL e o banco é " + product);
+            }
+            postgres = detected;
+        }
+        return detected;
+    }
+
+    private void requirePostgres() {
+        if (!postgres()) {
+            throw new IllegalStateException("Rollup de uso, retenção e partições exigem PostgreSQL");
+        }
+    }
+
+    private long watermark() {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT last_id FROM usage_rollup_watermarks WHERE name = ?", Long.class, WATERMARK);
+        return ids.isEmpty() ? 0 : ids.get(0);
+    }
+
+    private long maxLogId() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tool_usage_logs", Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private boolean partitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('tool_usage_logs'))",
+            Boolean.class));
+    }
+
+    private record ChunkResult(long watermark, boolean done, long rows) {
+    }
+}
@@ -129,7 +129,6 @@ public class UserService {
 
     private User convertToEntity(UserRequestDTO dto) {
         User user = new User();
-        user.setId(UUID.randomUUID());
         user.setUsername(dto.username());
         user.setEmail(dto.email());
         user.setPasswordHash(dto.passwordHash());
@@ -0,0 +1,131 @@
+package com.ferramentas.toolhub.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * XXH64 (semente 0) incremental, compatível com o {@code xxhsum}. Processa faixas
+ * de 32 bytes lidas como quatro longs little-endian; o que sobra entre chamadas
+ * fica em um buffer de uma faixa.
+ */
+final class XxHash64 implements StreamingHash {
+
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+    private static final int STRIPE = 32;
+
+    private final ByteBuffer pending = ByteBuffer.allocate(STRIPE).order(ByteOrder.LITTLE_ENDIAN);
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+    private long totalLength;
+
+    XxHash64() {
+        reset();
+    }
+
+    @Override
+    public String name() {
+        return "XXHASH64";
+    }
+
+    @Override
+    public void reset() {
+        v1 = PRIME1 + PRIME2;
+        v2 = PRIME2;
+        v3 = 0;
+        v4 = -PRIME1;
+        totalLength = 0;
+        pending.clear();
+    }
+
+    @Override
+    public void update(ByteBuffer data) {
+        ByteBuffer in = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+        int length = in.remaining();
+        totalLength += length;
+        data.position(data.limit());
+
+        int offset = 0;
+        if (pending.position() > 0) {
+            int take = Math.min(STRIPE - pending.position(), length);
+            pending.put(pending.position(), in, 0, take).position(pending.position() + take);
+            offset = take;
+            if (pending.position() < STRIPE) {
+                return;
+            }
+            stripe(pending, 0);
+            pending.clear();
+        }
+
+        int stripes = (length - offset) / STRIPE;
+        for (int i = 0; i < stripes; i++, offset += STRIPE) {
+            stripe(in, offset);
+        }
+        if (offset < length) {
+            pending.put(0, in, offset, length - offset).position(length - offset);
+        }
+    }
+
+    private void stripe(ByteBuffer in, int offset) {
+        v1 = round(v1, in.getLong(offset));
+        v2 = round(v2, in.getLong(offset + 8));
+        v3 = round(v3, in.getLong(offset + 16));
+        v4 = round(v4, in.getLong(offset + 24));
+    }
+
+    @Override
+    public byte[] finish() {
+        long hash;
+        if (totalLength >= STRIPE) {
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = mergeRound(hash, v1);
+            hash = mergeRound(hash, v2);
+            hash = mergeRound(hash, v3);
+            hash = mergeRound(hash, v4);
+        } else {
+            hash = PRIME5;
+        }
+        hash += totalLength;
+
+        int remaining = pending.position();
+        int offset = 0;
+        for (; offset + 8 <= remaining; offset += 8) {
+            hash ^= round(0, pending.getLong(offset));
+            hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+        }
+        if (offset + 4 <= remaining) {
+            hash ^= (pending.getInt(offset) & 0xFFFFFFFFL) * PRIME1;
+            hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+            offset += 4;
+        }
+        for (; offset < remaining; offset++) {
+            hash ^= (pending.get(offset) & 0xFFL) * PRIME5;
+            hash = Long.rotateLeft(hash, 11) * PRIME1;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME2;
+        hash ^= hash >>> 29;
+        hash *= PRIME3;
+        hash ^= hash >>> 32;
+
+        reset();
+        return ByteBuffer.allocate(8).putLong(hash).array();
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * PRIME2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * PRIME1;
+    }
+
+    private static long mergeRound(long acc, long value) {
+        acc ^= round(0, value);
+        return acc * PRIME1 + PRIME4;
+    }
+}
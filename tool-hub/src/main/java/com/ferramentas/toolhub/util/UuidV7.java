@@ -0,0 +1,79 @@
+package com.ferramentas.toolhub.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Gerador de UUID versão 7 (RFC 9562): os 48 bits mais altos são o instante em
+ * milissegundos, então os ids crescem com o tempo e inserções em índices B-tree
+ * caem sempre no fim da árvore em vez de espalhadas por ela.
+ * <p>
+ * Dentro do mesmo milissegundo os ids continuam estritamente crescentes graças a
+ * um contador de 26 bits (os 12 bits de rand_a mais 14 bits do início de rand_b,
+ * o método 1 da RFC). O contador começa em um valor aleatório da metade inferior
+ * e, se esgotar, o gerador avança o relógio em 1 ms em vez de repetir ids.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 26;
+    private static final long COUNTER_MAX = (1L << COUNTER_BITS) - 1;
+    private static final int RANDOM_BITS = 48;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static long lastMillis;
+    private static long counter;
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        return generate(1)[0];
+    }
+
+    /**
+     * Gera {@code count} ids em ordem crescente sob um único lock.
+     */
+    public static UUID[] generate(int count) {
+        UUID[] result = new UUID[count];
+        byte[] random = new byte[count * (RANDOM_BITS / 8)];
+        RANDOM.nextBytes(random);
+        synchronized (UuidV7.class) {
+            for (int i = 0; i < count; i++) {
+                long now = System.currentTimeMillis();
+                if (now > lastMillis) {
+                    lastMillis = now;
+                    counter = RANDOM.nextInt(1 << (COUNTER_BITS - 1));
+                } else if (++counter > COUNTER_MAX) {
+                    // Contador esgotado neste milissegundo: empresta o próximo
+                    lastMillis++;
+                    counter = 0;
+                }
+                result[i] = build(lastMillis, counter, random, i * (RANDOM_BITS / 8));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Instante de criação embutido em um UUID v7, em milissegundos desde a época Unix.
+     */
+    public static long timestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("UUID não é da versão 7: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static UUID build(long millis, long counter, byte[] random, int offset) {
+        long randA = counter >>> 14;
+        long counterLow = counter & 0x3FFF;
+        long randomBits = 0;
+        for (int k = 0; k < RANDOM_BITS / 8; k++) {
+            randomBits = (randomBits << 8) | (random[offset + k] & 0xFF);
+        }
+        long msb = (millis << 16) | (0x7L << 12) | randA;
+        long lsb = (0x2L << 62) | (counterLow << RANDOM_BITS) | randomBits;
+        return new UUID(msb, lsb);
+    }
+}
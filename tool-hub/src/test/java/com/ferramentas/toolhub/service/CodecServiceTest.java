@@ -0,0 +1,86 @@
+package com.ferramentas.toolhub.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CodecServiceTest {
+
+    private final CodecService codecService = new CodecService();
+
+    @Test
+    void base32MatchesRfc4648Vectors() throws IOException {
+        String[][] vectors = {
+            { "", "" },
+            { "f", "MY======" },
+            { "fo", "MZXQ====" },
+            { "foo", "MZXW6===" },
+            { "foob", "MZXW6YQ=" },
+            { "fooba", "MZXW6YTB" },
+            { "foobar", "MZXW6YTBOI======" },
+        };
+        for (String[] vector : vectors) {
+            byte[] plain = vector[0].getBytes(StandardCharsets.US_ASCII);
+            assertEquals(vector[1], encode("base32", true, plain));
+            assertEquals(vector[1].replace("=", ""), encode("base32", false, plain));
+            assertArrayEquals(plain, decode("base32", vector[1]));
+            assertArrayEquals(plain, decode("base32", vector[1].replace("=", "").toLowerCase()));
+        }
+    }
+
+    @Test
+    void hexAndBase32RoundTripAcrossBufferBoundaries() throws IOException {
+        Random random = new Random(7);
+        // Tamanhos em volta dos blocos de 8 KiB lidos pelo serviço e dos grupos de 5 bytes do Base32
+        int[] sizes = { 1, 2, 3, 4, 5, 6, 4095, 4096, 4097, 8189, 8190, 8191, 8192, 8193, 20000 };
+        for (int size : sizes) {
+            byte[] data = new byte[size];
+            random.nextBytes(data);
+
+            String hex = encode("hex", true, data);
+            assertEquals(HexFormat.of().formatHex(data), hex);
+            assertArrayEquals(data, decode("hex", hex));
+            assertArrayEquals(data, decode("hex", hex.toUpperCase()));
+
+            assertArrayEquals(data, decode("base32", encode("base32", true, data)), "base32 " + size);
+            assertArrayEquals(data, decode("base32", encode("base32", false, data)), "base32 sem padding " + size);
+        }
+    }
+
+    @Test
+    void decodeIgnoresWhitespace() throws IOException {
+        assertArrayEquals(new byte[] { 0x0a, (byte) 0xff }, decode("hex", " 0a\r\n f f\n"));
+        assertArrayEquals("foobar".getBytes(StandardCharsets.US_ASCII), decode("base32", "MZXW6\nYTBOI======\n"));
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        assertThrows(IOException.class, () -> decode("hex", "0g"));
+        assertThrows(IOException.class, () -> decode("hex", "abc"));
+        assertThrows(IOException.class, () -> decode("base32", "MZXW1==="));
+        assertThrows(IOException.class, () -> decode("base32", "MY==MY=="));
+        assertThrows(IllegalArgumentException.class, () -> codecService.prepare("rot13", null));
+    }
+
+    private String encode(String encoding, boolean padding, byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codecService.encode(new ByteArrayInputStream(data), out, codecService.prepare(encoding, padding));
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    private byte[] decode(String encoding, String text) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codecService.decode(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)), out,
+            codecService.prepare(encoding, null));
+        return out.toByteArray();
+    }
+}
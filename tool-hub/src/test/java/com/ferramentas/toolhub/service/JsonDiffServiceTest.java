@@ -0,0 +1,206 @@
+package com.ferramentas.toolhub.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * O patch gerado, aplicado em sequência sobre o documento de origem, precisa
+ * reproduzir exatamente o documento de destino.
+ */
+class JsonDiffServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JsonDiffService jsonDiffService;
+
+    @BeforeEach
+    void setUp() {
+        jsonDiffService = new JsonDiffService();
+        ReflectionTestUtils.setField(jsonDiffService, "maxEditDistance", 2000);
+    }
+
+    @Test
+    void identicalDocumentsProduceEmptyPatch() throws Exception {
+        JsonNode source = json("{\"a\":1,\"b\":[1,2,{\"c\":null}]}");
+        JsonNode target = json("{\"b\":[1,2,{\"c\":null}],\"a\":1.0}");
+
+        Map<String, Object> result = jsonDiffService.diff(source, target, null);
+
+        assertEquals(0, ((ArrayNode) result.get("patch")).size());
+    }
+
+    @Test
+    void objectChangesRoundTrip() throws Exception {
+        assertRoundTrip(
+            "{\"name\":\"a\",\"removed\":true,\"nested\":{\"x\":1,\"y\":[1,2]},\"a/b\":1,\"t~\":2}",
+            "{\"name\":\"b\",\"nested\":{\"x\":1,\"y\":[1,2,3],\"z\":{}},\"a/b\":2,\"t~\":2,\"added\":[null]}",
+            null);
+    }
+
+    @Test
+    void arrayInsertionsAndDeletionsRoundTrip() throws Exception {
+        assertRoundTrip("[1,2,3,4,5,6,7,8]", "[0,1,3,4,9,10,6,8,11]", null);
+        assertRoundTrip("[]", "[1,[2],{\"a\":3}]", null);
+        assertRoundTrip("[1,[2],{\"a\":3}]", "[]", null);
+        assertRoundTrip("[\"x\",1]", "{\"x\":1}", null);
+    }
+
+    @Test
+    void keyedArrayRoundTrip() throws Exception {
+        assertRoundTrip(
+            "[{\"id\":1,\"v\":\"a\"},{\"id\":2,\"v\":\"b\"},{\"id\":3,\"v\":\"c\"}]",
+            "[{\"id\":2,\"v\":\"b2\"},{\"id\":4,\"v\":\"d\"},{\"id\":3,\"v\":\"c\"}]",
+            "id");
+    }
+
+    @Test
+    void randomDocumentsRoundTrip() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            JsonNode source = randomValue(random, 0);
+            JsonNode target = mutate(source.deepCopy(), random, 0);
+            assertRoundTrip(source, target, random.nextBoolean() ? "id" : null);
+        }
+    }
+
+    private void assertRoundTrip(String source, String target, String arrayKey) throws Exception {
+        assertRoundTrip(json(source), json(target), arrayKey);
+    }
+
+    private void assertRoundTrip(JsonNode source, JsonNode target, String arrayKey) {
+        ArrayNode patch = (ArrayNode) jsonDiffService.diff(source, target, arrayKey).get("patch");
+        JsonNode patched = apply(source.deepCopy(), patch);
+        assertEquals(target, patched, () -> "source=" + source + "\ntarget=" + target + "\npatch=" + patch);
+    }
+
+    /**
+     * Aplicação mínima de JSON Patch (add, remove e replace), suficiente para o que o
+     * serviço gera.
+     */
+    private static JsonNode apply(JsonNode document, ArrayNode patch) {
+        JsonNode root = document;
+        for (JsonNode operation : patch) {
+            String op = operation.get("op").asText();
+            String path = operation.get("path").asText();
+            if (path.isEmpty()) {
+                assertEquals("replace", op);
+                root = operation.get("value").deepCopy();
+                continue;
+            }
+            int slash = path.lastIndexOf('/');
+            JsonNode parent = root.at(path.substring(0, slash));
+            String token = path.substring(slash + 1).replace("~1", "/").replace("~0", "~");
+            if (parent instanceof ObjectNode object) {
+                switch (op) {
+                    case "add", "replace" -> object.set(token, operation.get("value").deepCopy());
+                    case "remove" -> object.remove(token);
+                    default -> throw new AssertionError("Operação inesperada: " + op);
+                }
+            } else {
+                ArrayNode array = (ArrayNode) parent;
+                int index = token.equals("-") ? array.size() : Integer.parseInt(token);
+                switch (op) {
+                    case "add" -> array.insert(index, operation.get("value").deepCopy());
+                    case "replace" -> {
+                        assertTrue(index < array.size(), "replace fora do array: " + path);
+                        array.set(index, operation.get("value").deepCopy());
+                    }
+                    case "remove" -> {
+                        assertTrue(index < array.size(), "remove fora do array: " + path);
+                        array.remove(index);
+                    }
+                    default -> throw new AssertionError("Operação inesperada: " + op);
+                }
+            }
+        }
+        return root;
+    }
+
+    private JsonNode randomValue(Random random, int depth) {
+        int kind = random.nextInt(depth >= 3 ? 4 : 6);
+        switch (kind) {
+            case 0:
+                return objectMapper.getNodeFactory().numberNode(random.nextInt(5));
+            case 1:
+                return objectMapper.getNodeFactory().textNode("s" + random.nextInt(5));
+            case 2:
+                return objectMapper.getNodeFactory().booleanNode(random.nextBoolean());
+            case 3:
+                return objectMapper.getNodeFactory().nullNode();
+            case 4: {
+                ArrayNode array = objectMapper.createArrayNode();
+                int size = random.nextInt(8);
+                for (int i = 0; i < size; i++) {
+                    if (random.nextInt(3) == 0) {
+                        ObjectNode keyed = objectMapper.createObjectNode();
+                        keyed.put("id", random.nextInt(6));
+                        keyed.set("v", randomValue(random, depth + 1));
+                        array.add(keyed);
+                    } else {
+                        array.add(randomValue(random, depth + 1));
+                    }
+                }
+                return array;
+            }
+            default: {
+                ObjectNode object = objectMapper.createObjectNode();
+                int size = random.nextInt(5);
+                for (int i = 0; i < size; i++) {
+                    object.set("k" + random.nextInt(6), randomValue(random, depth + 1));
+                }
+                return object;
+            }
+        }
+    }
+
+    private JsonNode mutate(JsonNode node, Random random, int depth) {
+        if (random.nextInt(8) == 0) {
+            return randomValue(random, depth);
+        }
+        if (node instanceof ObjectNode object) {
+            List<String> names = new ArrayList<>();
+            object.fieldNames().forEachRemaining(names::add);
+            for (String name : names) {
+                int action = random.nextInt(4);
+                if (action == 0) {
+                    object.remove(name);
+                } else if (action == 1) {
+                    object.set(name, mutate(object.get(name), random, depth + 1));
+                }
+            }
+            if (random.nextBoolean()) {
+                object.set("k" + random.nextInt(8), randomValue(random, depth + 1));
+            }
+        } else if (node instanceof ArrayNode array) {
+            int edits = random.nextInt(4);
+            for (int i = 0; i < edits; i++) {
+                int action = random.nextInt(3);
+                if (action == 0 && !array.isEmpty()) {
+                    array.remove(random.nextInt(array.size()));
+                } else if (action == 1) {
+                    array.insert(random.nextInt(array.size() + 1), randomValue(random, depth + 1));
+                } else if (!array.isEmpty()) {
+                    int index = random.nextInt(array.size());
+                    array.set(index, mutate(array.get(index), random, depth + 1));
+                }
+            }
+        }
+        return node;
+    }
+
+    private JsonNode json(String text) throws Exception {
+        return objectMapper.readTree(text);
+    }
+}
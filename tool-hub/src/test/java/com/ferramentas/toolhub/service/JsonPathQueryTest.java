@@ -0,0 +1,95 @@
+package com.ferramentas.toolhub.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonPathQueryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void rootOnlyHasNoSteps() {
+        assertEquals(0, JsonPathQuery.compile("  $  ").size());
+    }
+
+    @Test
+    void parsesDotAndBracketSteps() {
+        JsonPathQuery query = JsonPathQuery.compile("$.store.book[0]['first name'][\"it's\"].*[*]");
+
+        assertEquals(7, query.size());
+        assertStep(query.step(0), JsonPathQuery.Kind.FIELD, "store", -1);
+        assertStep(query.step(1), JsonPathQuery.Kind.FIELD, "book", -1);
+        assertStep(query.step(2), JsonPathQuery.Kind.INDEX, null, 0);
+        assertStep(query.step(3), JsonPathQuery.Kind.FIELD, "first name", -1);
+        assertStep(query.step(4), JsonPathQuery.Kind.FIELD, "it's", -1);
+        assertStep(query.step(5), JsonPathQuery.Kind.WILDCARD, null, -1);
+        assertStep(query.step(6), JsonPathQuery.Kind.WILDCARD, null, -1);
+    }
+
+    @Test
+    void parsesFilterConditions() {
+        JsonPathQuery query = JsonPathQuery.compile(
+            "$.items[?(@.price >= 10.5 && @['meta'].tag != 'x' && @.active == true && @.deleted && @.n == null)]");
+
+        JsonPathQuery.Step filter = query.step(1);
+        assertEquals(JsonPathQuery.Kind.FILTER, filter.kind());
+        List<JsonPathQuery.Condition> conditions = filter.conditions();
+        assertEquals(5, conditions.size());
+        assertCondition(conditions.get(0), List.of("price"), JsonPathQuery.Operator.GE, new BigDecimal("10.5"));
+        assertCondition(conditions.get(1), List.of("meta", "tag"), JsonPathQuery.Operator.NE, "x");
+        assertCondition(conditions.get(2), List.of("active"), JsonPathQuery.Operator.EQ, Boolean.TRUE);
+        assertCondition(conditions.get(3), List.of("deleted"), JsonPathQuery.Operator.EXISTS, null);
+        assertCondition(conditions.get(4), List.of("n"), JsonPathQuery.Operator.EQ, null);
+    }
+
+    @Test
+    void filterAcceptsMatchingElements() throws Exception {
+        JsonPathQuery.Step filter = JsonPathQuery.compile("$[?(@.price < 10 && @.tag == 'a')]").step(0);
+
+        assertTrue(filter.accepts(objectMapper.readTree("{\"price\":9.99,\"tag\":\"a\"}")));
+        assertFalse(filter.accepts(objectMapper.readTree("{\"price\":10,\"tag\":\"a\"}")));
+        assertFalse(filter.accepts(objectMapper.readTree("{\"price\":1,\"tag\":\"b\"}")));
+        assertFalse(filter.accepts(objectMapper.readTree("{\"tag\":\"a\"}")));
+    }
+
+    @Test
+    void rejectsInvalidExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> JsonPathQuery.compile(null));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathQuery.compile(" "));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathQuery.compile("store.book"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathQuery.compile("$..book"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathQuery.compile("$['open"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathQuery.compile("$[0"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathQuery.compile("$[99999999999]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathQuery.compile("$[?(@ == 1)]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPathQuery.compile("$[?(@.a == abc)]"));
+        assertThrows(IllegalArgumentException.class,
+            () -> JsonPathQuery.compile("$" + ".a".repeat(JsonPathQuery.MAX_EXPRESSION_LENGTH)));
+    }
+
+    private static void assertStep(JsonPathQuery.Step step, JsonPathQuery.Kind kind, String name, int index) {
+        assertEquals(kind, step.kind());
+        assertEquals(name, step.name());
+        assertEquals(index, step.index());
+    }
+
+    private static void assertCondition(JsonPathQuery.Condition condition, List<String> field,
+                                        JsonPathQuery.Operator operator, Object literal) {
+        assertEquals(field, condition.field());
+        assertEquals(operator, condition.operator());
+        if (literal == null) {
+            assertNull(condition.literal());
+        } else {
+            assertEquals(literal, condition.literal());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.ferramentas.toolhub.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonSchemaValidatorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void reportsEveryViolationWithItsPointer() throws Exception {
+        JsonSchemaValidator validator = compile("""
+            {"type": "object", "required": ["id", "name"],
+             "properties": {
+               "id": {"type": "integer", "minimum": 1},
+               "tags": {"type": "array", "items": {"type": "string", "pattern": "^[a-z]+$"}, "uniqueItems": true}
+             },
+             "additionalProperties": false}
+            """);
+
+        List<JsonSchemaValidator.ValidationError> errors =
+            validator.validate(json("{\"id\": 0, \"tags\": [\"ok\", \"NO\", \"ok\"], \"extra\": 1}"), 100);
+
+        assertEquals(List.of(
+            "/id minimum",
+            "/tags/1 pattern",
+            "/tags uniqueItems",
+            "/extra additionalProperties",
+            " required"), describe(errors));
+    }
+
+    @Test
+    void stopsAtMaxErrors() throws Exception {
+        JsonSchemaValidator validator = compile("{\"type\": \"array\", \"items\": {\"type\": \"string\"}}");
+
+        assertEquals(3, validator.validate(json("[1, 2, 3, 4, 5]"), 3).size());
+    }
+
+    @Test
+    void integerAcceptsWholeDecimalsAndNumbersCompareByValue() throws Exception {
+        JsonSchemaValidator validator = compile("{\"type\": \"integer\", \"enum\": [1, 2], \"multipleOf\": 0.5}");
+
+        assertTrue(validator.validate(json("2.0"), 10).isEmpty());
+        assertEquals(List.of(" type", " enum"), describe(validator.validate(json("1.5"), 10)));
+    }
+
+    @Test
+    void uniqueItemsAndEnumCompareNumbersByValue() throws Exception {
+        JsonSchemaValidator unique = compile("{\"uniqueItems\": true}");
+
+        assertEquals(List.of(" uniqueItems"), describe(unique.validate(json("[1, 1.0]"), 10)));
+        assertEquals(List.of(" uniqueItems"), describe(unique.validate(json("[4294967296, 4294967296.00]"), 10)));
+        assertEquals(List.of(" uniqueItems"),
+            describe(unique.validate(json("[{\"a\": 1, \"b\": [2]}, {\"b\": [2.0], \"a\": 1.0}]"), 10)));
+        assertTrue(unique.validate(json("[1, \"1\", [1], {\"a\": 1}, {\"a\": 2}]"), 10).isEmpty());
+
+        JsonSchemaValidator enumeration = compile("{\"enum\": [{\"a\": [1, 2]}]}");
+        assertTrue(enumeration.validate(json("{\"a\": [1.0, 2e0]}"), 10).isEmpty());
+    }
+
+    @Test
+    void combinatorsAndConditionals() throws Exception {
+        JsonSchemaValidator validator = compile("""
+            {"oneOf": [{"type": "string"}, {"type": "number", "minimum": 0}],
+             "if": {"type": "number"}, "then": {"maximum": 10}, "else": {"maxLength": 3}}
+            """);
+
+        assertTrue(validator.validate(json("5"), 10).isEmpty());
+        assertTrue(validator.validate(json("\"abc\""), 10).isEmpty());
+        assertEquals(List.of(" maximum"), describe(validator.validate(json("11"), 10)));
+        assertEquals(List.of(" oneOf"), describe(validator.validate(json("-1"), 10)));
+        assertEquals(List.of(" maxLength"), describe(validator.validate(json("\"abcd\""), 10)));
+    }
+
+    @Test
+    void recursiveRefThroughPropertiesIsAllowed() throws Exception {
+        JsonSchemaValidator validator = compile("""
+            {"$ref": "#/definitions/node",
+             "definitions": {"node": {"type": "object",
+               "properties": {"value": {"type": "integer"},
+                              "children": {"type": "array", "items": {"$ref": "#/definitions/node"}}}}}}
+            """);
+
+        assertTrue(validator.validate(json("{\"value\": 1, \"children\": [{\"value\": 2, \"children\": []}]}"), 10)
+            .isEmpty());
+        assertEquals(List.of("/children/0/children/0/value type"), describe(validator.validate(
+            json("{\"children\": [{\"children\": [{\"value\": \"x\"}]}]}"), 10)));
+    }
+
+    @Test
+    void rejectsRefCyclesThatNeverConsumeTheInstance() {
+        assertThrows(IllegalArgumentException.class, () -> compile("{\"$ref\": \"#\"}"));
+        assertThrows(IllegalArgumentException.class, () -> compile(
+            "{\"$ref\": \"#/definitions/a\", \"definitions\": {\"a\": {\"$ref\": \"#/definitions/a\"}}}"));
+        assertThrows(IllegalArgumentException.class, () -> compile("""
+            {"properties": {"x": {"$ref": "#/$defs/a"}},
+             "$defs": {"a": {"$ref": "#/$defs/b"}, "b": {"allOf": [{"$ref": "#/$defs/a"}]}}}
+            """));
+        assertThrows(IllegalArgumentException.class, () -> compile("{\"anyOf\": [{\"not\": {\"$ref\": \"#\"}}]}"));
+    }
+
+    @Test
+    void rejectsInvalidSchemas() {
+        assertThrows(IllegalArgumentException.class, () -> compile("[]"));
+        assertThrows(IllegalArgumentException.class, () -> compile("{\"multipleOf\": 0}"));
+        assertThrows(IllegalArgumentException.class, () -> compile("{\"multipleOf\": -1}"));
+        assertThrows(IllegalArgumentException.class, () -> compile("{\"pattern\": \"[\"}"));
+        assertThrows(IllegalArgumentException.class, () -> compile("{\"$ref\": \"#/definitions/missing\"}"));
+        assertThrows(IllegalArgumentException.class, () -> compile("{\"$ref\": \"http://example.com/schema\"}"));
+    }
+
+    private JsonSchemaValidator compile(String schema) throws Exception {
+        return JsonSchemaValidator.compile(json(schema));
+    }
+
+    private JsonNode json(String text) throws Exception {
+        return objectMapper.readTree(text);
+    }
+
+    private static List<String> describe(List<JsonSchemaValidator.ValidationError> errors) {
+        return errors.stream().map(error -> error.pointer() + " " + error.keyword()).toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ferramentas.toolhub.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Vetores de referência do MurmurHash3 x64 128 com semente 0, na ordem de bytes do
+ * Guava ({@code Hashing.murmur3_128()}).
+ */
+class Murmur3Hash128Test {
+
+    @Test
+    void emptyInput() {
+        assertEquals("00000000000000000000000000000000", hash(new byte[0]));
+    }
+
+    @Test
+    void inputShorterThanOneBlock() {
+        assertEquals("897859f6655555855a890e51483ab5e6", hash(ascii("a")));
+        assertEquals("6778ad3f3f3f96b4522dca264174a23b", hash(ascii("abc")));
+    }
+
+    @Test
+    void inputOfExactlyOneBlock() {
+        assertEquals("303f9091b524494445e82f76566490ab", hash(sequence(16)));
+    }
+
+    @Test
+    void inputLongerThanOneBlock() {
+        assertEquals("6c1b07bc7bbc4be347939ac4a93c437a",
+            hash(ascii("The quick brown fox jumps over the lazy dog")));
+    }
+
+    @Test
+    void chunksSplittingTheBlockBufferMatchOneShotHash() {
+        byte[] data = pattern(1000);
+        Murmur3Hash128 murmur = new Murmur3Hash128();
+        // Tamanhos que deixam o buffer pendente parcialmente cheio entre as chamadas
+        int[] chunks = { 1, 7, 15, 17, 5, 32, 3, 100, 13, 11, 796 };
+        int offset = 0;
+        for (int chunk : chunks) {
+            murmur.update(ByteBuffer.wrap(data, offset, chunk));
+            offset += chunk;
+        }
+        assertEquals(data.length, offset);
+        assertEquals("45c99d896b9dfe1729ce34cea6aaa7d3", HexFormat.of().formatHex(murmur.finish()));
+        assertEquals("45c99d896b9dfe1729ce34cea6aaa7d3", hash(data));
+    }
+
+    @Test
+    void finishResetsForReuse() {
+        Murmur3Hash128 murmur = new Murmur3Hash128();
+        murmur.update(ByteBuffer.wrap(ascii("abc")));
+        murmur.finish();
+        assertEquals("00000000000000000000000000000000", HexFormat.of().formatHex(murmur.finish()));
+    }
+
+    private static String hash(byte[] data) {
+        Murmur3Hash128 murmur = new Murmur3Hash128();
+        murmur.update(ByteBuffer.wrap(data));
+        return HexFormat.of().formatHex(murmur.finish());
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] sequence(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    private static byte[] pattern(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + 7);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,73 @@
+package com.ferramentas.toolhub.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordDictionaryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void prefixWordsKeepTheirOwnRank() throws IOException {
+        PasswordDictionary dictionary = withExtraWords("# comentário", "", "zzqxa", "ZZQXAB", "zzqxabc");
+
+        assertEquals(0, dictionary.rank(node(dictionary, "zzqx")));
+        assertEquals(1, dictionary.rank(node(dictionary, "zzqxa")));
+        assertEquals(2, dictionary.rank(node(dictionary, "zzqxab")));
+        assertEquals(3, dictionary.rank(node(dictionary, "zzqxabc")));
+        assertEquals("extra", dictionary.dictionaryName(node(dictionary, "zzqxab")));
+    }
+
+    @Test
+    void childMissesReturnMinusOne() throws IOException {
+        PasswordDictionary dictionary = withExtraWords("zzqxa", "zzqxc");
+        int prefix = node(dictionary, "zzqx");
+
+        // Antes do primeiro filho, entre os dois e depois do último
+        assertEquals(-1, dictionary.child(prefix, 'A'));
+        assertEquals(-1, dictionary.child(prefix, 'b'));
+        assertEquals(-1, dictionary.child(prefix, 'd'));
+        // Folha: nenhum filho
+        assertEquals(-1, dictionary.child(node(dictionary, "zzqxa"), 'a'));
+        assertEquals(-1, node(dictionary, "zzqy"));
+    }
+
+    @Test
+    void extraDictionaryAddsWordsAndKeepsTheBestRank() throws IOException {
+        PasswordDictionary base = new PasswordDictionary("");
+        int password = node(base, "password");
+        assertTrue(base.rank(password) > 1);
+        assertEquals("passwords", base.dictionaryName(password));
+
+        PasswordDictionary extended = withExtraWords("password", "zzqxa");
+
+        assertEquals(base.wordCount() + 1, extended.wordCount());
+        assertEquals(1, extended.rank(node(extended, "password")));
+        assertEquals("extra", extended.dictionaryName(node(extended, "password")));
+        assertEquals(base.dictionaryNames().size() + 1, extended.dictionaryNames().size());
+    }
+
+    private PasswordDictionary withExtraWords(String... lines) throws IOException {
+        Path file = tempDir.resolve("extra.txt");
+        Files.write(file, List.of(lines));
+        return new PasswordDictionary(file.toString());
+    }
+
+    // Nó do caminho da palavra na trie, ou -1 se o caminho não existe
+    private static int node(PasswordDictionary dictionary, String word) {
+        int node = PasswordDictionary.ROOT;
+        for (int i = 0; i < word.length() && node >= 0; i++) {
+            node = dictionary.child(node, word.charAt(i));
+        }
+        return node;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ferramentas.toolhub.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordStrengthServiceTest {
+
+    private static PasswordStrengthService service;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        // Carregar os dicionários é a parte cara: uma vez para a classe toda
+        service = new PasswordStrengthService(new PasswordDictionary(""));
+    }
+
+    @Test
+    void commonPasswordScoresZeroWithTopTenWarning() {
+        Map<String, Object> result = service.analyze("password");
+
+        assertEquals(0, result.get("score"));
+        assertEquals("Esta é uma das 10 senhas mais comuns", feedback(result).get("warning"));
+        Map<String, Object> match = onlyMatch(result, "dictionary");
+        assertEquals("passwords", match.get("dictionary"));
+        assertEquals(false, match.get("l33t"));
+    }
+
+    @Test
+    void l33tSubstitutionsStillMatchTheDictionary() {
+        Map<String, Object> result = service.analyze("p@ssw0rd");
+
+        assertEquals(0, result.get("score"));
+        Map<String, Object> match = onlyMatch(result, "dictionary");
+        assertEquals("password", match.get("matchedWord"));
+        assertEquals(true, match.get("l33t"));
+        assertTrue(suggestions(result).contains("Trocas previsíveis como '@' no lugar de 'a' ajudam pouco"));
+    }
+
+    @Test
+    void reversedWordsMatchTheDictionary() {
+        Map<String, Object> match = onlyMatch(service.analyze("drowssap"), "dictionary");
+
+        assertEquals("password", match.get("matchedWord"));
+        assertEquals(true, match.get("reversed"));
+    }
+
+    @Test
+    void keyboardRunsAreSpatialMatches() {
+        // "qwerty" em si está no dicionário de senhas, que é a estimativa mais barata
+        assertEquals("passwords", onlyMatch(service.analyze("qwerty"), "dictionary").get("dictionary"));
+
+        Map<String, Object> result = service.analyze("sdfghj");
+        Map<String, Object> match = onlyMatch(result, "spatial");
+        assertEquals(1, match.get("turns"));
+        assertEquals("Sequências do teclado como qwerty são fáceis de adivinhar", feedback(result).get("warning"));
+    }
+
+    @Test
+    void alphabeticAndNumericRunsAreSequenceMatches() {
+        assertEquals(true, onlyMatch(service.analyze("abcdef"), "sequence").get("ascending"));
+        assertEquals(false, onlyMatch(service.analyze("9876"), "sequence").get("ascending"));
+    }
+
+    @Test
+    void datesWithAndWithoutSeparators() {
+        Map<String, Object> compact = onlyMatch(service.analyze("19910101"), "date");
+        assertEquals(1991, compact.get("year"));
+        assertEquals(1, compact.get("month"));
+        assertEquals(1, compact.get("day"));
+
+        Map<String, Object> separated = onlyMatch(service.analyze("13/05/1991"), "date");
+        assertEquals(1991, separated.get("year"));
+        assertEquals(5, separated.get("month"));
+        assertEquals(13, separated.get("day"));
+        assertEquals("/", separated.get("separator"));
+    }
+
+    @Test
+    void longRandomPasswordScoresFour() {
+        Map<String, Object> result = service.analyze("Xk9#vQ2$mLp7!wRz4&Tb");
+
+        assertEquals(4, result.get("score"));
+        assertEquals("", feedback(result).get("warning"));
+        assertTrue(suggestions(result).isEmpty());
+    }
+
+    @Test
+    void rejectsEmptyPassword() {
+        assertThrows(IllegalArgumentException.class, () -> service.analyze(""));
+        assertThrows(IllegalArgumentException.class, () -> service.analyze(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> onlyMatch(Map<String, Object> result, String pattern) {
+        List<Map<String, Object>> sequence = (List<Map<String, Object>>) result.get("sequence");
+        assertEquals(1, sequence.size(), () -> "sequence: " + sequence);
+        assertEquals(pattern, sequence.get(0).get("pattern"), () -> "sequence: " + sequence);
+        return sequence.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> feedback(Map<String, Object> result) {
+        return (Map<String, Object>) result.get("feedback");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> suggestions(Map<String, Object> result) {
+        return (List<String>) feedback(result).get("suggestions");
+    }
+}
@@ -0,0 +1,135 @@
+package com.ferramentas.toolhub.service;
+
+import com.ferramentas.toolhub.model.Tool;
+import com.ferramentas.toolhub.repository.ToolRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ToolSearchIndexTest {
+
+    private ToolRepository toolRepository;
+    private ToolSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        toolRepository = mock(ToolRepository.class);
+        // Sem stub, usageByTool devolve um mapa vazio: nenhuma popularidade
+        index = new ToolSearchIndex(toolRepository, mock(UsageRollupService.class));
+        ReflectionTestUtils.setField(index, "popularityWeight", 1.0);
+        ReflectionTestUtils.setField(index, "maxResults", 100);
+        ReflectionTestUtils.setField(index, "popularityDays", 365);
+    }
+
+    @Test
+    void prefixSearchIgnoresAccentsAndCase() {
+        when(toolRepository.findByActiveTrue()).thenReturn(List.of(
+            tool(1L, "base64", "Codificação Base64", "Codifica e decodifica texto"),
+            tool(2L, "uuid", "Gerador de UUID", "Identificadores únicos")));
+
+        assertEquals(List.of(1L), ids("codific"));
+        assertEquals(List.of(1L), ids("CODIFICAÇÃO"));
+        assertEquals(List.of(2L), ids("unicos"));
+        assertEquals(List.of(), ids("xyz"));
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        when(toolRepository.findByActiveTrue()).thenReturn(List.of(
+            tool(1L, "password", "Gerador de Senhas", "Senhas fortes"),
+            tool(2L, "uuid", "Gerador de UUID", "Identificadores únicos"),
+            tool(3L, "hash", "Hash", "SHA-256 e MD5")));
+
+        assertEquals(List.of(1L, 2L), ids("gera"));
+        assertEquals(List.of(2L), ids("gera uuid"));
+        assertEquals(List.of(), ids("gera sha"));
+        // Consulta vazia lista todas as ativas
+        assertEquals(List.of(1L, 2L, 3L), ids(""));
+    }
+
+    @Test
+    void upsertAndRemoveUpdateOnlyThatTool() {
+        when(toolRepository.findByActiveTrue()).thenReturn(List.of(
+            tool(1L, "hash", "Hash", "SHA-256 e MD5")));
+        assertEquals(List.of(1L), ids("hash"));
+
+        index.upsert(tool(2L, "qrcode", "Gerador de QR Code", "QR Code de um texto"));
+        assertEquals(List.of(2L), ids("qr"));
+
+        index.upsert(tool(1L, "hash", "Checksum", "CRC32 e xxHash"));
+        assertEquals(List.of(), ids("sha"));
+        assertEquals(List.of(1L), ids("checksum"));
+
+        Tool inactive = tool(2L, "qrcode", "Gerador de QR Code", "QR Code de um texto");
+        inactive.setActive(false);
+        index.upsert(inactive);
+        assertEquals(List.of(), ids("qr"));
+
+        index.remove(1L);
+        assertEquals(List.of(), ids(""));
+    }
+
+    @Test
+    void writeBeforeFirstLoadSurvivesTheLoad() {
+        when(toolRepository.findByActiveTrue()).thenReturn(List.of(tool(1L, "hash", "Hash", null)));
+
+        index.upsert(tool(2L, "uuid", "Gerador de UUID", null));
+
+        assertEquals(List.of(2L, 1L), ids(""));
+    }
+
+    @Test
+    void writesDuringRebuildAreNotUndoneByTheStaleRead() {
+        Tool hash = tool(1L, "hash", "Hash", null);
+        Tool uuid = tool(2L, "uuid", "Gerador de UUID", null);
+        when(toolRepository.findByActiveTrue()).thenReturn(List.of(hash, uuid));
+        assertEquals(List.of(2L, 1L), ids(""));
+
+        // A consulta roda sem o lock: as escritas do admin chegam enquanto ela está em andamento
+        when(toolRepository.findByActiveTrue()).thenAnswer(invocation -> {
+            index.upsert(tool(1L, "hash", "Checksum", null));
+            index.remove(2L);
+            index.upsert(tool(3L, "qrcode", "QR Code", null));
+            return List.of(hash, uuid);
+        });
+        index.rebuild();
+
+        assertEquals(List.of(1L, 3L), ids(""));
+        assertEquals(List.of(1L), ids("checksum"));
+        assertEquals(List.of(), ids("uuid"));
+
+        // Depois do rebuild as escritas pendentes são descartadas: o banco já as tem
+        when(toolRepository.findByActiveTrue()).thenReturn(List.of(hash));
+        index.rebuild();
+        assertEquals(List.of(1L), ids("hash"));
+    }
+
+    @Test
+    void rejectsLimitOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("x", 0));
+        assertThrows(IllegalArgumentException.class, () -> index.search("x", 101));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> ids(String query) {
+        List<Map<String, Object>> results = (List<Map<String, Object>>) index.search(query, 100).get("results");
+        return results.stream().map(row -> (Long) row.get("id")).toList();
+    }
+
+    private static Tool tool(Long id, String key, String title, String description) {
+        Tool tool = new Tool();
+        tool.setId(id);
+        tool.setKey(key);
+        tool.setTitle(title);
+        tool.setDescription(description);
+        return tool;
+    }
+}
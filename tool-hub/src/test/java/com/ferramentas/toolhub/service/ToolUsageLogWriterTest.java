@@ -0,0 +1,204 @@
+package com.ferramentas.toolhub.service;
+
+import com.ferramentas.toolhub.model.ToolUsageLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * O JdbcTemplate é um mock que registra os nomes de ferramenta de cada lote. O
+ * primeiro lote pode ficar preso no "banco" até {@link #release} abrir, para que a
+ * fila encha de forma determinística enquanto o flusher está ocupado.
+ */
+class ToolUsageLogWriterTest {
+
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> sqlRows = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch firstWriteEntered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ToolUsageLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            Object[] args = (Object[]) invocation.getRawArguments()[1];
+            List<String> names = new ArrayList<>();
+            for (int i = 1; i < args.length; i += 4) {
+                names.add((String) args[i]);
+            }
+            sqlRows.add(countRows(invocation.getArgument(0)));
+            batches.add(names);
+            firstWriteEntered.countDown();
+            awaitIgnoringInterrupts(release);
+            return names.size();
+        }).when(jdbcTemplate).update(anyString(), any(Object[].class));
+        writer = new ToolUsageLogWriter(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        writer.shutdown();
+    }
+
+    @Test
+    void dropDiscardsTheNewEvent() throws InterruptedException {
+        start("drop", 2, 1);
+        fillWhileFlusherIsBusy();
+
+        assertFalse(writer.enqueue(log("e4")));
+
+        Map<String, Object> metrics = writer.metrics();
+        assertEquals(3L, metrics.get("enqueued"));
+        assertEquals(1L, metrics.get("dropped"));
+        release.countDown();
+        writer.shutdown();
+        assertEquals(List.of(List.of("e1"), List.of("e2"), List.of("e3")), batches);
+    }
+
+    @Test
+    void dropOldestDiscardsTheHeadOfTheQueue() throws InterruptedException {
+        start("drop-oldest", 2, 1);
+        fillWhileFlusherIsBusy();
+
+        assertTrue(writer.enqueue(log("e4")));
+        assertTrue(writer.enqueue(log("e5")));
+
+        Map<String, Object> metrics = writer.metrics();
+        assertEquals(5L, metrics.get("enqueued"));
+        assertEquals(2L, metrics.get("dropped"));
+        release.countDown();
+        writer.shutdown();
+        assertEquals(List.of(List.of("e1"), List.of("e4"), List.of("e5")), batches);
+    }
+
+    @Test
+    void blockGivesUpAfterTheOfferTimeout() throws InterruptedException {
+        start("block", 2, 1);
+        ReflectionTestUtils.setField(writer, "offerTimeoutMs", 20L);
+        fillWhileFlusherIsBusy();
+
+        long startNanos = System.nanoTime();
+        assertFalse(writer.enqueue(log("e4")));
+        assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(20));
+
+        Map<String, Object> metrics = writer.metrics();
+        assertEquals(3L, metrics.get("enqueued"));
+        assertEquals(1L, metrics.get("dropped"));
+    }
+
+    @Test
+    void splitsIntoBatchesOfBatchSize() throws InterruptedException {
+        release.countDown();
+        start("drop", 100, 3);
+
+        for (int i = 1; i <= 7; i++) {
+            assertTrue(writer.enqueue(log("e" + i)));
+        }
+        // Os dois lotes cheios saem sem esperar o intervalo; o último fica para o shutdown
+        waitFor(() -> batches.size() == 2);
+        writer.shutdown();
+
+        assertEquals(List.of(List.of("e1", "e2", "e3"), List.of("e4", "e5", "e6"), List.of("e7")), batches);
+        assertEquals(List.of(3, 3, 1), sqlRows);
+        assertEquals(7L, writer.metrics().get("written"));
+        assertEquals(3L, writer.metrics().get("batches"));
+    }
+
+    @Test
+    void shutdownDrainsTheQueue() throws InterruptedException {
+        start("drop", 100, 2);
+        assertTrue(writer.enqueue(log("e1")));
+        assertTrue(writer.enqueue(log("e2")));
+        assertTrue(firstWriteEntered.await(5, TimeUnit.SECONDS));
+        for (int i = 3; i <= 7; i++) {
+            assertTrue(writer.enqueue(log("e" + i)));
+        }
+
+        // O flusher está preso no primeiro lote; o shutdown precisa gravar o resto da fila
+        Thread stopper = new Thread(() -> {
+            try {
+                writer.shutdown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        stopper.start();
+        waitFor(() -> !(Boolean) ReflectionTestUtils.getField(writer, "running"));
+        release.countDown();
+        stopper.join(TimeUnit.SECONDS.toMillis(15));
+
+        assertEquals(List.of(List.of("e1", "e2"), List.of("e3", "e4"), List.of("e5", "e6"), List.of("e7")), batches);
+        assertEquals(0, writer.metrics().get("queueSize"));
+        assertEquals(7L, writer.metrics().get("written"));
+    }
+
+    private void start(String policy, int capacity, int batchSize) {
+        ReflectionTestUtils.setField(writer, "queueCapacity", capacity);
+        ReflectionTestUtils.setField(writer, "batchSize", batchSize);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(writer, "overflowPolicyName", policy);
+        ReflectionTestUtils.setField(writer, "offerTimeoutMs", 50L);
+        writer.start();
+    }
+
+    // e1 fica preso no banco com o flusher; e2 e e3 enchem a fila de capacidade 2
+    private void fillWhileFlusherIsBusy() throws InterruptedException {
+        assertTrue(writer.enqueue(log("e1")));
+        assertTrue(firstWriteEntered.await(5, TimeUnit.SECONDS));
+        assertTrue(writer.enqueue(log("e2")));
+        assertTrue(writer.enqueue(log("e3")));
+    }
+
+    private static ToolUsageLog log(String toolName) {
+        return new ToolUsageLog(null, UUID.randomUUID(), toolName, "127.0.0.1", LocalDateTime.now());
+    }
+
+    private static int countRows(String sql) {
+        return sql.split("\\(\\?,\\?,\\?,\\?\\)", -1).length - 1;
+    }
+
+    private static void awaitIgnoringInterrupts(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condição não atingida em 5s");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.ferramentas.toolhub.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rollup, watermark, retenção e o script de particionamento contra um Postgres real.
+ * Sem Docker disponível a classe inteira é ignorada.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UsageRollupServicePostgresTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14");
+
+    // Espelha o que o Hibernate gera para as entidades ToolUsageLog e UsageRollup*
+    private static final String SCHEMA = """
+        DROP TABLE IF EXISTS tool_usage_logs, usage_rollup_hourly, usage_rollup_daily, usage_rollup_watermarks CASCADE;
+        CREATE TABLE tool_usage_logs (
+            id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            user_id         UUID NOT NULL,
+            tool_name       VARCHAR(255),
+            ip_address      VARCHAR(255),
+            usage_timestamp TIMESTAMP(6)
+        );
+        CREATE INDEX idx_tool_usage_logs_user_timestamp ON tool_usage_logs (user_id, usage_timestamp);
+        CREATE INDEX idx_tool_usage_logs_timestamp ON tool_usage_logs (usage_timestamp);
+        CREATE TABLE usage_rollup_hourly (
+            usage_day   DATE NOT NULL,
+            usage_hour  INTEGER NOT NULL,
+            tool_name   VARCHAR(255) NOT NULL,
+            user_id     UUID NOT NULL,
+            usage_count BIGINT NOT NULL,
+            PRIMARY KEY (usage_day, usage_hour, tool_name, user_id)
+        );
+        CREATE TABLE usage_rollup_daily (
+            usage_day   DATE NOT NULL,
+            tool_name   VARCHAR(255) NOT NULL,
+            user_id     UUID NOT NULL,
+            usage_count BIGINT NOT NULL,
+            PRIMARY KEY (usage_day, tool_name, user_id)
+        );
+        CREATE TABLE usage_rollup_watermarks (
+            name       VARCHAR(255) PRIMARY KEY,
+            last_id    BIGINT NOT NULL,
+            updated_at TIMESTAMP(6)
+        );
+        """;
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-4000-8000-000000000001");
+    private static final UUID BOB = UUID.fromString("00000000-0000-4000-8000-000000000002");
+
+    private JdbcTemplate jdbcTemplate;
+    private UsageRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(SCHEMA);
+        service = new UsageRollupService(jdbcTemplate,
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(service, "chunkSize", 3L);
+        ReflectionTestUtils.setField(service, "retentionDays", 30);
+        ReflectionTestUtils.setField(service, "purgeChunkSize", 1);
+        ReflectionTestUtils.setField(service, "purgeMaxChunks", 100);
+        ReflectionTestUtils.setField(service, "partitionMonthsAhead", 2);
+    }
+
+    @Test
+    void rollupAggregatesInChunksAndAdvancesWatermark() {
+        LocalDateTime day = LocalDate.of(2026, 3, 10).atTime(9, 15);
+        log(ALICE, "uuid", day);
+        log(ALICE, "uuid", day.plusMinutes(10));
+        log(ALICE, "uuid", day.plusHours(1));
+        log(BOB, "uuid", day);
+        log(BOB, "hash", day);
+        log(BOB, null, day);
+        // Sem timestamp: não entra nos rollups, mas o watermark passa por ele
+        log(BOB, "hash", null);
+        long target = maxId();
+
+        Map<String, Object> result = service.rollup(target);
+
+        assertEquals(target, result.get("watermark"));
+        assertEquals(3, result.get("chunks"));
+        assertEquals(target, service.status().get("watermark"));
+        assertEquals(2L, hourly(ALICE, "uuid", 9));
+        assertEquals(1L, hourly(ALICE, "uuid", 10));
+        assertEquals(3L, daily(ALICE, "uuid"));
+        assertEquals(1L, daily(BOB, "uuid"));
+        assertEquals(1L, daily(BOB, "hash"));
+        assertEquals(1L, daily(BOB, ""));
+
+        // Repetir com o mesmo alvo não soma de novo
+        assertEquals(0, service.rollup(target).get("chunks"));
+        assertEquals(3L, daily(ALICE, "uuid"));
+
+        // Só os ids acima do watermark entram na execução seguinte
+        log(ALICE, "uuid", day.plusMinutes(30));
+        long next = maxId();
+        assertEquals(1, service.rollup(next).get("chunks"));
+        assertEquals(3L, hourly(ALICE, "uuid", 9));
+        assertEquals(4L, daily(ALICE, "uuid"));
+        assertEquals(next, service.status().get("watermark"));
+        assertEquals(List.of(Map.of("day", "2026-03-10", "toolName", "uuid", "total", 5L, "users", 2L)),
+            service.dailyTotals(day.toLocalDate(), day.toLocalDate(), "uuid"));
+    }
+
+    @Test
+    void purgeRemovesOnlyExpiredLogsAlreadyRolledUp() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        log(ALICE, "uuid", old);
+        log(ALICE, "uuid", old);
+        long rolledUp = maxId();
+        log(ALICE, "uuid", old);
+        log(BOB, "hash", LocalDateTime.now());
+        service.rollup(rolledUp);
+
+        Map<String, Object> result = service.purgeExpiredLogs();
+
+        assertEquals(2L, result.get("deletedRows"));
+        // Blocos de 1 linha: dois cheios e um vazio que encerra o laço
+        assertEquals(3, result.get("chunks"));
+        assertEquals(List.of(), result.get("droppedPartitions"));
+        // O log antigo acima do watermark fica até entrar nos rollups
+        assertEquals(2L, count("SELECT COUNT(*) FROM tool_usage_logs"));
+        assertEquals(1L, count("SELECT COUNT(*) FROM tool_usage_logs WHERE id > " + rolledUp));
+    }
+
+    @Test
+    void partitionScriptThenPartitionMaintenance() throws IOException {
+        YearMonth oldMonth = YearMonth.now().minusMonths(6);
+        log(ALICE, "uuid", oldMonth.atDay(10).atTime(12, 0));
+        log(ALICE, "uuid", LocalDateTime.now());
+        log(BOB, "hash", null);
+        long before = maxId();
+        assertEquals(false, service.status().get("partitioned"));
+
+        jdbcTemplate.execute(Files.readString(Path.of("..", "data", "partition_tool_usage_logs.sql")));
+
+        assertEquals(true, service.status().get("partitioned"));
+        assertEquals(3L, count("SELECT COUNT(*) FROM tool_usage_logs"));
+        assertEquals(1L, count("SELECT COUNT(*) FROM tool_usage_logs_default"));
+        assertEquals(1L, count("SELECT COUNT(*) FROM " + partition(oldMonth)));
+        // A sequência continua depois do maior id copiado
+        log(BOB, "hash", LocalDateTime.now());
+        assertEquals(before + 1, maxId());
+
+        // O script já criou até dois meses à frente; com três, só falta o último
+        ReflectionTestUtils.setField(service, "partitionMonthsAhead", 3);
+        assertEquals(List.of(partition(YearMonth.now().plusMonths(3))), service.ensurePartitions());
+        assertEquals(List.of(), service.ensurePartitions());
+
+        service.rollup(maxId());
+        Map<String, Object> result = service.purgeExpiredLogs();
+
+        @SuppressWarnings("unchecked")
+        List<String> dropped = (List<String>) result.get("droppedPartitions");
+        assertTrue(dropped.contains(partition(oldMonth)));
+        assertFalse(dropped.contains(partition(YearMonth.now())));
+        // A linha sem data foi para 1970, na partição default, e sai pelo DELETE em blocos
+        assertEquals(1L, result.get("deletedRows"));
+        assertEquals(2L, count("SELECT COUNT(*) FROM tool_usage_logs"));
+    }
+
+    private void log(UUID userId, String toolName, LocalDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO tool_usage_logs (user_id, tool_name, ip_address, usage_timestamp) "
+            + "VALUES (?, ?, '127.0.0.1', ?)", userId, toolName, timestamp == null ? null : Timestamp.valueOf(timestamp));
+    }
+
+    private long maxId() {
+        return count("SELECT MAX(id) FROM tool_usage_logs");
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private long hourly(UUID userId, String toolName, int hour) {
+        return jdbcTemplate.queryForObject("SELECT usage_count FROM usage_rollup_hourly "
+            + "WHERE user_id = ? AND tool_name = ? AND usage_hour = ?", Long.class, userId, toolName, hour);
+    }
+
+    private long daily(UUID userId, String toolName) {
+        return jdbcTemplate.queryForObject("SELECT usage_count FROM usage_rollup_daily "
+            + "WHERE user_id = ? AND tool_name = ?", Long.class, userId, toolName);
+    }
+
+    private static String partition(YearMonth month) {
+        return "tool_usage_logs_p" + month.format(DateTimeFormatter.ofPattern("yyyyMM"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.ferramentas.toolhub.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Comportamento fora do PostgreSQL. O SQL em si é exercitado em
+ * {@link UsageRollupServicePostgresTest}.
+ */
+class UsageRollupServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private UsageRollupService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+        service = new UsageRollupService(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scheduledJobsAreSkippedOutsidePostgres() {
+        service.scheduledRollup();
+        service.scheduledRollup();
+        service.scheduledPurge();
+
+        // O banco é identificado uma única vez e nenhum SQL do Postgres é enviado
+        verify(jdbcTemplate, times(1)).execute(any(ConnectionCallback.class));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), any(Class.class));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void explicitCallsFailOutsidePostgres() {
+        assertThrows(IllegalStateException.class, () -> service.rollup(10));
+        assertThrows(IllegalStateException.class, () -> service.purgeExpiredLogs());
+        assertThrows(IllegalStateException.class, () -> service.ensurePartitions());
+    }
+
+    @Test
+    void statusReportsDisabled() {
+        Map<String, Object> status = service.status();
+
+        assertEquals(false, status.get("enabled"));
+        assertEquals(false, status.get("partitioned"));
+        assertEquals(0L, status.get("watermark"));
+    }
+}
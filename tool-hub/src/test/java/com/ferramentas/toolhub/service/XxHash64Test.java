@@ -0,0 +1,87 @@
+package com.ferramentas.toolhub.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Vetores de referência do XXH64 com semente 0 (os mesmos do {@code xxhsum}).
+ */
+class XxHash64Test {
+
+    @Test
+    void emptyInput() {
+        assertEquals("ef46db3751d8e999", hash(new byte[0]));
+    }
+
+    @Test
+    void inputShorterThanOneStripe() {
+        assertEquals("d24ec4f1a98c6e5b", hash(ascii("a")));
+        assertEquals("44bc2cf5ad770999", hash(ascii("abc")));
+    }
+
+    @Test
+    void inputOfExactlyOneStripe() {
+        assertEquals("cbf59c5116ff32b4", hash(sequence(32)));
+    }
+
+    @Test
+    void inputLongerThanOneStripe() {
+        assertEquals("fbcea83c8a378bf1", hash(ascii("Nobody inspects the spammish repetition")));
+        assertEquals("0b242d361fda71bc", hash(ascii("The quick brown fox jumps over the lazy dog")));
+    }
+
+    @Test
+    void chunksSplittingTheStripeBufferMatchOneShotHash() {
+        byte[] data = pattern(1000);
+        XxHash64 xxHash = new XxHash64();
+        // Tamanhos que deixam o buffer pendente parcialmente cheio entre as chamadas
+        int[] chunks = { 1, 7, 31, 33, 5, 64, 3, 100, 29, 27, 700 };
+        int offset = 0;
+        for (int chunk : chunks) {
+            xxHash.update(ByteBuffer.wrap(data, offset, chunk));
+            offset += chunk;
+        }
+        assertEquals(data.length, offset);
+        assertEquals("99594f4828043d35", HexFormat.of().formatHex(xxHash.finish()));
+        assertEquals("99594f4828043d35", hash(data));
+    }
+
+    @Test
+    void finishResetsForReuse() {
+        XxHash64 xxHash = new XxHash64();
+        xxHash.update(ByteBuffer.wrap(ascii("abc")));
+        xxHash.finish();
+        assertEquals("ef46db3751d8e999", HexFormat.of().formatHex(xxHash.finish()));
+    }
+
+    private static String hash(byte[] data) {
+        XxHash64 xxHash = new XxHash64();
+        xxHash.update(ByteBuffer.wrap(data));
+        return HexFormat.of().formatHex(xxHash.finish());
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] sequence(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    private static byte[] pattern(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + 7);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ferramentas.toolhub.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7Test {
+
+    @Test
+    void batchIsStrictlyIncreasing() {
+        // Muitos ids caem no mesmo milissegundo: a ordem vem do contador
+        assertStrictlyIncreasing(List.of(UuidV7.generate(100_000)));
+    }
+
+    @Test
+    void successiveCallsAreStrictlyIncreasing() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7.generate());
+        }
+        assertStrictlyIncreasing(ids);
+    }
+
+    @Test
+    void hasVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = UuidV7.timestamp(id);
+        // O contador esgotado pode adiantar o relógio em alguns milissegundos
+        assertTrue(timestamp >= before && timestamp <= after + 5, "timestamp " + timestamp);
+    }
+
+    @Test
+    void timestampRejectsOtherVersions() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestamp(UUID.randomUUID()));
+    }
+
+    // A forma textual compara como os bytes sem sinal, que é a ordem usada pelo banco
+    private static void assertStrictlyIncreasing(List<UUID> ids) {
+        for (int i = 1; i < ids.size(); i++) {
+            String previous = ids.get(i - 1).toString();
+            String current = ids.get(i).toString();
+            assertTrue(previous.compareTo(current) < 0, previous + " >= " + current);
+        }
+    }
+}